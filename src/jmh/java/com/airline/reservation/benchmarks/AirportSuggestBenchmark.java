@@ -0,0 +1,59 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.services.AirportSuggestIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AirportSuggestIndex#suggest} over {@value #AIRPORTS} generated airports, for a one-letter
+ * prefix (thousands of matches to rank) and a typed-out city prefix (a handful).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportSuggestBenchmark {
+
+    static final int AIRPORTS = 10_000;
+
+    private static final String[] WORDS = {"Saint", "Nová", "Port", "Lake", "São", "Mount", "Ville", "Kraków",
+            "Río", "Green", "North", "Zürich", "Bay", "East", "Castle", "River"};
+
+    private AirportSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        List<AirportResponseDto> airports = new ArrayList<>(AIRPORTS);
+        for (int i = 0; i < AIRPORTS; i++) {
+            String code = "" + (char) ('A' + i % 26) + (char) ('A' + i / 26 % 26) + (char) ('A' + i / 676 % 26);
+            String city = WORDS[i % WORDS.length] + " " + WORDS[i / WORDS.length % WORDS.length] + " " + i;
+            airports.add(new AirportResponseDto((long) i + 1, code, city + " International Airport", city, "-"));
+        }
+        AirportRepository repository = (AirportRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{AirportRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAirportDtosAfter" -> airports;
+                    case "countFlightsByAirport" -> List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        index = new AirportSuggestIndex(repository);
+        index.load();
+    }
+
+    @Benchmark
+    public List<AirportResponseDto> suggestBroadPrefix() {
+        return index.suggest("s", 10);
+    }
+
+    @Benchmark
+    public List<AirportResponseDto> suggestCity() {
+        return index.suggest("sao port 12", 10);
+    }
+}
@@ -0,0 +1,66 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.dtos.AviationstackFlightDto;
+import com.airline.reservation.dtos.AviationstackMapper;
+import com.airline.reservation.dtos.AviationstackResponseDto;
+import com.airline.reservation.dtos.ExternalFlightDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AviationstackMapper#toExternalFlightDto} over one page ({@value #PAGE_SIZE} flights) of an
+ * Aviationstack response, deserialized once from JSON the way the API client receives it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AviationstackMapperBenchmark {
+
+    static final int PAGE_SIZE = 100;
+
+    private static final String[] AIRPORTS = {"JFK", "LAX", "ORD", "LHR", "CDG", "DXB", "SFO", "MIA", "SEA", "BOS"};
+
+    private List<AviationstackFlightDto> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String from = AIRPORTS[i % AIRPORTS.length];
+            String to = AIRPORTS[(i * 3 + 1) % AIRPORTS.length];
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"flightDate\":\"2026-03-14\",\"flightStatus\":\"scheduled\",")
+                    .append("\"flight\":{\"number\":\"").append(100 + i).append("\",\"iata\":\"AA").append(100 + i).append("\"},")
+                    .append("\"airline\":{\"name\":\"American Airlines\",\"iata\":\"AA\"},")
+                    .append(airport("departure", from, "2026-03-14T").append(String.format("%02d:15:00+00:00\"},", 6 + i % 12)))
+                    .append(airport("arrival", to, "2026-03-14T").append(String.format("%02d:40:00+00:00\"}}", 9 + i % 12)));
+        }
+        json.append("]}");
+        page = new ObjectMapper().readValue(json.toString(), AviationstackResponseDto.class).getData();
+    }
+
+    private static StringBuilder airport(String field, String iata, String schedulePrefix) {
+        return new StringBuilder("\"").append(field).append("\":{\"iata\":\"").append(iata)
+                .append("\",\"timezone\":\"UTC\",\"airport\":{\"iata\":\"").append(iata)
+                .append("\",\"airportName\":\"").append(iata).append(" International\"},")
+                .append("\"scheduled\":\"").append(schedulePrefix);
+    }
+
+    @Benchmark
+    public List<ExternalFlightDto> mapPage() {
+        List<ExternalFlightDto> result = new ArrayList<>(page.size());
+        for (AviationstackFlightDto flight : page) {
+            result.add(AviationstackMapper.toExternalFlightDto(flight));
+        }
+        return result;
+    }
+}
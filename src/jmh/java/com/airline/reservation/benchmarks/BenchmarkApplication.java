@@ -0,0 +1,108 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.AirlineReservationSystemApplication;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.PassengerRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import com.airline.reservation.services.FlightChangedEvent;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application against an in-memory H2 database (the test profile, without Redis or the
+ * web server) and creates fixture data for the service-level benchmarks.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BenchmarkApplication start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AirlineReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        return new BenchmarkApplication(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Airport airport(String code) {
+        Airport airport = new Airport();
+        airport.setCode(code);
+        airport.setName(code + " International Airport");
+        airport.setCity("City " + code);
+        airport.setCountry("USA");
+        return bean(AirportRepository.class).save(airport);
+    }
+
+    Passenger passenger() {
+        int n = SEQUENCE.incrementAndGet();
+        Passenger passenger = new Passenger();
+        passenger.setFirstName("Bench");
+        passenger.setLastName("Passenger" + n);
+        passenger.setEmail("bench" + n + "@example.com");
+        passenger.setPhoneNumber("5550000000");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("B" + (1_000_000 + n));
+        passenger.setNationality("USA");
+        return bean(PassengerRepository.class).save(passenger);
+    }
+
+    /** A scheduled flight with {@code seatCount} available seats, six to a row. */
+    Flight flight(Airport departure, Airport arrival, LocalDateTime departureTime, int seatCount) {
+        Flight flight = new Flight();
+        flight.setFlightNumber("BM" + SEQUENCE.incrementAndGet());
+        flight.setAirlineName("Bench Air");
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(departureTime);
+        flight.setArrivalTime(departureTime.plusHours(5));
+        flight.setTotalSeats(seatCount);
+        flight.setAvailableSeats(seatCount);
+        flight.setBasePrice(199.0);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flight = bean(FlightRepository.class).save(flight);
+
+        List<Seat> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            Seat seat = new Seat();
+            seat.setFlight(flight);
+            seat.setSeatNumber((i / 6 + 1) + "ABCDEF".substring(i % 6, i % 6 + 1));
+            seat.setSeatClass(i < 24 ? Seat.SeatClass.BUSINESS : Seat.SeatClass.ECONOMY);
+            seat.setPrice(i < 24 ? 398.0 : 199.0);
+            seat.setStatus(Seat.SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        flight.setSeats(bean(SeatRepository.class).saveAll(seats));
+        // Saved straight through the repository, so tell the in-memory flight indexes as FlightService would
+        context.publishEvent(FlightChangedEvent.saved(flight));
+        return flight;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
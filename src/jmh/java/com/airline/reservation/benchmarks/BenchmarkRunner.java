@@ -0,0 +1,134 @@
+package com.airline.reservation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs JMH with the usual command-line options, then compares the JSON results against the checked-in
+ * baseline ({@code -Djmh.baseline}). Exits non-zero when a benchmark is slower than its baseline by more
+ * than {@code -Djmh.tolerance} (a fraction, default 0.25). A benchmark whose score error, in the run or
+ * in the baseline, is itself larger than the tolerance is reported but not compared: its scores cannot
+ * tell a regression from noise. {@code -Djmh.updateBaseline=true} merges the results into the baseline
+ * instead.
+ */
+public final class BenchmarkRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        new Runner(options).run();
+
+        File result = new File(options.getResult().orElse("jmh-result.json"));
+        String baselinePath = System.getProperty("jmh.baseline");
+        if (baselinePath == null || !result.isFile()) {
+            return;
+        }
+        File baseline = new File(baselinePath);
+        Map<String, JsonNode> current = index(MAPPER.readTree(result));
+        Map<String, JsonNode> previous = baseline.isFile() ? index(MAPPER.readTree(baseline)) : new LinkedHashMap<>();
+
+        if (Boolean.getBoolean("jmh.updateBaseline")) {
+            current.forEach((key, run) -> previous.put(key, summary(run)));
+            ArrayNode merged = MAPPER.createArrayNode();
+            previous.values().forEach(merged::add);
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(baseline, merged);
+            System.out.printf("%nUpdated %d baseline entries in %s%n", current.size(), baseline);
+            return;
+        }
+
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.25"));
+        if (compare(current, previous, tolerance) > 0) {
+            System.exit(1);
+        }
+    }
+
+    /** Prints one line per benchmark and returns the number of regressions. */
+    static int compare(Map<String, JsonNode> current, Map<String, JsonNode> baseline, double tolerance) {
+        System.out.printf("%nBaseline comparison (tolerance %.0f%%)%n", tolerance * 100);
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode run = entry.getValue();
+            String unit = run.path("primaryMetric").path("scoreUnit").asText();
+            double score = run.path("primaryMetric").path("score").asDouble();
+            JsonNode base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("  %-72s %12.3f %-8s (no baseline)%n", entry.getKey(), score, unit);
+                continue;
+            }
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            // Throughput is better when higher; every other mode reports time
+            boolean higherIsBetter = "thrpt".equals(run.path("mode").asText());
+            double slowdown = higherIsBetter ? baseScore / score - 1 : score / baseScore - 1;
+            double error = Math.max(relativeError(run), relativeError(base));
+            if (error > tolerance) {
+                System.out.printf("  %-72s %12.3f %-8s baseline %12.3f  %+7.1f%%  (error +/-%.0f%%, not compared)%n",
+                        entry.getKey(), score, unit, baseScore, slowdown * 100, error * 100);
+                continue;
+            }
+            boolean regressed = slowdown > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("  %-72s %12.3f %-8s baseline %12.3f  %+7.1f%%%s%n", entry.getKey(), score, unit,
+                    baseScore, slowdown * 100, regressed ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    /** The score error as a fraction of the score; 0 when JMH could not estimate it (a single iteration). */
+    static double relativeError(JsonNode run) {
+        double score = run.path("primaryMetric").path("score").asDouble();
+        double error = run.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) || score == 0 ? 0 : Math.abs(error / score);
+    }
+
+    /** Keeps only what the comparison reads, so the checked-in baseline stays reviewable. */
+    static JsonNode summary(JsonNode run) {
+        ObjectNode summary = MAPPER.createObjectNode();
+        summary.set("benchmark", run.path("benchmark"));
+        summary.set("mode", run.path("mode"));
+        if (run.has("params")) {
+            summary.set("params", run.get("params"));
+        }
+        ObjectNode metric = summary.putObject("primaryMetric");
+        metric.set("score", run.path("primaryMetric").path("score"));
+        metric.set("scoreError", run.path("primaryMetric").path("scoreError"));
+        metric.set("scoreUnit", run.path("primaryMetric").path("scoreUnit"));
+        return summary;
+    }
+
+    /** Keys results by benchmark, mode and parameters so parameterized runs are compared separately. */
+    static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : results) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.airline.reservation.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            key.append(" [").append(run.path("mode").asText()).append(']');
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,63 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.dtos.BookingRequestDto;
+import com.airline.reservation.dtos.BookingResponseDto;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.services.BookingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingService#createBooking} end to end on H2. Every booking consumes a seat, so each
+ * iteration books a fresh flight solid; the score is the time for {@value #BOOKINGS} bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = BookingBenchmark.BOOKINGS)
+@Measurement(iterations = 10, batchSize = BookingBenchmark.BOOKINGS)
+@Fork(1)
+public class BookingBenchmark {
+
+    static final int BOOKINGS = 180;
+
+    private BenchmarkApplication app;
+    private BookingService bookingService;
+    private Airport departure;
+    private Airport arrival;
+    private Passenger passenger;
+
+    private Flight flight;
+    private int nextSeat;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        app = BenchmarkApplication.start();
+        bookingService = app.bean(BookingService.class);
+        departure = app.airport("JFK");
+        arrival = app.airport("LAX");
+        passenger = app.passenger();
+    }
+
+    @Setup(Level.Iteration)
+    public void newFlight() {
+        flight = app.flight(departure, arrival, LocalDateTime.now().plusDays(30), BOOKINGS);
+        nextSeat = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        app.close();
+    }
+
+    @Benchmark
+    public BookingResponseDto createBooking() {
+        Seat seat = flight.getSeats().get(nextSeat++);
+        return bookingService.createBooking(new BookingRequestDto(passenger.getId(), flight.getId(), seat.getId()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.configs.CompactCacheSerializer;
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.SeatResponseDto;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compact binary vs. JSON Redis serialization of a 300-seat map and a 50-flight list.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactCacheSerializer compact;
+
+    private List<SeatResponseDto> seats;
+    private List<FlightResponseDto> flights;
+    private byte[] seatsJson;
+    private byte[] seatsCompact;
+    private byte[] flightsJson;
+    private byte[] flightsCompact;
+
+    @Setup
+    public void setUp() {
+        json = new GenericJackson2JsonRedisSerializer();
+        json.configure(objectMapper -> objectMapper
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        compact = new CompactCacheSerializer(json);
+
+        seats = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            boolean business = i < 24;
+            seats.add(new SeatResponseDto(10_000L + i, (i / 6 + 1) + "ABCDEF".substring(i % 6, i % 6 + 1),
+                    business ? "BUSINESS" : "ECONOMY", i % 5 == 0 ? "RESERVED" : "AVAILABLE",
+                    business ? 450.0 : 120.0));
+        }
+
+        AirportResponseDto jfk = new AirportResponseDto(1L, "JFK", "John F. Kennedy International Airport", "New York", "USA");
+        AirportResponseDto lax = new AirportResponseDto(2L, "LAX", "Los Angeles International Airport", "Los Angeles", "USA");
+        flights = new ArrayList<>();
+        LocalDateTime departure = LocalDateTime.of(2026, 3, 14, 6, 0);
+        for (int i = 0; i < 50; i++) {
+            flights.add(new FlightResponseDto(500L + i, "AA" + (100 + i), "American Airlines", jfk, lax,
+                    departure.plusMinutes(20L * i), departure.plusMinutes(20L * i + 330), 180, 180 - i, 299.0 + i, "SCHEDULED"));
+        }
+
+        seatsJson = json.serialize(seats);
+        seatsCompact = compact.serialize(seats);
+        flightsJson = json.serialize(flights);
+        flightsCompact = compact.serialize(flights);
+        System.out.printf("%nPayload bytes - seats(300): json=%d compact=%d | flights(50): json=%d compact=%d%n",
+                seatsJson.length, seatsCompact.length, flightsJson.length, flightsCompact.length);
+    }
+
+    @Benchmark
+    public byte[] seatsEncodeJson() {
+        return json.serialize(seats);
+    }
+
+    @Benchmark
+    public byte[] seatsEncodeCompact() {
+        return compact.serialize(seats);
+    }
+
+    @Benchmark
+    public Object seatsDecodeJson() {
+        return json.deserialize(seatsJson);
+    }
+
+    @Benchmark
+    public Object seatsDecodeCompact() {
+        return compact.deserialize(seatsCompact);
+    }
+
+    @Benchmark
+    public byte[] flightsEncodeJson() {
+        return json.serialize(flights);
+    }
+
+    @Benchmark
+    public byte[] flightsEncodeCompact() {
+        return compact.serialize(flights);
+    }
+
+    @Benchmark
+    public Object flightsDecodeJson() {
+        return json.deserialize(flightsJson);
+    }
+
+    @Benchmark
+    public Object flightsDecodeCompact() {
+        return compact.deserialize(flightsCompact);
+    }
+}
@@ -0,0 +1,155 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.configs.ModelMapperConfig;
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.PassengerResponseDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
+import com.airline.reservation.dtos.SeatResponseDto;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-written entity-to-DTO mapping vs. the ModelMapper bean from {@link ModelMapperConfig}, for a
+ * 300-seat map, a 50-flight list and a single passenger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private List<Seat> seats;
+    private List<Flight> flights;
+    private Passenger passenger;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+
+        seats = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Seat seat = new Seat();
+            seat.setId(10_000L + i);
+            seat.setSeatNumber((i / 6 + 1) + "ABCDEF".substring(i % 6, i % 6 + 1));
+            seat.setSeatClass(i < 24 ? Seat.SeatClass.BUSINESS : Seat.SeatClass.ECONOMY);
+            seat.setStatus(i % 5 == 0 ? Seat.SeatStatus.RESERVED : Seat.SeatStatus.AVAILABLE);
+            seat.setPrice(i < 24 ? 450.0 : 120.0);
+            seats.add(seat);
+        }
+
+        Airport jfk = airport(1L, "JFK", "John F. Kennedy International Airport", "New York");
+        Airport lax = airport(2L, "LAX", "Los Angeles International Airport", "Los Angeles");
+        flights = new ArrayList<>();
+        LocalDateTime departure = LocalDateTime.of(2026, 3, 14, 6, 0);
+        for (int i = 0; i < 50; i++) {
+            Flight flight = new Flight();
+            flight.setId(500L + i);
+            flight.setFlightNumber("AA" + (100 + i));
+            flight.setAirlineName("American Airlines");
+            flight.setDepartureAirport(jfk);
+            flight.setArrivalAirport(lax);
+            flight.setDepartureTime(departure.plusMinutes(20L * i));
+            flight.setArrivalTime(departure.plusMinutes(20L * i + 330));
+            flight.setTotalSeats(180);
+            flight.setAvailableSeats(180 - i);
+            flight.setBasePrice(299.0 + i);
+            flight.setStatus(Flight.FlightStatus.SCHEDULED);
+            flights.add(flight);
+        }
+
+        passenger = new Passenger();
+        passenger.setId(3L);
+        passenger.setFirstName("John");
+        passenger.setLastName("Doe");
+        passenger.setEmail("john.doe@example.com");
+        passenger.setPhoneNumber("+1234567890");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("P1234567");
+        passenger.setNationality("USA");
+        passenger.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4));
+    }
+
+    @Benchmark
+    public List<SeatResponseDto> seatsModelMapper() {
+        List<SeatResponseDto> result = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            result.add(modelMapper.map(seat, SeatResponseDto.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<SeatResponseDto> seatsHandWritten() {
+        List<SeatResponseDto> result = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            result.add(ResponseDtoMapper.toSeatDto(seat));
+        }
+        return result;
+    }
+
+    /** Mirrors the pre-change FlightService conversion: field copies plus ModelMapper for the airports. */
+    @Benchmark
+    public List<FlightResponseDto> flightsModelMapper() {
+        List<FlightResponseDto> result = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            FlightResponseDto dto = new FlightResponseDto();
+            dto.setId(flight.getId());
+            dto.setFlightNumber(flight.getFlightNumber());
+            dto.setAirlineName(flight.getAirlineName());
+            dto.setDepartureAirport(modelMapper.map(flight.getDepartureAirport(), AirportResponseDto.class));
+            dto.setArrivalAirport(modelMapper.map(flight.getArrivalAirport(), AirportResponseDto.class));
+            dto.setDepartureTime(flight.getDepartureTime());
+            dto.setArrivalTime(flight.getArrivalTime());
+            dto.setTotalSeats(flight.getTotalSeats());
+            dto.setAvailableSeats(flight.getAvailableSeats());
+            dto.setBasePrice(flight.getBasePrice());
+            dto.setStatus(flight.getStatus().toString());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<FlightResponseDto> flightsHandWritten() {
+        List<FlightResponseDto> result = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            result.add(ResponseDtoMapper.toFlightDto(flight));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PassengerResponseDto passengerModelMapper() {
+        return modelMapper.map(passenger, PassengerResponseDto.class);
+    }
+
+    @Benchmark
+    public PassengerResponseDto passengerHandWritten() {
+        return ResponseDtoMapper.toPassengerDto(passenger);
+    }
+
+    private static Airport airport(Long id, String code, String name, String city) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCode(code);
+        airport.setName(name);
+        airport.setCity(city);
+        airport.setCountry("USA");
+        return airport;
+    }
+}
@@ -0,0 +1,119 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.dtos.FlightRequestDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import com.airline.reservation.services.FlightService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput on H2: {@link FlightService#createFlight}, a flight written with one row per seat
+ * and a bulk import of {@value #IMPORT_FLIGHTS} flights, each in one transaction. These are the paths
+ * that JDBC insert batching speeds up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightImportBenchmark {
+
+    static final int SEATS = 180;
+    static final int IMPORT_FLIGHTS = 100;
+
+    private BenchmarkApplication app;
+    private FlightService flightService;
+    private FlightRepository flightRepository;
+    private SeatRepository seatRepository;
+    private TransactionTemplate transaction;
+    private Airport departure;
+    private Airport arrival;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start();
+        flightService = app.bean(FlightService.class);
+        flightRepository = app.bean(FlightRepository.class);
+        seatRepository = app.bean(SeatRepository.class);
+        transaction = new TransactionTemplate(app.bean(PlatformTransactionManager.class));
+        departure = app.airport("JFK");
+        arrival = app.airport("LAX");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public FlightResponseDto createFlight() {
+        FlightRequestDto request = new FlightRequestDto();
+        request.setFlightNumber("FC" + sequence++);
+        request.setAirlineName("Bench Air");
+        request.setDepartureAirportId(departure.getId());
+        request.setArrivalAirportId(arrival.getId());
+        request.setDepartureTime(LocalDateTime.now().plusDays(30));
+        request.setArrivalTime(LocalDateTime.now().plusDays(30).plusHours(5));
+        request.setTotalSeats(SEATS);
+        request.setBasePrice(199.0);
+        return flightService.createFlight(request);
+    }
+
+    @Benchmark
+    public List<Seat> flightWithSeatRows() {
+        return transaction.execute(status -> {
+            Flight flight = flightRepository.save(flight());
+            List<Seat> seats = new ArrayList<>(SEATS);
+            for (int i = 0; i < SEATS; i++) {
+                Seat seat = new Seat();
+                seat.setFlight(flight);
+                seat.setSeatNumber((i / 6 + 1) + "ABCDEF".substring(i % 6, i % 6 + 1));
+                seat.setSeatClass(Seat.SeatClass.ECONOMY);
+                seat.setPrice(199.0);
+                seat.setStatus(Seat.SeatStatus.AVAILABLE);
+                seats.add(seat);
+            }
+            return seatRepository.saveAll(seats);
+        });
+    }
+
+    @Benchmark
+    public List<Flight> bulkImport() {
+        return transaction.execute(status -> {
+            List<Flight> flights = new ArrayList<>(IMPORT_FLIGHTS);
+            for (int i = 0; i < IMPORT_FLIGHTS; i++) {
+                flights.add(flight());
+            }
+            return flightRepository.saveAll(flights);
+        });
+    }
+
+    private Flight flight() {
+        LocalDateTime departureTime = LocalDateTime.now().plusDays(30);
+        Flight flight = new Flight();
+        flight.setFlightNumber("FI" + sequence++);
+        flight.setAirlineName("Bench Air");
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(departureTime);
+        flight.setArrivalTime(departureTime.plusHours(5));
+        flight.setTotalSeats(SEATS);
+        flight.setAvailableSeats(SEATS);
+        flight.setBasePrice(199.0);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        return flight;
+    }
+}
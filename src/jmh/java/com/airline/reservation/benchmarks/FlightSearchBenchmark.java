@@ -0,0 +1,71 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.FlightSearchRequestDto;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.services.FlightService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FlightService#searchFlights} on H2 over two weeks of a busy route ({@value #FLIGHTS_PER_DAY}
+ * flights a day), searching the first day. {@code searchUncached} runs the service body in a
+ * read-only transaction without the cache; {@code searchCached} goes through the bean proxy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightSearchBenchmark {
+
+    static final int FLIGHTS_PER_DAY = 10;
+    static final int DAYS = 14;
+
+    private BenchmarkApplication app;
+    private FlightService cachedService;
+    private FlightService service;
+    private TransactionTemplate readOnly;
+    private FlightSearchRequestDto search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start();
+        cachedService = app.bean(FlightService.class);
+        service = AopTestUtils.getUltimateTargetObject(cachedService);
+        readOnly = new TransactionTemplate(app.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        Airport departure = app.airport("JFK");
+        Airport arrival = app.airport("LAX");
+        LocalDate firstDay = LocalDate.now().plusDays(7);
+        for (int day = 0; day < DAYS; day++) {
+            for (int i = 0; i < FLIGHTS_PER_DAY; i++) {
+                app.flight(departure, arrival, firstDay.plusDays(day).atTime(6 + i, 0), 6);
+            }
+        }
+        search = new FlightSearchRequestDto("JFK", "LAX", firstDay);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<FlightResponseDto> searchUncached() {
+        return readOnly.execute(status -> service.searchFlights(search));
+    }
+
+    @Benchmark
+    public List<FlightResponseDto> searchCached() {
+        return cachedService.searchFlights(search);
+    }
+}
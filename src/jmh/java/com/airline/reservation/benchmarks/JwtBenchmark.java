@@ -0,0 +1,53 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.models.AppUser;
+import com.airline.reservation.models.Role;
+import com.airline.reservation.security.AppUserPrincipal;
+import com.airline.reservation.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT work done by the authentication filter: {@link JwtService#extractUsername}
+ * followed by {@link JwtService#isTokenValid}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private AppUserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretBase64", "nZrG0Z8p6b1o0Zs1d4yE7u8mT9Q2xkVfY7p2dQ5zv1c=");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 86_400_000L);
+
+        AppUser user = new AppUser();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setPassword("encoded");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        principal = new AppUserPrincipal(user);
+        token = jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, principal);
+    }
+}
@@ -0,0 +1,62 @@
+package com.airline.reservation.benchmarks;
+
+import com.airline.reservation.dtos.SeatResponseDto;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.services.SeatService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SeatService#getSeatsByFlightId} on H2 for narrow- and wide-body seat maps, with and without
+ * the seats cache (see {@link FlightSearchBenchmark} for how the uncached path is invoked).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeatMapBenchmark {
+
+    @Param({"180", "300"})
+    public int seats;
+
+    private BenchmarkApplication app;
+    private SeatService cachedService;
+    private SeatService service;
+    private TransactionTemplate readOnly;
+    private Long flightId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = BenchmarkApplication.start();
+        cachedService = app.bean(SeatService.class);
+        service = AopTestUtils.getUltimateTargetObject(cachedService);
+        readOnly = new TransactionTemplate(app.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        Flight flight = app.flight(app.airport("JFK"), app.airport("LAX"), LocalDateTime.now().plusDays(7), seats);
+        flightId = flight.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<SeatResponseDto> seatMapUncached() {
+        return readOnly.execute(status -> service.getSeatsByFlightId(flightId));
+    }
+
+    @Benchmark
+    public List<SeatResponseDto> seatMapCached() {
+        return cachedService.getSeatsByFlightId(flightId);
+    }
+}
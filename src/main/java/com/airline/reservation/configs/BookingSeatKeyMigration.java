@@ -0,0 +1,56 @@
+package com.airline.reservation.configs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops the unique key on {@code bookings.seat_id} left by databases created while a booking's seat
+ * was one-to-one. A seat is booked again once an earlier booking of it is cancelled or expired, which
+ * that key refuses, and {@code ddl-auto=update} never drops constraints itself.
+ * <p>
+ * Runs once all beans exist, after Hibernate has created {@code idx_booking_seat}, which takes over
+ * as the index behind the seat foreign key. Only unique keys on {@code seat_id} alone are dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingSeatKeyMigration implements SmartInitializingSingleton {
+
+    private static final String SELECT_SEAT_KEYS =
+            "SELECT tc.CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc " +
+            "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA " +
+            "AND k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME AND k.TABLE_NAME = tc.TABLE_NAME " +
+            "WHERE tc.CONSTRAINT_TYPE = 'UNIQUE' AND UPPER(tc.TABLE_NAME) = 'BOOKINGS' AND tc.TABLE_SCHEMA = ? " +
+            "GROUP BY tc.CONSTRAINT_NAME " +
+            "HAVING COUNT(*) = 1 AND MAX(UPPER(k.COLUMN_NAME)) = 'SEAT_ID'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String key : seatKeys()) {
+            try {
+                jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT " + key);
+                log.info("Dropped unique key {} on bookings.seat_id so released seats can be booked again", key);
+            } catch (DataAccessException ex) {
+                // Another node starting at the same time may have dropped it first
+                log.warn("Could not drop unique key {} on bookings.seat_id: {}", key, ex.getMessage());
+            }
+        }
+    }
+
+    /** Names of the unique keys on {@code bookings.seat_id} alone. */
+    List<String> seatKeys() {
+        // MySQL calls the database a catalog, H2 and most others a schema
+        String schema = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getSchema() != null ? connection.getSchema() : connection.getCatalog());
+        return jdbcTemplate.queryForList(SELECT_SEAT_KEYS, String.class, schema);
+    }
+}
@@ -1,13 +1,11 @@
 package com.airline.reservation.configs;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.cache.CacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
@@ -15,14 +13,20 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Redis cache configuration. Uses Redis when available; falls back to NoOpCacheManager
- * when Redis is not configured (e.g. in tests).
+ * Two-tier cache configuration: a bounded in-process Caffeine L1 per cache in front of Redis (L2).
+ * When Redis is not configured (e.g. in tests) or disabled with {@code app.cache.redis.enabled=false},
+ * the L1 tier runs alone, as it does for {@code app.cache.redis.retry-after} after a Redis call fails.
+ * Statistics are published by Actuator as {@code cache.gets} (hit/miss), {@code cache.puts} and
+ * {@code cache.evictions} per cache.
  */
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
@@ -31,37 +35,91 @@ public class CacheConfig {
     public static final String CACHE_FLIGHTS = "flights";
     public static final String CACHE_SEATS = "seats";
     public static final String CACHE_EXTERNAL_FLIGHTS = "externalFlights";
+    public static final String CACHE_FARE_CALENDAR = "fareCalendar";
+    /** Pages of the admin flight list; not evicted per booking, so seat counts may lag by the TTL. */
+    public static final String CACHE_FLIGHT_PAGES = "flightPages";
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    @Value("${app.cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${app.cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${app.cache.local.ttl:60s}")
+    private Duration localTtl;
+
+    @Value("${app.cache.redis.serializer:binary}")
+    private String redisSerializer;
+
+    @Value("${app.cache.redis.retry-after:30s}")
+    private Duration redisRetryAfter;
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(ObjectProvider<RedisConnectionFactory> connectionFactoryProvider) {
+        Map<String, Duration> ttls = new LinkedHashMap<>();
+        ttls.put(CACHE_AIRPORTS, Duration.ofHours(1));
+        ttls.put(CACHE_FLIGHTS, Duration.ofMinutes(15));
+        ttls.put(CACHE_SEATS, Duration.ofMinutes(2));
+        ttls.put(CACHE_EXTERNAL_FLIGHTS, Duration.ofMinutes(10));
+        ttls.put(CACHE_FARE_CALENDAR, Duration.ofMinutes(10));
+        ttls.put(CACHE_FLIGHT_PAGES, Duration.ofMinutes(1));
+
+        RedisConnectionFactory connectionFactory = redisEnabled ? connectionFactoryProvider.getIfAvailable() : null;
+        RedisSerializer<Object> serializer = valueSerializer();
+        TwoLevelCacheManager cacheManager;
+        if (connectionFactory == null) {
+            log.info("Redis not configured; caching with the in-process L1 tier only");
+            cacheManager = new TwoLevelCacheManager(ttls, DEFAULT_TTL, localMaxSize, null, null, redisRetryAfter,
+                    serializer);
+        } else {
+            // L1 entries live at most app.cache.local.ttl, bounding staleness if an invalidation message is lost
+            Map<String, Duration> localTtls = new LinkedHashMap<>();
+            ttls.forEach((name, ttl) -> localTtls.put(name, ttl.compareTo(localTtl) < 0 ? ttl : localTtl));
+            cacheManager = new TwoLevelCacheManager(localTtls, localTtl, localMaxSize,
+                    redisCacheManager(connectionFactory, ttls, serializer), connectionFactory,
+                    redisRetryAfter, serializer);
+        }
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
 
     @Bean
-    @ConditionalOnBean(RedisConnectionFactory.class)
-    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
-        ObjectMapper objectMapper = new ObjectMapper()
+    public TwoLevelCacheMeterBinderProvider twoLevelCacheMeterBinderProvider() {
+        return new TwoLevelCacheMeterBinderProvider();
+    }
+
+    /**
+     * The format of cached values in Redis and in L1: {@code binary} (default) writes seats, airports and
+     * flights in the compact format and everything else as JSON; {@code json} writes JSON only.
+     */
+    private RedisSerializer<Object> valueSerializer() {
+        // Default typing (from the no-arg constructor) so cached DTOs come back as their own classes
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        json.configure(objectMapper -> objectMapper
                 .registerModule(new JavaTimeModule())
-                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        return "json".equalsIgnoreCase(redisSerializer) ? json : new CompactCacheSerializer(json);
+    }
 
+    private static RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                       Map<String, Duration> ttls,
+                                                       RedisSerializer<Object> serializer) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(DEFAULT_TTL)
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
 
-        Map<String, RedisCacheConfiguration> cacheConfigurations = Map.of(
-                CACHE_AIRPORTS, defaultConfig.entryTtl(Duration.ofHours(1)),
-                CACHE_FLIGHTS, defaultConfig.entryTtl(Duration.ofMinutes(15)),
-                CACHE_SEATS, defaultConfig.entryTtl(Duration.ofMinutes(2)),
-                CACHE_EXTERNAL_FLIGHTS, defaultConfig.entryTtl(Duration.ofMinutes(10))
-        );
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new LinkedHashMap<>();
+        ttls.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        // Not transaction-aware itself: the two-level manager defers both tiers until commit
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
-                .transactionAware()
                 .build();
-    }
-
-    @Bean
-    @ConditionalOnMissingBean(CacheManager.class)
-    public CacheManager noOpCacheManager() {
-        return new NoOpCacheManager();
+        redisCacheManager.afterPropertiesSet();
+        return redisCacheManager;
     }
 }
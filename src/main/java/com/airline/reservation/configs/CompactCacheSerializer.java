@@ -0,0 +1,439 @@
+package com.airline.reservation.configs;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.SeatResponseDto;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Seat;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary Redis serializer for the DTOs we cache most: seats, airports and flights, single or
+ * in lists. Ids and counts are varints, enum-valued strings are written as ordinals, prices as cents
+ * and {@link LocalDateTime} as epoch seconds. Any other value is delegated to the JSON serializer.
+ *
+ * Every entry starts with {@code MAGIC, VERSION, type}. Entries written with another version read
+ * back as {@code null}, which the cache treats as a miss, so the format can change without flushing
+ * Redis. Entries without the header (written by the plain JSON serializer) are read as JSON.
+ * Bump {@link #VERSION} when a layout changes or a model enum is reordered.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_JSON = 0;
+    private static final byte TYPE_SEAT = 1;
+    private static final byte TYPE_SEAT_LIST = 2;
+    private static final byte TYPE_AIRPORT = 3;
+    private static final byte TYPE_AIRPORT_LIST = 4;
+    private static final byte TYPE_FLIGHT = 5;
+    private static final byte TYPE_FLIGHT_LIST = 6;
+    private static final byte TYPE_EMPTY_LIST = 7;
+
+    private static final String[] SEAT_CLASSES = names(Seat.SeatClass.values());
+    private static final String[] SEAT_STATUSES = names(Seat.SeatStatus.values());
+    private static final String[] FLIGHT_STATUSES = names(Flight.FlightStatus.values());
+
+    private final RedisSerializer<Object> fallback;
+
+    public CompactCacheSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte type = typeOf(value);
+        if (type == TYPE_JSON) {
+            byte[] json = fallback.serialize(value);
+            byte[] bytes = new byte[json.length + 3];
+            bytes[0] = MAGIC;
+            bytes[1] = VERSION;
+            bytes[2] = TYPE_JSON;
+            System.arraycopy(json, 0, bytes, 3, json.length);
+            return bytes;
+        }
+
+        Writer out = new Writer();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(type);
+        switch (type) {
+            case TYPE_SEAT -> writeSeat(out, (SeatResponseDto) value);
+            case TYPE_AIRPORT -> writeAirport(out, (AirportResponseDto) value);
+            case TYPE_FLIGHT -> writeFlight(out, (FlightResponseDto) value);
+            case TYPE_SEAT_LIST, TYPE_AIRPORT_LIST, TYPE_FLIGHT_LIST -> {
+                List<?> list = (List<?>) value;
+                out.writeVarLong(list.size());
+                for (Object item : list) {
+                    switch (type) {
+                        case TYPE_SEAT_LIST -> writeSeat(out, (SeatResponseDto) item);
+                        case TYPE_AIRPORT_LIST -> writeAirport(out, (AirportResponseDto) item);
+                        default -> writeFlight(out, (FlightResponseDto) item);
+                    }
+                }
+            }
+            default -> { }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            return null;
+        }
+
+        byte type = bytes[2];
+        if (type == TYPE_JSON) {
+            return fallback.deserialize(Arrays.copyOfRange(bytes, 3, bytes.length));
+        }
+        Reader in = new Reader(bytes, 3);
+        try {
+            return switch (type) {
+                case TYPE_SEAT -> readSeat(in);
+                case TYPE_AIRPORT -> readAirport(in);
+                case TYPE_FLIGHT -> readFlight(in);
+                case TYPE_EMPTY_LIST -> new ArrayList<>();
+                case TYPE_SEAT_LIST, TYPE_AIRPORT_LIST, TYPE_FLIGHT_LIST -> {
+                    int size = (int) in.readVarLong();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(switch (type) {
+                            case TYPE_SEAT_LIST -> readSeat(in);
+                            case TYPE_AIRPORT_LIST -> readAirport(in);
+                            default -> readFlight(in);
+                        });
+                    }
+                    yield list;
+                }
+                default -> null;
+            };
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new SerializationException("Truncated cache entry", ex);
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        if (value instanceof SeatResponseDto) {
+            return TYPE_SEAT;
+        }
+        if (value instanceof AirportResponseDto) {
+            return TYPE_AIRPORT;
+        }
+        if (value instanceof FlightResponseDto) {
+            return TYPE_FLIGHT;
+        }
+        if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                return TYPE_EMPTY_LIST;
+            }
+            if (list.stream().allMatch(SeatResponseDto.class::isInstance)) {
+                return TYPE_SEAT_LIST;
+            }
+            if (list.stream().allMatch(AirportResponseDto.class::isInstance)) {
+                return TYPE_AIRPORT_LIST;
+            }
+            if (list.stream().allMatch(FlightResponseDto.class::isInstance)) {
+                return TYPE_FLIGHT_LIST;
+            }
+        }
+        return TYPE_JSON;
+    }
+
+    private static void writeSeat(Writer out, SeatResponseDto seat) {
+        out.writeNullableId(seat.getId());
+        out.writeString(seat.getSeatNumber());
+        out.writeEnumName(seat.getSeatClass(), SEAT_CLASSES);
+        out.writeEnumName(seat.getStatus(), SEAT_STATUSES);
+        out.writePrice(seat.getPrice());
+    }
+
+    private static SeatResponseDto readSeat(Reader in) {
+        SeatResponseDto seat = new SeatResponseDto();
+        seat.setId(in.readNullableId());
+        seat.setSeatNumber(in.readString());
+        seat.setSeatClass(in.readEnumName(SEAT_CLASSES));
+        seat.setStatus(in.readEnumName(SEAT_STATUSES));
+        seat.setPrice(in.readPrice());
+        return seat;
+    }
+
+    private static void writeAirport(Writer out, @Nullable AirportResponseDto airport) {
+        if (airport == null) {
+            out.writeByte((byte) 0);
+            return;
+        }
+        out.writeByte((byte) 1);
+        out.writeNullableId(airport.getId());
+        out.writeString(airport.getCode());
+        out.writeString(airport.getName());
+        out.writeString(airport.getCity());
+        out.writeString(airport.getCountry());
+    }
+
+    @Nullable
+    private static AirportResponseDto readAirport(Reader in) {
+        if (in.readByte() == 0) {
+            return null;
+        }
+        AirportResponseDto airport = new AirportResponseDto();
+        airport.setId(in.readNullableId());
+        airport.setCode(in.readString());
+        airport.setName(in.readString());
+        airport.setCity(in.readString());
+        airport.setCountry(in.readString());
+        return airport;
+    }
+
+    private static void writeFlight(Writer out, FlightResponseDto flight) {
+        out.writeNullableId(flight.getId());
+        out.writeString(flight.getFlightNumber());
+        out.writeString(flight.getAirlineName());
+        writeAirport(out, flight.getDepartureAirport());
+        writeAirport(out, flight.getArrivalAirport());
+        out.writeDateTime(flight.getDepartureTime());
+        out.writeDateTime(flight.getArrivalTime());
+        out.writeNullableInt(flight.getTotalSeats());
+        out.writeNullableInt(flight.getAvailableSeats());
+        out.writePrice(flight.getBasePrice());
+        out.writeEnumName(flight.getStatus(), FLIGHT_STATUSES);
+    }
+
+    private static FlightResponseDto readFlight(Reader in) {
+        FlightResponseDto flight = new FlightResponseDto();
+        flight.setId(in.readNullableId());
+        flight.setFlightNumber(in.readString());
+        flight.setAirlineName(in.readString());
+        flight.setDepartureAirport(readAirport(in));
+        flight.setArrivalAirport(readAirport(in));
+        flight.setDepartureTime(in.readDateTime());
+        flight.setArrivalTime(in.readDateTime());
+        flight.setTotalSeats(in.readNullableInt());
+        flight.setAvailableSeats(in.readNullableInt());
+        flight.setBasePrice(in.readPrice());
+        flight.setStatus(in.readEnumName(FLIGHT_STATUSES));
+        return flight;
+    }
+
+    private static String[] names(Enum<?>[] values) {
+        return Arrays.stream(values).map(Enum::name).toArray(String[]::new);
+    }
+
+    /**
+     * Growable byte buffer with the primitive encodings used above.
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            buffer[position++] = b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        /** 0 = null, otherwise zigzag(value) + 1. */
+        void writeNullableLong(@Nullable Long value) {
+            writeVarLong(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        void writeNullableId(@Nullable Long id) {
+            writeNullableLong(id);
+        }
+
+        void writeNullableInt(@Nullable Integer value) {
+            writeNullableLong(value == null ? null : value.longValue());
+        }
+
+        /** 0 = null, otherwise UTF-8 length + 1 followed by the bytes. */
+        void writeString(@Nullable String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        /** Ordinal + 1 for known names, otherwise 0 followed by the raw (possibly null) string. */
+        void writeEnumName(@Nullable String value, String[] names) {
+            if (value != null) {
+                for (int i = 0; i < names.length; i++) {
+                    if (names[i].equals(value)) {
+                        writeVarLong(i + 1L);
+                        return;
+                    }
+                }
+            }
+            writeVarLong(0);
+            writeString(value);
+        }
+
+        /** 0 = null, 1 = whole cents as a zigzag varint, 2 = raw IEEE 754 bits. */
+        void writePrice(@Nullable Double price) {
+            if (price == null) {
+                writeByte((byte) 0);
+                return;
+            }
+            long cents = Math.round(price * 100);
+            if (cents / 100.0 == price) {
+                writeByte((byte) 1);
+                writeVarLong((cents << 1) ^ (cents >> 63));
+                return;
+            }
+            writeByte((byte) 2);
+            long bits = Double.doubleToLongBits(price);
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+
+        /** Epoch seconds (UTC) as a nullable long, then nanos as a varint. */
+        void writeDateTime(@Nullable LocalDateTime value) {
+            if (value == null) {
+                writeNullableLong(null);
+                return;
+            }
+            writeNullableLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        @Nullable
+        Long readNullableLong() {
+            long raw = readVarLong();
+            if (raw == 0) {
+                return null;
+            }
+            long zigzag = raw - 1;
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        @Nullable
+        Long readNullableId() {
+            return readNullableLong();
+        }
+
+        @Nullable
+        Integer readNullableInt() {
+            Long value = readNullableLong();
+            return value == null ? null : value.intValue();
+        }
+
+        @Nullable
+        String readString() {
+            int length = (int) readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+
+        @Nullable
+        String readEnumName(String[] names) {
+            int ordinal = (int) readVarLong();
+            return ordinal == 0 ? readString() : names[ordinal - 1];
+        }
+
+        @Nullable
+        Double readPrice() {
+            byte kind = readByte();
+            if (kind == 0) {
+                return null;
+            }
+            if (kind == 1) {
+                long zigzag = readVarLong();
+                return ((zigzag >>> 1) ^ -(zigzag & 1)) / 100.0;
+            }
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (buffer[position++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        @Nullable
+        LocalDateTime readDateTime() {
+            Long seconds = readNullableLong();
+            if (seconds == null) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(seconds, (int) readVarLong(), ZoneOffset.UTC);
+        }
+    }
+}
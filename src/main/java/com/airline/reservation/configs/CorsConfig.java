@@ -27,6 +27,9 @@ public class CorsConfig {
         // Allow all headers
         corsConfiguration.setAllowedHeaders(List.of("*"));
         
+        // Let browser clients read the partial-results flag of unified search and the list endpoints' next-page cursor
+        corsConfiguration.setExposedHeaders(List.of("X-Search-Partial", "X-Next-Cursor"));
+        
         // Allow credentials
         corsConfiguration.setAllowCredentials(false);
         
@@ -26,7 +26,6 @@ public class DataInitializer {
     private final AirportRepository airportRepository;
     private final PassengerRepository passengerRepository;
     private final FlightRepository flightRepository;
-    private final SeatRepository seatRepository;
     
     @Bean
     @Profile("dev") // Only run in dev profile
@@ -51,7 +50,7 @@ public class DataInitializer {
                 List<Passenger> passengers = createPassengers();
                 log.info("✓ Created {} passengers", passengers.size());
                 
-                // Create Flights (seats will be auto-generated)
+                // Create Flights (seats come from the cabin template)
                 List<Flight> flights = createFlights(airports);
                 log.info("✓ Created {} flights", flights.size());
                 
@@ -61,7 +60,7 @@ public class DataInitializer {
                 log.info("  - {} Airports", airports.size());
                 log.info("  - {} Passengers", passengers.size());
                 log.info("  - {} Flights", flights.size());
-                log.info("  - {} Seats (auto-generated)", seatRepository.count());
+                log.info("  - {} Seats (from cabin templates)", flights.stream().mapToInt(Flight::getTotalSeats).sum());
                 log.info("==============================================");
                 log.info("Application ready to use!");
                 log.info("Test APIs at: http://localhost:8080/api/airports");
@@ -151,15 +150,8 @@ public class DataInitializer {
         flights.add(createFlight("AI502", "Air India", airports.get(6), airports.get(0), 
             "2025-12-03 14:00:00", "2025-12-04 08:30:00", 300, 58000.00));
         
-        // Save flights (seats will be auto-generated by the service layer if using API)
-        List<Flight> savedFlights = flightRepository.saveAll(flights);
-        
-        // Generate seats for each flight
-        for (Flight flight : savedFlights) {
-            generateSeatsForFlight(flight);
-        }
-        
-        return savedFlights;
+        // Seats come from the cabin template; rows are only inserted as seats get held
+        return flightRepository.saveAll(flights);
     }
     
     private Flight createFlight(String flightNumber, String airlineName, Airport departure, 
@@ -176,42 +168,7 @@ public class DataInitializer {
         flight.setAvailableSeats(totalSeats);
         flight.setBasePrice(basePrice);
         flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
         return flight;
     }
-    
-    private void generateSeatsForFlight(Flight flight) {
-        List<Seat> seats = new ArrayList<>();
-        int totalSeats = flight.getTotalSeats();
-        int seatsPerRow = 6; // A-F
-        
-        for (int row = 1; row <= (totalSeats / seatsPerRow); row++) {
-            for (char seatLetter = 'A'; seatLetter < 'A' + seatsPerRow; seatLetter++) {
-                Seat seat = new Seat();
-                seat.setFlight(flight);
-                seat.setSeatNumber(row + String.valueOf(seatLetter));
-                
-                // Assign seat class and price based on row
-                if (row <= 2) {
-                    seat.setSeatClass(Seat.SeatClass.FIRST_CLASS);
-                    seat.setPrice(flight.getBasePrice() * 3);
-                } else if (row <= 5) {
-                    seat.setSeatClass(Seat.SeatClass.BUSINESS);
-                    seat.setPrice(flight.getBasePrice() * 2);
-                } else if (row <= 10) {
-                    seat.setSeatClass(Seat.SeatClass.PREMIUM_ECONOMY);
-                    seat.setPrice(flight.getBasePrice() * 1.5);
-                } else {
-                    seat.setSeatClass(Seat.SeatClass.ECONOMY);
-                    seat.setPrice(flight.getBasePrice());
-                }
-                
-                seat.setStatus(Seat.SeatStatus.AVAILABLE);
-                seats.add(seat);
-            }
-        }
-        
-        seatRepository.saveAll(seats);
-        log.info("Generated {} seats for flight {}", seats.size(), flight.getFlightNumber());
-    }
 }
-
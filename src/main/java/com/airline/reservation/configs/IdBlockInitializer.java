@@ -0,0 +1,80 @@
+package com.airline.reservation.configs;
+
+import com.airline.reservation.models.BaseModel;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves each entity table's row in the {@value BaseModel#ID_TABLE} table past the ids already in the
+ * table, so rows written before ids came from the table generator (or by SQL scripts) are never handed
+ * out again. The pooled optimizer reads a stored value as the last id of the next block, so it must be
+ * at least {@value BaseModel#ID_BLOCK_SIZE} above the largest id.
+ * <p>
+ * Runs once all beans exist, before any runner or request can insert. A block is only ever moved
+ * forward, so a node starting while others are running at most skips some ids.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdBlockInitializer implements SmartInitializingSingleton {
+
+    private static final String SELECT_NEXT_ID =
+            "SELECT next_id FROM " + BaseModel.ID_TABLE + " WHERE entity_table = ?";
+    private static final String INSERT_NEXT_ID =
+            "INSERT INTO " + BaseModel.ID_TABLE + " (entity_table, next_id) VALUES (?, ?)";
+    private static final String ADVANCE_NEXT_ID =
+            "UPDATE " + BaseModel.ID_TABLE + " SET next_id = ? WHERE entity_table = ? AND next_id < ?";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String table : entityTables()) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId != null && maxId > 0) {
+                advance(table, maxId);
+            }
+        }
+    }
+
+    /** The next block runs up to the stored value, so its first id must be above {@code maxId}. */
+    private void advance(String table, long maxId) {
+        long nextId = maxId + BaseModel.ID_BLOCK_SIZE;
+        List<Long> current = jdbcTemplate.queryForList(SELECT_NEXT_ID, Long.class, table);
+        if (current.isEmpty()) {
+            try {
+                jdbcTemplate.update(INSERT_NEXT_ID, table, nextId);
+                log.info("Ids for {} start after existing id {}", table, maxId);
+                return;
+            } catch (DuplicateKeyException ex) {
+                // Another node created the block first; advance it like an existing one
+            }
+        }
+        if (jdbcTemplate.update(ADVANCE_NEXT_ID, nextId, table, nextId) > 0) {
+            log.info("Ids for {} moved past existing id {}", table, maxId);
+        }
+    }
+
+    private List<String> entityTables() {
+        List<String> tables = new ArrayList<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .forEachEntityDescriptor(descriptor -> {
+                    if (BaseModel.class.isAssignableFrom(descriptor.getMappedClass())
+                            && descriptor instanceof AbstractEntityPersister persister) {
+                        tables.add(persister.getTableName());
+                    }
+                });
+        return tables;
+    }
+}
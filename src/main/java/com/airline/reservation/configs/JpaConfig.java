@@ -1,5 +1,9 @@
 package com.airline.reservation.configs;
 
+import com.airline.reservation.models.BaseModel;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -11,6 +15,18 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories(basePackages = "com.airline.reservation.repositories")
 @EnableTransactionManagement
 public class JpaConfig {
-    // Additional JPA configurations can be added here if needed
+    
+    /**
+     * JDBC insert batching, one id block per batch. Ids come from a table generator (see {@link BaseModel}),
+     * so Hibernate can group inserts per table; with {@code rewriteBatchedStatements} MySQL gets each batch
+     * as one multi-row insert. Set in code so every profile, test and benchmark runs with it.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, BaseModel.ID_BLOCK_SIZE);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
 }
-
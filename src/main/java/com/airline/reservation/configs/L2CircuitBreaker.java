@@ -0,0 +1,65 @@
+package com.airline.reservation.configs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calls to the L2 (Redis) for a while after one fails, so an outage costs one connection
+ * timeout per retry period instead of one per cache operation. While open, {@link TwoLevelCache}s
+ * serve from L1 alone. Once the period is over a single call is let through to probe Redis; the
+ * breaker closes when it succeeds and stays open for another period when it fails.
+ *
+ * One breaker is shared by all caches of a {@link TwoLevelCacheManager}, since they share one Redis.
+ */
+@Slf4j
+public class L2CircuitBreaker {
+
+    private static final long CLOSED = 0;
+
+    private final long retryAfterMs;
+    private final LongSupplier clock;
+    /** Epoch millis after which the next call may probe Redis, or {@link #CLOSED}. */
+    private final AtomicLong openUntil = new AtomicLong(CLOSED);
+
+    public L2CircuitBreaker(Duration retryAfter) {
+        this(retryAfter, System::currentTimeMillis);
+    }
+
+    L2CircuitBreaker(Duration retryAfter, LongSupplier clock) {
+        this.retryAfterMs = retryAfter.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether the caller may call the L2 now
+     */
+    public boolean allowRequest() {
+        long until = openUntil.get();
+        if (until == CLOSED) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        // Only the caller that wins the swap probes; the others keep skipping the L2
+        return now >= until && openUntil.compareAndSet(until, now + retryAfterMs);
+    }
+
+    public void onSuccess() {
+        if (openUntil.get() != CLOSED && openUntil.getAndSet(CLOSED) != CLOSED) {
+            log.info("L2 cache reachable again");
+        }
+    }
+
+    public void onFailure(String operation, String cacheName, RuntimeException ex) {
+        if (openUntil.getAndSet(clock.getAsLong() + retryAfterMs) == CLOSED) {
+            log.warn("L2 {} failed for cache '{}', serving from L1 only for the next {} ms: {}",
+                    operation, cacheName, retryAfterMs, ex.getMessage());
+        }
+    }
+
+    public boolean isOpen() {
+        return openUntil.get() != CLOSED;
+    }
+}
@@ -0,0 +1,261 @@
+package com.airline.reservation.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache with a bounded in-process Caffeine L1 in front of an optional shared L2 (Redis).
+ *
+ * Reads are served from L1 when possible and fall through to L2, promoting hits into L1. Writes and
+ * evictions go to both tiers and are also published so other nodes drop their L1 copy; values loaded
+ * on a miss are not, since they only fill in what no tier had.
+ * When L2 is absent the cache works on L1 alone; when it fails, the {@link L2CircuitBreaker} keeps
+ * the cache on L1 alone for a while rather than waiting on Redis for every operation.
+ *
+ * L1 keeps values serialized, in the same format as Redis, and decodes them on every read: cached
+ * DTOs are mutable, so sharing one instance would let a caller that changes its result change what
+ * every later caller gets. Values that cannot be serialized are not kept in L1.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    @Nullable
+    private final Cache remote;
+    private final L2CircuitBreaker breaker;
+    private final RedisSerializer<Object> localSerializer;
+    private final BiConsumer<String, Object> invalidationPublisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    /**
+     * @param remote            the L2 cache, or {@code null} for an L1-only cache
+     * @param breaker           guards the calls to {@code remote}
+     * @param localSerializer   the form values are kept in L1
+     * @param invalidationPublisher called with {@code (name, key)} on put and evict and {@code (name, null)} on clear
+     */
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                         @Nullable Cache remote, L2CircuitBreaker breaker,
+                         RedisSerializer<Object> localSerializer,
+                         BiConsumer<String, Object> invalidationPublisher) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.breaker = breaker;
+        this.localSerializer = localSerializer;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return local;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        Object value = fromLocal(key, local.getIfPresent(key));
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        ValueWrapper wrapper = remoteGet(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            value = wrapper.get();
+            putLocal(key, value);
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        Object[] loaded = new Object[1];
+        Object stored = local.get(key, k -> {
+            try {
+                loaded[0] = valueLoader.call();
+                remotePut(k, loaded[0]);
+                return toLocal(k, loaded[0]);
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(k, valueLoader, ex);
+            }
+        });
+        // The caller that ran the loader owns its result; callers that waited on it decode their own copy
+        return (T) (loaded[0] != null ? loaded[0] : fromLocal(key, stored));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        puts.increment();
+        putLocal(key, value);
+        remotePut(key, value);
+        invalidationPublisher.accept(name, key);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        if (remoteAvailable()) {
+            try {
+                remote.evict(key);
+                breaker.onSuccess();
+            } catch (RuntimeException ex) {
+                breaker.onFailure("evict", name, ex);
+            }
+        }
+        invalidationPublisher.accept(name, key);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (remoteAvailable()) {
+            try {
+                remote.clear();
+                breaker.onSuccess();
+            } catch (RuntimeException ex) {
+                breaker.onFailure("clear", name, ex);
+            }
+        }
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * Drops the L1 entry only; used when another node reports a write or an eviction.
+     */
+    void evictLocal(@Nullable Object key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    private void putLocal(Object key, Object value) {
+        byte[] bytes = toLocal(key, value);
+        if (bytes != null) {
+            local.put(key, bytes);
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    @Nullable
+    private byte[] toLocal(Object key, @Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return localSerializer.serialize(value);
+        } catch (SerializationException ex) {
+            log.warn("Not caching {} for key {} in L1 of cache '{}': {}",
+                    value.getClass().getSimpleName(), key, name, ex.getMessage());
+            return null;
+        }
+    }
+
+    /** Decodes an L1 entry; one that cannot be read back is dropped and treated as a miss. */
+    @Nullable
+    private Object fromLocal(Object key, @Nullable Object stored) {
+        if (stored == null) {
+            return null;
+        }
+        try {
+            return localSerializer.deserialize((byte[]) stored);
+        } catch (SerializationException ex) {
+            log.warn("Dropping unreadable L1 entry for key {} of cache '{}': {}", key, name, ex.getMessage());
+            local.invalidate(key);
+            return null;
+        }
+    }
+
+    private boolean remoteAvailable() {
+        return remote != null && breaker.allowRequest();
+    }
+
+    @Nullable
+    private ValueWrapper remoteGet(Object key) {
+        if (!remoteAvailable()) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            breaker.onSuccess();
+            return wrapper;
+        } catch (RuntimeException ex) {
+            breaker.onFailure("read", name, ex);
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, @Nullable Object value) {
+        if (value == null || !remoteAvailable()) {
+            return;
+        }
+        try {
+            remote.put(key, value);
+            breaker.onSuccess();
+        } catch (RuntimeException ex) {
+            breaker.onFailure("write", name, ex);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.airline.reservation.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CacheManager} of {@link TwoLevelCache}s: a Caffeine L1 per cache name in front of an
+ * optional Redis L2. Writes and evictions are broadcast on a Redis channel so every node drops its L1 copy;
+ * without Redis the manager runs the L1 tier alone. Redis calls, including the broadcasts, go through
+ * one {@link L2CircuitBreaker}, so while Redis is down the caches run on L1 alone.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private static final String CLEAR = "*";
+
+    private final Map<String, Duration> localTtls;
+    private final Duration defaultLocalTtl;
+    private final long localMaxSize;
+    @Nullable
+    private final CacheManager remoteCacheManager;
+    @Nullable
+    private final RedisConnectionFactory connectionFactory;
+    private final L2CircuitBreaker breaker;
+    private final RedisSerializer<Object> localSerializer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+    @Nullable
+    private StringRedisTemplate redisTemplate;
+    @Nullable
+    private RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * @param localTtls          L1 time-to-live per cache name; these caches are created up front
+     * @param remoteCacheManager the L2 caches, or {@code null} to run L1 only
+     * @param connectionFactory  used to publish and receive evictions, or {@code null} when there is no L2
+     * @param remoteRetryAfter   how long to skip Redis after a call to it fails
+     * @param localSerializer    the form values are kept in L1, so each read gets its own copy
+     */
+    public TwoLevelCacheManager(Map<String, Duration> localTtls, Duration defaultLocalTtl, long localMaxSize,
+                                @Nullable CacheManager remoteCacheManager,
+                                @Nullable RedisConnectionFactory connectionFactory, Duration remoteRetryAfter,
+                                RedisSerializer<Object> localSerializer) {
+        this.localTtls = localTtls;
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localMaxSize = localMaxSize;
+        this.remoteCacheManager = remoteCacheManager;
+        this.connectionFactory = connectionFactory;
+        this.breaker = new L2CircuitBreaker(remoteRetryAfter);
+        this.localSerializer = localSerializer;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (connectionFactory != null) {
+            redisTemplate = new StringRedisTemplate(connectionFactory);
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(INVALIDATION_CHANNEL));
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    public boolean isLocalOnly() {
+        return remoteCacheManager == null;
+    }
+
+    public L2CircuitBreaker getCircuitBreaker() {
+        return breaker;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>(localTtls.size());
+        localTtls.keySet().forEach(name -> caches.add(createCache(name)));
+        return caches;
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        return twoLevelCaches.computeIfAbsent(name, n -> new TwoLevelCache(n,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtls.getOrDefault(n, defaultLocalTtl))
+                        .recordStats()
+                        .build(),
+                remoteCacheManager != null ? remoteCacheManager.getCache(n) : null,
+                breaker,
+                localSerializer,
+                this::publishInvalidation));
+    }
+
+    private void publishInvalidation(String cacheName, @Nullable Object key) {
+        if (redisTemplate == null || !breaker.allowRequest()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + cacheName + "|" + encodeKey(key));
+            breaker.onSuccess();
+        } catch (RuntimeException ex) {
+            breaker.onFailure("invalidation publish", cacheName, ex);
+        }
+    }
+
+    void onInvalidation(Message message, @Nullable byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = twoLevelCaches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(decodeKey(parts[2]));
+        }
+    }
+
+    /**
+     * Keys are ids (Long) or strings in this application; anything else clears the whole L1 cache
+     * on the receiving nodes rather than risk a stale entry.
+     */
+    static String encodeKey(@Nullable Object key) {
+        if (key instanceof Long id) {
+            return "L" + id;
+        }
+        if (key instanceof String text) {
+            return "S" + text;
+        }
+        return CLEAR;
+    }
+
+    @Nullable
+    static Object decodeKey(String encoded) {
+        if (encoded.startsWith("L")) {
+            return Long.valueOf(encoded.substring(1));
+        }
+        if (encoded.startsWith("S")) {
+            return encoded.substring(1);
+        }
+        return null;
+    }
+}
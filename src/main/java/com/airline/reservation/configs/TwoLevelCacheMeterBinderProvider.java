@@ -0,0 +1,67 @@
+package com.airline.reservation.configs;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Publishes {@link TwoLevelCache} statistics as the standard {@code cache.*} meters, plus
+ * {@code cache.gets.tier} to tell L1 hits from L2 hits.
+ */
+public class TwoLevelCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoLevelCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoLevelCache cache, Iterable<Tag> tags) {
+        return new TwoLevelCacheMetrics(cache, tags);
+    }
+
+    static class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+        private final TwoLevelCache cache;
+
+        TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long size() {
+            return cache.getLocalCache().estimatedSize();
+        }
+
+        @Override
+        protected long hitCount() {
+            return cache.getLocalHits() + cache.getRemoteHits();
+        }
+
+        @Override
+        protected Long missCount() {
+            return cache.getMisses();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return cache.getLocalCache().stats().evictionCount();
+        }
+
+        @Override
+        protected long putCount() {
+            return cache.getPuts();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            FunctionCounter.builder("cache.gets.tier", cache, TwoLevelCache::getLocalHits)
+                    .tags(getTagsWithCacheName()).tag("tier", "l1")
+                    .description("Cache hits served by each tier")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets.tier", cache, TwoLevelCache::getRemoteHits)
+                    .tags(getTagsWithCacheName()).tag("tier", "l2")
+                    .description("Cache hits served by each tier")
+                    .register(registry);
+        }
+    }
+}
@@ -44,8 +44,17 @@ public class AirportController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AirportResponseDto>>> getAllAirports() {
-        List<AirportResponseDto> response = airportService.getAllAirports();
+    public ResponseEntity<ApiResponse<List<AirportResponseDto>>> getAirports(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return PageResponses.ok("Airports retrieved successfully", airportService.getAirports(cursor, size));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<AirportResponseDto>>> suggestAirports(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        List<AirportResponseDto> response = airportService.suggestAirports(query, limit);
         return ResponseEntity.ok(ApiResponse.success("Airports retrieved successfully", response));
     }
     
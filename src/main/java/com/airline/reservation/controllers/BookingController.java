@@ -1,6 +1,7 @@
 package com.airline.reservation.controllers;
 
 import com.airline.reservation.dtos.ApiResponse;
+import com.airline.reservation.dtos.BatchBookingRequestDto;
 import com.airline.reservation.dtos.BookingRequestDto;
 import com.airline.reservation.dtos.BookingResponseDto;
 import com.airline.reservation.services.BookingService;
@@ -31,6 +32,15 @@ public class BookingController {
                 .body(ApiResponse.success("Booking created successfully", response));
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<BookingResponseDto>>> createBookings(
+            @Valid @RequestBody BatchBookingRequestDto requestDto) {
+        List<BookingResponseDto> response = bookingService.createBookings(requestDto);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Bookings created successfully", response));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<BookingResponseDto>> getBookingById(@PathVariable Long id) {
         BookingResponseDto response = bookingService.getBookingById(id);
@@ -45,9 +55,10 @@ public class BookingController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BookingResponseDto>>> getAllBookings() {
-        List<BookingResponseDto> response = bookingService.getAllBookings();
-        return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", response));
+    public ResponseEntity<ApiResponse<List<BookingResponseDto>>> getBookings(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return PageResponses.ok("Bookings retrieved successfully", bookingService.getBookings(cursor, size));
     }
     
     @GetMapping("/passenger/{passengerId}")
@@ -1,21 +1,37 @@
 package com.airline.reservation.controllers;
 
 import com.airline.reservation.dtos.ApiResponse;
+import com.airline.reservation.dtos.ConnectionSearchRequestDto;
 import com.airline.reservation.dtos.ExternalFlightDto;
+import com.airline.reservation.dtos.FareCalendarDto;
 import com.airline.reservation.dtos.FlightRequestDto;
 import com.airline.reservation.dtos.FlightResponseDto;
 import com.airline.reservation.dtos.FlightSearchRequestDto;
 import com.airline.reservation.dtos.ImportExternalFlightRequestDto;
+import com.airline.reservation.dtos.ItineraryDto;
 import com.airline.reservation.dtos.UnifiedFlightDto;
+import com.airline.reservation.dtos.UnifiedSearchResultDto;
+import com.airline.reservation.dtos.UnifiedSearchSummaryDto;
+import com.airline.reservation.services.ConnectionSearchService;
 import com.airline.reservation.services.ExternalFlightApiService;
+import com.airline.reservation.services.FareCalendarService;
 import com.airline.reservation.services.FlightSearchService;
 import com.airline.reservation.services.FlightService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -26,9 +42,14 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FlightController {
 
+    static final String PARTIAL_RESULTS_HEADER = "X-Search-Partial";
+
     private final FlightService flightService;
     private final ExternalFlightApiService externalFlightApiService;
     private final FlightSearchService flightSearchService;
+    private final ConnectionSearchService connectionSearchService;
+    private final FareCalendarService fareCalendarService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     public ResponseEntity<ApiResponse<FlightResponseDto>> createFlight(
@@ -53,9 +74,10 @@ public class FlightController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<FlightResponseDto>>> getAllFlights() {
-        List<FlightResponseDto> response = flightService.getAllFlights();
-        return ResponseEntity.ok(ApiResponse.success("Flights retrieved successfully", response));
+    public ResponseEntity<ApiResponse<List<FlightResponseDto>>> getFlights(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return PageResponses.ok("Flights retrieved successfully", flightService.getFlights(cursor, size));
     }
 
     /**
@@ -100,13 +122,111 @@ public class FlightController {
     /**
      * Unified search: internal DB + optional Aviationstack results.
      * Use {@code includeExternal=true} to include external flights. Each result has {@code source} and {@code bookable}.
+     * When a source does not answer within the search deadline its flights are left out and the response
+     * carries {@code X-Search-Partial: true} with the missing sources named in the message.
      */
     @PostMapping("/search-unified")
     public ResponseEntity<ApiResponse<List<UnifiedFlightDto>>> searchUnified(
             @Valid @RequestBody FlightSearchRequestDto searchDto,
             @RequestParam(name = "includeExternal", defaultValue = "true") boolean includeExternal) {
-        List<UnifiedFlightDto> results = flightSearchService.searchUnified(searchDto, includeExternal);
-        return ResponseEntity.ok(ApiResponse.success("Flights retrieved successfully", results));
+        UnifiedSearchResultDto result = flightSearchService.searchUnified(searchDto, includeExternal);
+        String message = result.isPartial()
+                ? "Flights retrieved partially; no results in time from: " + String.join(", ", result.getMissingSources())
+                : "Flights retrieved successfully";
+        return ResponseEntity.ok()
+                .header(PARTIAL_RESULTS_HEADER, String.valueOf(result.isPartial()))
+                .body(ApiResponse.success(message, result.getFlights()));
+    }
+
+    /**
+     * Streaming unified search as NDJSON: one {@link UnifiedFlightDto} per line, internal flights first and
+     * then each external source's flights as soon as it answers, flushed per source. The last line is a
+     * {@link UnifiedSearchSummaryDto} ({@code "complete":true}) saying whether any source was missed.
+     */
+    @PostMapping(value = "/search-unified/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUnified(
+            @Valid @RequestBody FlightSearchRequestDto searchDto,
+            @RequestParam(name = "includeExternal", defaultValue = "true") boolean includeExternal) {
+        return streamUnified(searchDto, includeExternal, MediaType.APPLICATION_NDJSON,
+                (out, event, value) -> {
+                    out.write(objectMapper.writeValueAsBytes(value));
+                    out.write('\n');
+                });
+    }
+
+    /**
+     * Same as the NDJSON stream, as Server-Sent Events: a {@code flight} event per flight and a final
+     * {@code complete} event carrying the {@link UnifiedSearchSummaryDto}.
+     */
+    @PostMapping(value = "/search-unified/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUnifiedEvents(
+            @Valid @RequestBody FlightSearchRequestDto searchDto,
+            @RequestParam(name = "includeExternal", defaultValue = "true") boolean includeExternal) {
+        return streamUnified(searchDto, includeExternal, MediaType.TEXT_EVENT_STREAM,
+                (out, event, value) -> {
+                    out.write(("event: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+                    out.write(objectMapper.writeValueAsBytes(value));
+                    out.write('\n');
+                    out.write('\n');
+                });
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamUnified(FlightSearchRequestDto searchDto, boolean includeExternal,
+                                                                MediaType mediaType, RecordWriter writer) {
+        StreamingResponseBody body = out -> {
+            UnifiedSearchSummaryDto summary;
+            try {
+                summary = flightSearchService.streamUnified(searchDto, includeExternal, (source, flights) -> {
+                    try {
+                        for (UnifiedFlightDto flight : flights) {
+                            writer.write(out, "flight", flight);
+                        }
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.write(out, "complete", summary);
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(body);
+    }
+
+    /** Writes one record of a streamed response in the stream's format. */
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(OutputStream out, String event, Object value) throws IOException;
+    }
+
+    /**
+     * Direct and connecting itineraries (up to 2 stops) leaving on the given date, ranked by total duration.
+     * Optional {@code maxStops}, {@code minConnectionMinutes} and {@code maxDurationHours} narrow the search.
+     */
+    @PostMapping("/search-connections")
+    public ResponseEntity<ApiResponse<List<ItineraryDto>>> searchConnections(
+            @Valid @RequestBody ConnectionSearchRequestDto searchDto) {
+        List<ItineraryDto> itineraries = connectionSearchService.searchConnections(searchDto);
+        return ResponseEntity.ok(ApiResponse.success("Itineraries retrieved successfully", itineraries));
+    }
+
+    /**
+     * Lowest available fare and per-class availability for each day on a route, from {@code startDate}
+     * to {@code endDate} (default: end of the start month), at most 62 days.
+     */
+    @GetMapping("/fare-calendar")
+    public ResponseEntity<ApiResponse<FareCalendarDto>> getFareCalendar(
+            @RequestParam String departureAirportCode,
+            @RequestParam String arrivalAirportCode,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        FareCalendarDto calendar = fareCalendarService.getFareCalendar(departureAirportCode, arrivalAirportCode,
+                startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success("Fare calendar retrieved successfully", calendar));
     }
 
     /**
@@ -0,0 +1,29 @@
+package com.airline.reservation.controllers;
+
+import com.airline.reservation.dtos.ApiResponse;
+import com.airline.reservation.dtos.CursorPageDto;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Responses for keyset-paginated list endpoints ({@code ?cursor=&size=}, see
+ * {@link com.airline.reservation.services.PageCursor} for the size limits). The page's items are the
+ * {@code data}, as for the unpaginated lists, and the token for the next page is sent in
+ * {@value #NEXT_CURSOR_HEADER}, which is absent on the last page.
+ */
+final class PageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<ApiResponse<List<T>>> ok(String message, CursorPageDto<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(ApiResponse.success(message, page.getItems()));
+    }
+}
@@ -44,9 +44,10 @@ public class PassengerController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PassengerResponseDto>>> getAllPassengers() {
-        List<PassengerResponseDto> response = passengerService.getAllPassengers();
-        return ResponseEntity.ok(ApiResponse.success("Passengers retrieved successfully", response));
+    public ResponseEntity<ApiResponse<List<PassengerResponseDto>>> getPassengers(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return PageResponses.ok("Passengers retrieved successfully", passengerService.getPassengers(cursor, size));
     }
     
     @PutMapping("/{id}")
@@ -52,9 +52,10 @@ public class PaymentController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PaymentResponseDto>>> getAllPayments() {
-        List<PaymentResponseDto> response = paymentService.getAllPayments();
-        return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", response));
+    public ResponseEntity<ApiResponse<List<PaymentResponseDto>>> getPayments(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return PageResponses.ok("Payments retrieved successfully", paymentService.getPayments(cursor, size));
     }
 }
 
@@ -1,11 +1,15 @@
 package com.airline.reservation.controllers;
 
 import com.airline.reservation.dtos.ApiResponse;
+import com.airline.reservation.dtos.CabinLayoutDto;
+import com.airline.reservation.dtos.SeatAvailabilityDto;
 import com.airline.reservation.dtos.SeatResponseDto;
 import com.airline.reservation.services.SeatService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,6 +37,24 @@ public class SeatController {
         return ResponseEntity.ok(ApiResponse.success("Available seats retrieved successfully", response));
     }
     
+    /** Tagged with the layout version, so a client holding it gets 304 Not Modified. */
+    @GetMapping("/flight/{flightId}/layout")
+    public ResponseEntity<ApiResponse<CabinLayoutDto>> getCabinLayout(
+            @PathVariable Long flightId, WebRequest request) {
+        CabinLayoutDto response = seatService.getCabinLayout(flightId);
+        String eTag = "\"" + response.getVersion() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success("Cabin layout retrieved successfully", response));
+    }
+    
+    @GetMapping("/flight/{flightId}/availability")
+    public ResponseEntity<ApiResponse<SeatAvailabilityDto>> getSeatAvailability(@PathVariable Long flightId) {
+        SeatAvailabilityDto response = seatService.getSeatAvailability(flightId);
+        return ResponseEntity.ok(ApiResponse.success("Seat availability retrieved successfully", response));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SeatResponseDto>> getSeatById(@PathVariable Long id) {
         SeatResponseDto response = seatService.getSeatById(id);
@@ -0,0 +1,39 @@
+package com.airline.reservation.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for booking several passengers on one flight in a single request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequestDto {
+
+    @NotNull(message = "Flight ID is required")
+    private Long flightId;
+
+    @NotEmpty(message = "At least one passenger is required")
+    @Size(max = 50, message = "A batch can book at most 50 passengers")
+    private List<@Valid PassengerSeat> bookings;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PassengerSeat {
+
+        @NotNull(message = "Passenger ID is required")
+        private Long passengerId;
+
+        @NotNull(message = "Seat ID is required")
+        private Long seatId;
+    }
+}
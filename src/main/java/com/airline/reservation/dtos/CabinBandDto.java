@@ -0,0 +1,25 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Consecutive seats of one class and price. Rows {@code firstRow} to {@code lastRow} each hold one
+ * seat per character of {@code letters}. Seats whose numbers do not follow the row-and-letter pattern
+ * are listed one by one in {@code seatNumbers} instead, and the row fields are {@code null}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CabinBandDto {
+    
+    private String seatClass;
+    private Double price;
+    private Integer firstRow;
+    private Integer lastRow;
+    private String letters;
+    private List<String> seatNumbers;
+}
@@ -0,0 +1,26 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The static part of a flight's seat map, meant to be fetched once and cached by the client.
+ * <p>
+ * Seats are in seat-map order: band by band, row by row, letter by letter. The n-th seat in that
+ * order has the n-th id from {@code seatIds} and the n-th bit of {@link SeatAvailabilityDto#getBitmap()}.
+ * {@code version} changes whenever any seat's id, number, class or price does.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CabinLayoutDto {
+    
+    private Long flightId;
+    private String version;
+    private Integer seatCount;
+    private List<SeatIdRangeDto> seatIds;
+    private List<CabinBandDto> bands;
+}
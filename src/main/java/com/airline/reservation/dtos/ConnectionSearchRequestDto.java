@@ -0,0 +1,41 @@
+package com.airline.reservation.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for connecting-itinerary search requests. Optional limits fall back to the
+ * {@code app.connections.*} defaults.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionSearchRequestDto {
+
+    @NotBlank(message = "Departure airport code is required")
+    private String departureAirportCode;
+
+    @NotBlank(message = "Arrival airport code is required")
+    private String arrivalAirportCode;
+
+    @NotNull(message = "Departure date is required")
+    private LocalDate departureDate;
+
+    @Min(value = 0, message = "Max stops cannot be negative")
+    @Max(value = 2, message = "At most 2 stops are supported")
+    private Integer maxStops;
+
+    @Min(value = 0, message = "Minimum connection time cannot be negative")
+    private Integer minConnectionMinutes;
+
+    @Min(value = 1, message = "Max duration must be at least 1 hour")
+    @Max(value = 48, message = "Max duration cannot exceed 48 hours")
+    private Integer maxDurationHours;
+}
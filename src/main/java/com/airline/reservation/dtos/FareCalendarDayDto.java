@@ -0,0 +1,23 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One day of a fare calendar: the number of bookable flights, the cheapest available seat and
+ * availability per seat class. {@code lowestFare} is {@code null} when nothing is bookable that day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDayDto {
+    
+    private LocalDate date;
+    private Integer flights;
+    private Double lowestFare;
+    private List<SeatClassFareDto> seatClasses;
+}
@@ -0,0 +1,23 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the lowest-fare calendar of a route, one entry per day from {@code startDate} to {@code endDate}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDto {
+    
+    private String departureAirportCode;
+    private String arrivalAirportCode;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<FareCalendarDayDto> days;
+}
@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 /**
- * DTO for Flight search requests
+ * DTO for Flight search requests. Setting {@code departureDateTo} searches every day from
+ * {@code departureDate} to it, inclusive.
  */
 @Data
 @NoArgsConstructor
@@ -24,5 +25,10 @@ public class FlightSearchRequestDto {
     
     @NotNull(message = "Departure date is required")
     private LocalDate departureDate;
+    
+    private LocalDate departureDateTo;
+    
+    public FlightSearchRequestDto(String departureAirportCode, String arrivalAirportCode, LocalDate departureDate) {
+        this(departureAirportCode, arrivalAirportCode, departureDate, null);
+    }
 }
-
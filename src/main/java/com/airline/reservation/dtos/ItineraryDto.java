@@ -0,0 +1,24 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A direct or connecting itinerary: its flights in travel order plus totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryDto {
+
+    private List<FlightResponseDto> flights;
+    private Integer stops;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private Long durationMinutes;
+    private Double totalPrice;
+}
@@ -0,0 +1,62 @@
+package com.airline.reservation.dtos;
+
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+
+import java.util.function.Function;
+
+/**
+ * Maps entities to their response DTOs with plain field copies. Used on the read paths instead of
+ * ModelMapper, which matches properties reflectively on every call.
+ * A {@code null} source maps to {@code null}.
+ */
+public final class ResponseDtoMapper {
+
+    private ResponseDtoMapper() {}
+
+    public static AirportResponseDto toAirportDto(Airport airport) {
+        if (airport == null) {
+            return null;
+        }
+        return new AirportResponseDto(airport.getId(), airport.getCode(), airport.getName(),
+                airport.getCity(), airport.getCountry());
+    }
+
+    public static SeatResponseDto toSeatDto(Seat seat) {
+        if (seat == null) {
+            return null;
+        }
+        return new SeatResponseDto(seat.getId(), seat.getSeatNumber(), name(seat.getSeatClass()),
+                name(seat.getStatus()), seat.getPrice());
+    }
+
+    public static PassengerResponseDto toPassengerDto(Passenger passenger) {
+        if (passenger == null) {
+            return null;
+        }
+        return new PassengerResponseDto(passenger.getId(), passenger.getFirstName(), passenger.getLastName(),
+                passenger.getEmail(), passenger.getPhoneNumber(), passenger.getDateOfBirth(),
+                passenger.getPassportNumber(), passenger.getNationality(), passenger.getCreatedAt());
+    }
+
+    public static FlightResponseDto toFlightDto(Flight flight) {
+        return toFlightDto(flight, ResponseDtoMapper::toAirportDto);
+    }
+
+    /** Maps the flight with its airports resolved by {@code airports}, e.g. to shared registry DTOs. */
+    public static FlightResponseDto toFlightDto(Flight flight, Function<Airport, AirportResponseDto> airports) {
+        if (flight == null) {
+            return null;
+        }
+        return new FlightResponseDto(flight.getId(), flight.getFlightNumber(), flight.getAirlineName(),
+                airports.apply(flight.getDepartureAirport()), airports.apply(flight.getArrivalAirport()),
+                flight.getDepartureTime(), flight.getArrivalTime(), flight.getTotalSeats(),
+                flight.getAvailableSeats(), flight.getBasePrice(), name(flight.getStatus()));
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
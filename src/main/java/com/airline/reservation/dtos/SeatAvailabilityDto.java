@@ -0,0 +1,22 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current availability of every seat on a flight as a base64 bitmap. Bit {@code i} (byte
+ * {@code i / 8}, least significant bit first) is set when the i-th seat of the {@link CabinLayoutDto}
+ * with {@code layoutVersion} is available.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityDto {
+    
+    private Long flightId;
+    private String layoutVersion;
+    private Integer seatCount;
+    private Integer availableCount;
+    private String bitmap;
+}
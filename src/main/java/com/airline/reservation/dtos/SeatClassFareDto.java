@@ -0,0 +1,18 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Available seats and the cheapest available seat price of one seat class on one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatClassFareDto {
+    
+    private String seatClass;
+    private Long availableSeats;
+    private Double lowestFare;
+}
@@ -0,0 +1,17 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code count} consecutive seat ids starting at {@code firstId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatIdRangeDto {
+    
+    private Long firstId;
+    private Integer count;
+}
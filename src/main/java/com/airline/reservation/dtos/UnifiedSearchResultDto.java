@@ -0,0 +1,21 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a unified search. {@code partial} is true when a source missed the deadline or failed;
+ * those sources are listed in {@code missingSources} and their flights are absent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnifiedSearchResultDto {
+
+    private List<UnifiedFlightDto> flights;
+    private boolean partial;
+    private List<String> missingSources;
+}
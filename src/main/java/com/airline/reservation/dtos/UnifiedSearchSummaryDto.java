@@ -0,0 +1,22 @@
+package com.airline.reservation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Last record of a streamed unified search. {@code complete} is always true, so NDJSON readers can
+ * tell it apart from flight lines; {@code partial} and {@code missingSources} are as in
+ * {@link UnifiedSearchResultDto}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnifiedSearchSummaryDto {
+
+    private boolean complete;
+    private boolean partial;
+    private List<String> missingSources;
+}
@@ -0,0 +1,11 @@
+package com.airline.reservation.exceptions;
+
+/**
+ * Exception thrown when request parameters are malformed, such as a bad page cursor or page size
+ */
+public class InvalidRequestException extends RuntimeException {
+    
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
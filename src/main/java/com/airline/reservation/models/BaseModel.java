@@ -10,14 +10,25 @@ import java.time.LocalDateTime;
 
 /**
  * Base Model with common fields for all entities
+ * <p>
+ * Ids come from Hibernate's table generator with the pooled optimizer: each entity table has a row in
+ * {@value #ID_TABLE}, moved on by {@value #ID_BLOCK_SIZE} per fetch, so Hibernate knows an id before
+ * the insert and can batch inserts (IDENTITY columns rule that out). A fetch runs on a connection of
+ * its own from the main pool. Existing rows keep their ids; {@code IdBlockInitializer} moves each
+ * table's row past them at startup.
  */
 @Getter
 @Setter
 @MappedSuperclass
 public abstract class BaseModel {
     
+    public static final String ID_TABLE = "id_blocks";
+    public static final int ID_BLOCK_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_blocks")
+    @TableGenerator(name = "id_blocks", table = ID_TABLE, pkColumnName = "entity_table",
+            valueColumnName = "next_id", allocationSize = ID_BLOCK_SIZE)
     private Long id;
     
     @CreationTimestamp
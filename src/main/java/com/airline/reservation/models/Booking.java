@@ -7,11 +7,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * Booking Entity representing flight reservations
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = @Index(name = "idx_booking_seat", columnList = "seat_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,15 +24,17 @@ public class Booking extends BaseModel {
     @Column(nullable = false, unique = true)
     private String bookingReference; // e.g., "BK123456"
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "passenger_id", nullable = false)
     private Passenger passenger;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flight_id", nullable = false)
     private Flight flight;
     
-    @OneToOne(fetch = FetchType.EAGER)
+    // Many over time: a seat whose booking was cancelled or expired can be booked again.
+    // Databases created while this was one-to-one keep a unique key on seat_id; BookingSeatKeyMigration drops it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seat_id", nullable = false)
     private Seat seat;
     
@@ -41,6 +45,9 @@ public class Booking extends BaseModel {
     @Column(nullable = false)
     private Double totalPrice;
     
+    /** When a PENDING booking's seat is released unless it was paid for; see {@code SeatHoldService}. */
+    private LocalDateTime holdExpiresAt;
+    
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Payment payment;
     
@@ -49,7 +56,8 @@ public class Booking extends BaseModel {
         CONFIRMED,
         CANCELLED,
         COMPLETED,
-        REFUNDED
+        REFUNDED,
+        EXPIRED
     }
 }
 
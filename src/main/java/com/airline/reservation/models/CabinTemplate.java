@@ -0,0 +1,46 @@
+package com.airline.reservation.models;
+
+/**
+ * Aircraft seat layouts, shared by every flight that uses one. A flight with a template has no seat
+ * rows until a seat is held, booked or blocked; until then the seat exists only in the layout.
+ */
+public enum CabinTemplate {
+    
+    /** Rows of six (A-F): rows 1-2 first class, 3-5 business, 6-10 premium economy, the rest economy. */
+    SIX_ABREAST("ABCDEF") {
+        @Override
+        public Seat.SeatClass seatClass(int row) {
+            if (row <= 2) {
+                return Seat.SeatClass.FIRST_CLASS;
+            }
+            if (row <= 5) {
+                return Seat.SeatClass.BUSINESS;
+            }
+            return row <= 10 ? Seat.SeatClass.PREMIUM_ECONOMY : Seat.SeatClass.ECONOMY;
+        }
+    };
+    
+    private final String letters;
+    
+    CabinTemplate(String letters) {
+        this.letters = letters;
+    }
+    
+    /** Seat letters of every row, window to window. */
+    public String letters() {
+        return letters;
+    }
+    
+    /** Class of the seats in {@code row}, counting from 1. */
+    public abstract Seat.SeatClass seatClass(int row);
+    
+    /** Seat price as a multiple of the flight's base price. */
+    public double fareMultiplier(Seat.SeatClass seatClass) {
+        return switch (seatClass) {
+            case FIRST_CLASS -> 3;
+            case BUSINESS -> 2;
+            case PREMIUM_ECONOMY -> 1.5;
+            case ECONOMY -> 1;
+        };
+    }
+}
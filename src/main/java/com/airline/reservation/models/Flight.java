@@ -32,11 +32,11 @@ public class Flight extends BaseModel {
     @Column(nullable = false)
     private String airlineName;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "departure_airport_id", nullable = false)
     private Airport departureAirport;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "arrival_airport_id", nullable = false)
     private Airport arrivalAirport;
     
@@ -63,6 +63,10 @@ public class Flight extends BaseModel {
     @Column(nullable = false)
     private FlightStatus status;
     
+    /** Seat layout for flights whose seats get rows only once held; {@code null} when every seat has a row. */
+    @Enumerated(EnumType.STRING)
+    private CabinTemplate cabinTemplate;
+    
     @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Seat> seats = new ArrayList<>();
     
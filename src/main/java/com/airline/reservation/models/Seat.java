@@ -39,9 +39,6 @@ public class Seat extends BaseModel {
     @Column(nullable = false)
     private Double price; // Additional price based on seat class
     
-    @OneToOne(mappedBy = "seat", fetch = FetchType.LAZY)
-    private Booking booking;
-    
     public enum SeatClass {
         ECONOMY,
         PREMIUM_ECONOMY,
@@ -1,7 +1,11 @@
 package com.airline.reservation.repositories;
 
+import com.airline.reservation.dtos.AirportResponseDto;
 import com.airline.reservation.models.Airport;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -20,5 +24,19 @@ public interface AirportRepository extends JpaRepository<Airport, Long> {
     List<Airport> findByCountry(String country);
     
     boolean existsByCode(String code);
+    
+    @Query("SELECT new com.airline.reservation.dtos.AirportResponseDto(a.id, a.code, a.name, a.city, a.country) " +
+           "FROM Airport a WHERE a.id > :id ORDER BY a.id")
+    List<AirportResponseDto> findAirportDtosAfter(@Param("id") Long id, Limit limit);
+    
+    /** Flights departing from or arriving at each airport that has any. */
+    @Query("SELECT a.id AS airportId, COUNT(f.id) AS flights FROM Airport a " +
+           "JOIN Flight f ON f.departureAirport = a OR f.arrivalAirport = a GROUP BY a.id")
+    List<AirportTraffic> countFlightsByAirport();
+    
+    interface AirportTraffic {
+        Long getAirportId();
+        
+        Long getFlights();
+    }
 }
-
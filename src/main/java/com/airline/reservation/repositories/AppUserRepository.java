@@ -1,13 +1,24 @@
 package com.airline.reservation.repositories;
 
 import com.airline.reservation.models.AppUser;
+import com.airline.reservation.models.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByEmail(String email);
     boolean existsByEmail(String email);
-}
 
+    @Query("SELECT u.id AS id, u.role AS role, u.enabled AS enabled FROM AppUser u ORDER BY u.id")
+    List<UserAuthority> findAuthorities();
 
+    /** One row of {@link #findAuthorities}. */
+    interface UserAuthority {
+        Long getId();
+        Role getRole();
+        Boolean getEnabled();
+    }
+}
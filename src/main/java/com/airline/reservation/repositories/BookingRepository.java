@@ -1,11 +1,21 @@
 package com.airline.reservation.repositories;
 
+import com.airline.reservation.dtos.BookingResponseDto;
 import com.airline.reservation.models.Booking;
 import com.airline.reservation.models.Flight;
 import com.airline.reservation.models.Passenger;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +25,34 @@ import java.util.Optional;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    /**
+     * Selects {@link BookingResponseDto}s with passenger, flight and seat built from one joined row each,
+     * without loading the entities or their eager associations.
+     */
+    String SELECT_BOOKING_DTO = "SELECT new com.airline.reservation.dtos.BookingResponseDto(b.id, b.bookingReference, " +
+           "new com.airline.reservation.dtos.PassengerResponseDto(p.id, p.firstName, p.lastName, p.email, " +
+           "p.phoneNumber, p.dateOfBirth, p.passportNumber, p.nationality, p.createdAt), " +
+           FlightRepository.NEW_FLIGHT_DTO + ", " +
+           "new com.airline.reservation.dtos.SeatResponseDto(s.id, s.seatNumber, CAST(s.seatClass AS String), " +
+           "CAST(s.status AS String), s.price), " +
+           "CAST(b.status AS String), b.totalPrice, b.createdAt) " +
+           "FROM Booking b JOIN b.passenger p JOIN b.flight f JOIN f.departureAirport d JOIN f.arrivalAirport a " +
+           "JOIN b.seat s ";
+    
+    /**
+     * The booking with everything its response needs: passenger, flight and airports, seat, and the
+     * payment (an inverse one-to-one, which Hibernate would otherwise select separately).
+     */
+    @EntityGraph(attributePaths = {"passenger", "flight.departureAirport", "flight.arrivalAirport", "seat", "payment"})
+    Optional<Booking> findWithDetailsById(Long id);
+    
+    @EntityGraph(attributePaths = {"passenger", "flight.departureAirport", "flight.arrivalAirport", "seat", "payment"})
     Optional<Booking> findByBookingReference(String bookingReference);
     
+    /** The booking and its payment, if any, for taking a payment against it. */
+    @EntityGraph(attributePaths = "payment")
+    Optional<Booking> findWithPaymentById(Long id);
+    
     List<Booking> findByPassenger(Passenger passenger);
     
     List<Booking> findByFlight(Flight flight);
@@ -26,5 +62,68 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByStatus(Booking.BookingStatus status);
     
     boolean existsByBookingReference(String bookingReference);
+    
+    @Query(SELECT_BOOKING_DTO + "WHERE p.id = :passengerId ORDER BY b.id")
+    List<BookingResponseDto> findBookingDtosByPassengerId(@Param("passengerId") Long passengerId);
+    
+    @Query(SELECT_BOOKING_DTO + "WHERE b.id > :id ORDER BY b.id")
+    List<BookingResponseDto> findBookingDtosAfter(@Param("id") Long id, Limit limit);
+    
+    /** Pending bookings and when their holds expire, to rebuild the hold timers after a restart. */
+    @Query("SELECT b.id AS id, b.holdExpiresAt AS holdExpiresAt FROM Booking b " +
+           "WHERE b.status = 'PENDING' AND b.holdExpiresAt IS NOT NULL")
+    List<PendingHold> findPendingHolds();
+    
+    /** Pending bookings whose hold ran out by {@code now}, oldest first, whichever node took the hold. */
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt, b.id")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Limit limit);
+    
+    /** Gives pending bookings made before holds expired (they have no expiry) one ending at {@code expiresAt}. */
+    @Modifying
+    @Query("UPDATE Booking b SET b.holdExpiresAt = :expiresAt WHERE b.status = 'PENDING' AND b.holdExpiresAt IS NULL")
+    int startUntimedHolds(@Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Locks the bookings among {@code ids} whose hold has run out, so a concurrent sweep on another
+     * node waits and then finds them no longer pending.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.flight.id AS flightId, b.seat.id AS seatId FROM Booking b " +
+           "WHERE b.id IN :ids AND b.status = 'PENDING' AND b.holdExpiresAt <= :now")
+    List<ExpiredHold> lockExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    /**
+     * Confirms the booking if it is still pending and its hold has not run out, in one statement, so
+     * a sweep expiring it at the same time cannot be overwritten. Bookings without a hold are never
+     * swept. Returns 0 if the booking was not confirmed.
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED' WHERE b.id = :id AND b.status = 'PENDING' " +
+           "AND (b.holdExpiresAt IS NULL OR b.holdExpiresAt > :now)")
+    int confirmIfHeld(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Cancels the booking if it is still pending or confirmed, in one statement, so a sweep expiring it
+     * or another cancel at the same time cannot be overwritten. Returns 0 if the booking was not cancelled.
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED' WHERE b.id = :id AND b.status IN ('PENDING', 'CONFIRMED')")
+    int cancelIfActive(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'EXPIRED' WHERE b.id IN :ids")
+    int expireAll(@Param("ids") Collection<Long> ids);
+    
+    /** One row of {@link #findPendingHolds}. */
+    interface PendingHold {
+        Long getId();
+        LocalDateTime getHoldExpiresAt();
+    }
+    
+    /** One row of {@link #lockExpiredHolds}. */
+    interface ExpiredHold {
+        Long getId();
+        Long getFlightId();
+        Long getSeatId();
+    }
 }
-
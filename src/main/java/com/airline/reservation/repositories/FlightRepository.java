@@ -1,13 +1,19 @@
 package com.airline.reservation.repositories;
 
+import com.airline.reservation.dtos.FlightResponseDto;
 import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.CabinTemplate;
 import com.airline.reservation.models.Flight;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +23,32 @@ import java.util.Optional;
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
     
+    /**
+     * Builds a {@link FlightResponseDto}, airports included, from the columns of flight {@code f} joined
+     * to its departure airport {@code d} and arrival airport {@code a}. Read queries select it instead
+     * of the entity so nothing is hydrated or tracked by the persistence context.
+     */
+    String NEW_FLIGHT_DTO = "new com.airline.reservation.dtos.FlightResponseDto(f.id, f.flightNumber, f.airlineName, " +
+           "new com.airline.reservation.dtos.AirportResponseDto(d.id, d.code, d.name, d.city, d.country), " +
+           "new com.airline.reservation.dtos.AirportResponseDto(a.id, a.code, a.name, a.city, a.country), " +
+           "f.departureTime, f.arrivalTime, f.totalSeats, f.availableSeats, f.basePrice, CAST(f.status AS String))";
+    
+    String SELECT_FLIGHT_DTO = "SELECT " + NEW_FLIGHT_DTO + " " +
+           "FROM Flight f JOIN f.departureAirport d JOIN f.arrivalAirport a ";
+    
+    /**
+     * The flight with both airports fetched in the same statement, for use cases that map it to a
+     * response or publish it in a {@code FlightChangedEvent}.
+     */
+    @EntityGraph(attributePaths = {"departureAirport", "arrivalAirport"})
+    Optional<Flight> findWithAirportsById(Long id);
+    
+    @EntityGraph(attributePaths = {"departureAirport", "arrivalAirport"})
     Optional<Flight> findByFlightNumber(String flightNumber);
     
+    @EntityGraph(attributePaths = {"departureAirport", "arrivalAirport"})
+    List<Flight> findWithAirportsByIdIn(Collection<Long> ids);
+    
     List<Flight> findByDepartureAirportAndArrivalAirport(Airport departureAirport, Airport arrivalAirport);
     
     List<Flight> findByDepartureAirportAndArrivalAirportAndDepartureTimeBetween(
@@ -39,6 +69,82 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
         @Param("departureDate") LocalDateTime departureDate
     );
     
+    /**
+     * Bookable flights on the route departing in {@code [from, to)}, earliest first.
+     */
+    @Query(SELECT_FLIGHT_DTO + "WHERE d.code = :departureCode AND a.code = :arrivalCode " +
+           "AND f.departureTime >= :from AND f.departureTime < :to " +
+           "AND f.availableSeats > 0 " +
+           "AND f.status = 'SCHEDULED' " +
+           "ORDER BY f.departureTime")
+    List<FlightResponseDto> searchAvailableFlightsBetween(
+        @Param("departureCode") String departureCode,
+        @Param("arrivalCode") String arrivalCode,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
+    /**
+     * Bookable flights on the route departing in {@code [from, to)} whose seats come from a cabin template.
+     */
+    @Query("SELECT f.id AS id, f.departureTime AS departureTime, f.cabinTemplate AS cabinTemplate, " +
+           "f.totalSeats AS totalSeats, f.basePrice AS basePrice FROM Flight f " +
+           "WHERE f.departureAirport.code = :departureCode AND f.arrivalAirport.code = :arrivalCode " +
+           "AND f.departureTime >= :from AND f.departureTime < :to " +
+           "AND f.status = 'SCHEDULED' AND f.cabinTemplate IS NOT NULL")
+    List<TemplateFlight> findTemplateFlightsBetween(
+        @Param("departureCode") String departureCode,
+        @Param("arrivalCode") String arrivalCode,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
+    /** One row of {@link #findTemplateFlightsBetween}. */
+    interface TemplateFlight {
+        Long getId();
+        LocalDateTime getDepartureTime();
+        CabinTemplate getCabinTemplate();
+        Integer getTotalSeats();
+        Double getBasePrice();
+    }
+    
+    @EntityGraph(attributePaths = {"departureAirport", "arrivalAirport"})
     List<Flight> findByStatus(Flight.FlightStatus status);
+    
+    /**
+     * Takes one seat off the flight's availability in a single statement.
+     * @return 1 when a seat was taken, 0 when the flight is full or not open for booking
+     */
+    @Modifying
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats - 1 " +
+           "WHERE f.id = :id AND f.availableSeats > 0 AND f.status = 'SCHEDULED'")
+    int decrementAvailableSeats(@Param("id") Long id);
+    
+    /**
+     * Takes {@code count} seats off the flight's availability, or none at all.
+     * @return 1 when the seats were taken, 0 when fewer remain or the flight is not open for booking
+     */
+    @Modifying
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats - :count " +
+           "WHERE f.id = :id AND f.availableSeats >= :count AND f.status = 'SCHEDULED'")
+    int decrementAvailableSeatsBy(@Param("id") Long id, @Param("count") int count);
+    
+    @Modifying
+    @Query("UPDATE Flight f SET f.availableSeats = f.availableSeats + 1 " +
+           "WHERE f.id = :id AND f.availableSeats < f.totalSeats")
+    int incrementAvailableSeats(@Param("id") Long id);
+    
+    /** Returns {@code count} seats to the flight's availability, never beyond its total. */
+    @Modifying
+    @Query("UPDATE Flight f SET f.availableSeats = LEAST(f.availableSeats + :count, f.totalSeats) WHERE f.id = :id")
+    int incrementAvailableSeatsBy(@Param("id") Long id, @Param("count") int count);
+    
+    /**
+     * The flights among {@code ids} that are still bookable, in no particular order.
+     */
+    @Query(SELECT_FLIGHT_DTO + "WHERE f.id IN :ids AND f.availableSeats > 0 AND f.status = 'SCHEDULED'")
+    List<FlightResponseDto> findAvailableFlightsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(SELECT_FLIGHT_DTO + "WHERE f.id > :id ORDER BY f.id")
+    List<FlightResponseDto> findFlightDtosAfter(@Param("id") Long id, Limit limit);
 }
-
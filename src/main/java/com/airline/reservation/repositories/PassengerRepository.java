@@ -1,9 +1,14 @@
 package com.airline.reservation.repositories;
 
+import com.airline.reservation.dtos.PassengerResponseDto;
 import com.airline.reservation.models.Passenger;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,5 +24,9 @@ public interface PassengerRepository extends JpaRepository<Passenger, Long> {
     boolean existsByEmail(String email);
     
     boolean existsByPassportNumber(String passportNumber);
+    
+    @Query("SELECT new com.airline.reservation.dtos.PassengerResponseDto(p.id, p.firstName, p.lastName, p.email, " +
+           "p.phoneNumber, p.dateOfBirth, p.passportNumber, p.nationality, p.createdAt) " +
+           "FROM Passenger p WHERE p.id > :id ORDER BY p.id")
+    List<PassengerResponseDto> findPassengerDtosAfter(@Param("id") Long id, Limit limit);
 }
-
@@ -1,8 +1,13 @@
 package com.airline.reservation.repositories;
 
+import com.airline.reservation.dtos.PaymentResponseDto;
 import com.airline.reservation.models.Booking;
 import com.airline.reservation.models.Payment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,12 +19,23 @@ import java.util.List;
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
+    @EntityGraph(attributePaths = "booking")
+    Optional<Payment> findWithBookingById(Long id);
+    
+    @EntityGraph(attributePaths = "booking")
     Optional<Payment> findByTransactionId(String transactionId);
     
+    @EntityGraph(attributePaths = "booking")
+    Optional<Payment> findByBookingId(Long bookingId);
+    
     Optional<Payment> findByBooking(Booking booking);
     
     List<Payment> findByStatus(Payment.PaymentStatus status);
     
     boolean existsByTransactionId(String transactionId);
+    
+    @Query("SELECT new com.airline.reservation.dtos.PaymentResponseDto(p.id, p.transactionId, p.amount, " +
+           "CAST(p.paymentMethod AS String), CAST(p.status AS String), p.paymentDate, b.bookingReference) " +
+           "FROM Payment p JOIN p.booking b WHERE p.id > :id ORDER BY p.id")
+    List<PaymentResponseDto> findPaymentDtosAfter(@Param("id") Long id, Limit limit);
 }
-
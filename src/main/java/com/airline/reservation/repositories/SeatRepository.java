@@ -3,8 +3,13 @@ package com.airline.reservation.repositories;
 import com.airline.reservation.models.Flight;
 import com.airline.reservation.models.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +21,56 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     
     List<Seat> findByFlight(Flight flight);
     
+    /**
+     * The flight's seat layout and status in id order, read as plain rows for the in-memory seat map.
+     */
+    @Query("SELECT s.id AS id, s.seatNumber AS seatNumber, s.seatClass AS seatClass, s.status AS status, " +
+           "s.price AS price FROM Seat s WHERE s.flight.id = :flightId ORDER BY s.id")
+    List<SeatMapRow> findSeatMapByFlightId(@Param("flightId") Long flightId);
+    
+    /** One row of {@link #findSeatMapByFlightId}. */
+    interface SeatMapRow {
+        Long getId();
+        String getSeatNumber();
+        Seat.SeatClass getSeatClass();
+        Seat.SeatStatus getStatus();
+        Double getPrice();
+    }
+    
+    /** The seat's current status, read without locking the row. */
+    @Query("SELECT s.status FROM Seat s WHERE s.id = :seatId")
+    Optional<Seat.SeatStatus> findStatusById(@Param("seatId") Long seatId);
+    
+    /** The flight's seats that are reserved, occupied or blocked. */
+    @Query("SELECT s.id AS id, s.seatNumber AS seatNumber, s.seatClass AS seatClass, s.status AS status, " +
+           "s.price AS price FROM Seat s WHERE s.flight.id = :flightId AND s.status <> 'AVAILABLE'")
+    List<SeatMapRow> findHeldSeatsByFlightId(@Param("flightId") Long flightId);
+    
+    /**
+     * Gives a template seat its row, under the seat's own id, unless it already has one.
+     * @return 1 when the row was inserted, 0 when it existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seats (id, flight_id, seat_number, seat_class, status, price, created_at, updated_at) " +
+                   "SELECT :seatId, f.id, :seatNumber, :seatClass, 'AVAILABLE', :price, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                   "FROM flights f WHERE f.id = :flightId AND NOT EXISTS (SELECT 1 FROM seats s WHERE s.id = :seatId)",
+           nativeQuery = true)
+    int insertAvailableIfAbsent(@Param("seatId") Long seatId, @Param("flightId") Long flightId,
+                                @Param("seatNumber") String seatNumber, @Param("seatClass") String seatClass,
+                                @Param("price") Double price);
+    
+    /** Reserved, occupied and blocked seats per flight and seat class. */
+    @Query("SELECT s.flight.id AS flightId, s.seatClass AS seatClass, COUNT(s) AS seats FROM Seat s " +
+           "WHERE s.flight.id IN :flightIds AND s.status <> 'AVAILABLE' GROUP BY s.flight.id, s.seatClass")
+    List<HeldSeatCount> countHeldSeats(@Param("flightIds") Collection<Long> flightIds);
+    
+    /** One row of {@link #countHeldSeats}. */
+    interface HeldSeatCount {
+        Long getFlightId();
+        Seat.SeatClass getSeatClass();
+        Long getSeats();
+    }
+    
     List<Seat> findByFlightAndStatus(Flight flight, Seat.SeatStatus status);
     
     Optional<Seat> findByFlightAndSeatNumber(Flight flight, String seatNumber);
@@ -23,5 +78,71 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByFlightAndSeatClass(Flight flight, Seat.SeatClass seatClass);
     
     long countByFlightAndStatus(Flight flight, Seat.SeatStatus status);
+    
+    /**
+     * Available seats and their cheapest price per flight and seat class, for the scheduled flights on
+     * the route departing in {@code [from, to)} that have a row per seat (no cabin template).
+     */
+    @Query("SELECT f.id AS flightId, f.departureTime AS departureTime, s.seatClass AS seatClass, " +
+           "COUNT(s) AS availableSeats, MIN(s.price) AS lowestFare " +
+           "FROM Seat s JOIN s.flight f " +
+           "WHERE f.departureAirport.code = :departureCode AND f.arrivalAirport.code = :arrivalCode " +
+           "AND f.departureTime >= :from AND f.departureTime < :to " +
+           "AND f.status = 'SCHEDULED' AND f.cabinTemplate IS NULL AND s.status = 'AVAILABLE' " +
+           "GROUP BY f.id, f.departureTime, s.seatClass")
+    List<FareSummary> summarizeAvailableFares(@Param("departureCode") String departureCode,
+                                              @Param("arrivalCode") String arrivalCode,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+    
+    /** One row of {@link #summarizeAvailableFares}. */
+    interface FareSummary {
+        Long getFlightId();
+        LocalDateTime getDepartureTime();
+        Seat.SeatClass getSeatClass();
+        Long getAvailableSeats();
+        Double getLowestFare();
+    }
+    
+    /**
+     * Reserves the seat only if it belongs to the flight and is still available.
+     * @return 1 when the seat was reserved, 0 when it was taken (or is not on the flight)
+     */
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'RESERVED' " +
+           "WHERE s.id = :seatId AND s.flight.id = :flightId AND s.status = 'AVAILABLE'")
+    int reserveIfAvailable(@Param("seatId") Long seatId, @Param("flightId") Long flightId);
+    
+    /**
+     * Reserves every seat in one statement; seats that are taken or not on the flight are skipped.
+     * @return the number of seats reserved, equal to the number of ids only if all of them were free
+     */
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'RESERVED' " +
+           "WHERE s.id IN :seatIds AND s.flight.id = :flightId AND s.status = 'AVAILABLE'")
+    int reserveAllIfAvailable(@Param("seatIds") Collection<Long> seatIds, @Param("flightId") Long flightId);
+    
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'OCCUPIED' WHERE s.id = :seatId AND s.status = 'RESERVED'")
+    int occupyIfReserved(@Param("seatId") Long seatId);
+    
+    /**
+     * Releases the seat of a booking that was just cancelled, unless another pending or confirmed
+     * booking holds it by now, so a seat that went back on sale and was booked again is left alone.
+     * @return 1 when the seat was released, 0 when it was free already or belongs to another booking
+     */
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE' " +
+           "WHERE s.id = :seatId AND s.status IN ('RESERVED', 'OCCUPIED') " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.seat.id = s.id AND b.id <> :bookingId " +
+           "AND b.status IN ('PENDING', 'CONFIRMED'))")
+    int releaseIfHeldBy(@Param("seatId") Long seatId, @Param("bookingId") Long bookingId);
+    
+    /**
+     * Releases the seats that are still reserved, in one statement.
+     * @return the number of seats released
+     */
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE' WHERE s.id IN :seatIds AND s.status = 'RESERVED'")
+    int releaseAllIfReserved(@Param("seatIds") Collection<Long> seatIds);
 }
-
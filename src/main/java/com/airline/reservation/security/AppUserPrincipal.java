@@ -1,6 +1,7 @@
 package com.airline.reservation.security;
 
 import com.airline.reservation.models.AppUser;
+import com.airline.reservation.models.Role;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +17,19 @@ public class AppUserPrincipal implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * A principal rebuilt from verified token claims rather than the users table. It has no password
+     * and is enabled; revocation is checked separately.
+     */
+    public static AppUserPrincipal fromClaims(Long userId, String email, Role role) {
+        AppUser user = new AppUser();
+        user.setId(userId);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setEnabled(true);
+        return new AppUserPrincipal(user);
+    }
+
     public AppUser getUser() {
         return user;
     }
@@ -1,10 +1,13 @@
 package com.airline.reservation.security;
 
+import com.airline.reservation.models.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,6 +24,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    /** Build the principal from token claims instead of loading the user on every request. */
+    @Value("${app.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal = true;
 
     @Override
     protected void doFilterInternal(
@@ -35,17 +43,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String userEmail;
+        final Claims claims;
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Verified once here; the validity check below reuses the claims
+            claims = jwtService.parseToken(jwt);
         } catch (Exception ex) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        final String userEmail = claims.getSubject();
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            AppUserPrincipal principal = statelessPrincipal ? principalFromClaims(claims) : null;
+            if (principal != null && revocationList.isRevoked(
+                    principal.getUser().getId(), principal.getUser().getRole(), claims.getIssuedAt())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            // Tokens issued without the uid/role claims fall back to the users table
+            UserDetails userDetails = principal != null ? principal : userDetailsService.loadUserByUsername(userEmail);
+            if (jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -55,6 +72,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
-
 
+    private static AppUserPrincipal principalFromClaims(Claims claims) {
+        Number userId = claims.get(JwtService.USER_ID_CLAIM, Number.class);
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        try {
+            return AppUserPrincipal.fromClaims(userId.longValue(), claims.getSubject(), Role.valueOf(role));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
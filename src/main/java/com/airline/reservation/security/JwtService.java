@@ -1,6 +1,10 @@
 package com.airline.reservation.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,21 +13,40 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once; verified tokens are cached
+ * by SHA-256 digest until they expire, so a token presented again skips the HMAC check and JSON parsing.
+ */
 @Service
 public class JwtService {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${app.jwt.secret}")
     private String jwtSecretBase64;
 
     @Value("${app.jwt.expiration-ms:86400000}")
     private long jwtExpirationMs;
 
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize = 10000;
+
+    private volatile Key signInKey;
+    private volatile JwtParser parser;
+    private volatile Cache<String, Claims> verifiedTokens;
+
     public long getJwtExpirationMs() {
         return jwtExpirationMs;
     }
@@ -33,21 +56,42 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verifies the token's signature and expiry and returns its claims. Throws a
+     * {@link io.jsonwebtoken.JwtException} (or {@link IllegalArgumentException}) for invalid tokens.
+     */
+    public Claims parseToken(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens().getIfPresent(digest);
+        if (claims == null || isExpired(claims)) {
+            claims = getParser().parseClaimsJws(token).getBody();
+            verifiedTokens().put(digest, claims);
+        }
+        return claims;
+    }
+
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
         if (userDetails instanceof AppUserPrincipal principal) {
-            extraClaims.put("role", principal.getUser().getRole().name());
+            extraClaims.put(ROLE_CLAIM, principal.getUser().getRole().name());
+            if (principal.getUser().getId() != null) {
+                extraClaims.put(USER_ID_CLAIM, principal.getUser().getId());
+            }
         }
         return buildToken(extraClaims, userDetails);
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    /** Checks already-parsed claims against the user, so callers holding the claims need not re-parse. */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isExpired(claims);
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -63,26 +107,76 @@ public class JwtService {
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private Key getSignInKey() {
+        Key key = signInKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtSecretBase64);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = key;
+        }
+        return key;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder().setSigningKey(getSignInKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecretBase64);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Cache<String, Claims> verifiedTokens() {
+        Cache<String, Claims> cache = verifiedTokens;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedTokens;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumSize(verifiedCacheSize)
+                            .expireAfter(new UntilTokenExpiry())
+                            .build();
+                    verifiedTokens = cache;
+                }
+            }
+        }
+        return cache;
     }
-}
 
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Keeps each verified token only until its own {@code exp}. */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return TimeUnit.MINUTES.toNanos(5);
+            }
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
 
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
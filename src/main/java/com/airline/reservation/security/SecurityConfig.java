@@ -41,10 +41,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/health", "/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Public read-only endpoints
                         .requestMatchers(HttpMethod.GET, "/api/flights/**", "/api/airports/**", "/api/seats/**").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/flights/search", "/api/flights/search-unified").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/flights/search", "/api/flights/search-unified",
+                                "/api/flights/search-unified/stream", "/api/flights/search-connections").permitAll()
 
                         // Admin-only mutations for flights/airports
                         .requestMatchers(HttpMethod.POST, "/api/flights/**", "/api/airports/**").hasRole("ADMIN")
@@ -0,0 +1,88 @@
+package com.airline.reservation.security;
+
+import com.airline.reservation.models.Role;
+import com.airline.reservation.repositories.AppUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Decides whether a token's uid/role claims can still be trusted, so {@link JwtAuthenticationFilter}
+ * need not read the user per request.
+ * <p>
+ * Every {@code app.jwt.revocation-refresh-ms} the id, role and enabled flag of every user are reloaded
+ * into sorted arrays. A token issued before that snapshot was read is revoked unless its user is still
+ * there, enabled and in the role the token claims, so deleting, disabling or demoting a user takes effect
+ * within one refresh. Tokens issued since are trusted until the next refresh: their users may be too new
+ * for the snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    /** {@code iat} is in whole seconds, so a token issued in the second the snapshot was read counts as newer. */
+    private static final long ISSUED_AT_PRECISION_MS = 1000;
+
+    private final AppUserRepository userRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * @param issuedAt the token's {@code iat}; a token without one is checked like an old token
+     */
+    public boolean isRevoked(long userId, Role role, Date issuedAt) {
+        Snapshot current = snapshot;
+        if (issuedAt != null && issuedAt.getTime() + ISSUED_AT_PRECISION_MS > current.readAtMs) {
+            return false;
+        }
+        int i = Arrays.binarySearch(current.userIds, userId);
+        return i < 0 || current.roles[i] != role.ordinal();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            long readAtMs = System.currentTimeMillis();
+            snapshot = Snapshot.of(userRepository.findAuthorities(), readAtMs);
+        } catch (RuntimeException ex) {
+            // Keep the last snapshot; changes since then wait for the next refresh
+            log.warn("Could not refresh user roles: {}", ex.getMessage());
+        }
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new byte[0], Long.MIN_VALUE);
+
+        private static final byte DISABLED = -1;
+
+        private final long[] userIds;
+        /** Role ordinal of each user, or {@link #DISABLED}. */
+        private final byte[] roles;
+        private final long readAtMs;
+
+        private Snapshot(long[] userIds, byte[] roles, long readAtMs) {
+            this.userIds = userIds;
+            this.roles = roles;
+            this.readAtMs = readAtMs;
+        }
+
+        /** @param users ordered by id */
+        static Snapshot of(List<AppUserRepository.UserAuthority> users, long readAtMs) {
+            long[] userIds = new long[users.size()];
+            byte[] roles = new byte[users.size()];
+            for (int i = 0; i < userIds.length; i++) {
+                AppUserRepository.UserAuthority user = users.get(i);
+                userIds[i] = user.getId();
+                roles[i] = Boolean.TRUE.equals(user.getEnabled()) ? (byte) user.getRole().ordinal() : DISABLED;
+            }
+            return new Snapshot(userIds, roles, readAtMs);
+        }
+    }
+}
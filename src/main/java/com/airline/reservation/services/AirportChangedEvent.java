@@ -0,0 +1,22 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+
+/**
+ * Published when an airport is created, updated or deleted, so the {@link AirportRegistry} can swap in
+ * a new snapshot once the change commits. {@code airport} is {@code null} for deletions.
+ */
+public record AirportChangedEvent(Long airportId, AirportResponseDto airport) {
+
+    public static AirportChangedEvent saved(AirportResponseDto airport) {
+        return new AirportChangedEvent(airport.getId(), airport);
+    }
+
+    public static AirportChangedEvent deleted(Long airportId) {
+        return new AirportChangedEvent(airportId, null);
+    }
+
+    public boolean isDeleted() {
+        return airport == null;
+    }
+}
@@ -0,0 +1,180 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.repositories.AirportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * All airports in memory, looked up by id or by IATA code without touching the database or cache.
+ * <p>
+ * Readers see an immutable snapshot through one volatile read: codes packed into an {@code int}
+ * (7 bits per character, see {@link #key}) in a sorted array searched by bisection, and a map by id.
+ * Each airport has a single shared {@link AirportResponseDto}, which callers must treat as read-only,
+ * and airports in the same city or country share those strings. Loaded at startup; every committed
+ * {@link AirportChangedEvent} copies the snapshot with the change applied and swaps it in.
+ * <p>
+ * Those events only reach the node that made the change, so the snapshot is also reloaded every
+ * {@code app.airports.reload-ms} to pick up airports added, changed or deleted on other nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AirportRegistry {
+
+    private final AirportRepository airportRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<AirportResponseDto> airports = airportRepository.findAirportDtosAfter(0L, Limit.unlimited());
+        synchronized (this) {
+            snapshot = Snapshot.of(airports);
+        }
+        log.info("Airport registry loaded with {} airports", airports.size());
+    }
+
+    @Scheduled(initialDelayString = "${app.airports.reload-ms:60000}",
+            fixedDelayString = "${app.airports.reload-ms:60000}")
+    public void reload() {
+        try {
+            List<AirportResponseDto> airports = airportRepository.findAirportDtosAfter(0L, Limit.unlimited());
+            synchronized (this) {
+                snapshot = Snapshot.of(airports);
+            }
+        } catch (RuntimeException ex) {
+            // Keep the last snapshot
+            log.warn("Could not reload the airport registry: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAirportChanged(AirportChangedEvent event) {
+        snapshot = snapshot.with(event.airportId(), event.airport());
+    }
+
+    public Optional<AirportResponseDto> byCode(String code) {
+        int key = key(code);
+        if (key < 0) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        int i = Arrays.binarySearch(current.codes, key);
+        return i >= 0 ? Optional.of(current.airportsByCode[i]) : Optional.empty();
+    }
+
+    public Optional<AirportResponseDto> byId(Long id) {
+        return Optional.ofNullable(id != null ? snapshot.airportsById.get(id) : null);
+    }
+
+    /**
+     * The shared DTO for the airport, or a fresh copy if it is not registered. Only the id is read from
+     * a registered airport, so an uninitialized lazy reference is not loaded.
+     */
+    public AirportResponseDto dto(Airport airport) {
+        if (airport == null) {
+            return null;
+        }
+        AirportResponseDto shared = airport.getId() != null ? snapshot.airportsById.get(airport.getId()) : null;
+        return shared != null ? shared : ResponseDtoMapper.toAirportDto(airport);
+    }
+
+    int size() {
+        return snapshot.airportsById.size();
+    }
+
+    /**
+     * The code's three characters, upper-cased, 7 bits each; {@code -1} unless it is three 7-bit ASCII
+     * characters.
+     */
+    static int key(String code) {
+        if (code == null || code.length() != 3) {
+            return -1;
+        }
+        int packed = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = Character.toUpperCase(code.charAt(i));
+            if (c == 0 || c > 0x7F) {
+                return -1;
+            }
+            packed = (packed << 7) | c;
+        }
+        return packed;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of());
+
+        private final Map<Long, AirportResponseDto> airportsById;
+        private final int[] codes;
+        private final AirportResponseDto[] airportsByCode;
+
+        private Snapshot(Map<Long, AirportResponseDto> airportsById) {
+            this.airportsById = airportsById;
+            List<AirportResponseDto> coded = new ArrayList<>(airportsById.size());
+            for (AirportResponseDto airport : airportsById.values()) {
+                if (key(airport.getCode()) >= 0) {
+                    coded.add(airport);
+                }
+            }
+            coded.sort((a, b) -> Integer.compare(key(a.getCode()), key(b.getCode())));
+            this.codes = new int[coded.size()];
+            this.airportsByCode = coded.toArray(new AirportResponseDto[0]);
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = key(airportsByCode[i].getCode());
+            }
+        }
+
+        static Snapshot of(Collection<AirportResponseDto> airports) {
+            Map<String, String> strings = new HashMap<>();
+            Map<Long, AirportResponseDto> byId = new HashMap<>();
+            for (AirportResponseDto airport : airports) {
+                byId.put(airport.getId(), shared(airport, strings));
+            }
+            return new Snapshot(Map.copyOf(byId));
+        }
+
+        /** A copy with the airport replaced, added or, when {@code airport} is {@code null}, removed. */
+        Snapshot with(Long id, AirportResponseDto airport) {
+            Map<Long, AirportResponseDto> byId = new HashMap<>(airportsById);
+            if (airport == null) {
+                byId.remove(id);
+            } else {
+                Map<String, String> strings = new HashMap<>();
+                for (AirportResponseDto existing : airportsById.values()) {
+                    intern(existing.getCity(), strings);
+                    intern(existing.getCountry(), strings);
+                }
+                byId.put(id, shared(airport, strings));
+            }
+            return new Snapshot(Map.copyOf(byId));
+        }
+
+        private static AirportResponseDto shared(AirportResponseDto airport, Map<String, String> strings) {
+            return new AirportResponseDto(airport.getId(), airport.getCode() != null ? airport.getCode().toUpperCase() : null,
+                    airport.getName(), intern(airport.getCity(), strings), intern(airport.getCountry(), strings));
+        }
+
+        private static String intern(String value, Map<String, String> strings) {
+            return value == null ? null : strings.computeIfAbsent(value, v -> v);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.airline.reservation.services;
 
 import com.airline.reservation.dtos.AirportRequestDto;
 import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.CursorPageDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
 import com.airline.reservation.exceptions.ResourceAlreadyExistsException;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Airport;
@@ -11,6 +13,8 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,12 +30,16 @@ public class AirportService {
     
     private final AirportRepository airportRepository;
     private final ModelMapper modelMapper;
+    private final AirportRegistry airportRegistry;
+    private final AirportSuggestIndex suggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     @CacheEvict(cacheNames = CacheConfig.CACHE_AIRPORTS, allEntries = true)
     public AirportResponseDto createAirport(AirportRequestDto requestDto) {
         // Check if airport code already exists
-        if (airportRepository.existsByCode(requestDto.getCode().toUpperCase())) {
+        if (airportRegistry.byCode(requestDto.getCode()).isPresent()
+                || airportRepository.existsByCode(requestDto.getCode().toUpperCase())) {
             throw new ResourceAlreadyExistsException("Airport", "code", requestDto.getCode());
         }
         
@@ -39,43 +47,47 @@ public class AirportService {
         airport.setCode(airport.getCode().toUpperCase()); // Ensure code is uppercase
         Airport savedAirport = airportRepository.save(airport);
         
-        return modelMapper.map(savedAirport, AirportResponseDto.class);
+        AirportResponseDto responseDto = ResponseDtoMapper.toAirportDto(savedAirport);
+        eventPublisher.publishEvent(AirportChangedEvent.saved(responseDto));
+        return responseDto;
     }
     
+    /** Served from the {@link AirportRegistry}; the database is only asked about airports it does not hold. */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_AIRPORTS, key = "#id")
     public AirportResponseDto getAirportById(Long id) {
-        Airport airport = airportRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Airport", id));
-        
-        return modelMapper.map(airport, AirportResponseDto.class);
+        return airportRegistry.byId(id).orElseGet(() -> airportRepository.findById(id)
+                .map(ResponseDtoMapper::toAirportDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Airport", id)));
     }
     
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_AIRPORTS, key = "'code:' + #code.toUpperCase()")
     public AirportResponseDto getAirportByCode(String code) {
-        Airport airport = airportRepository.findByCode(code.toUpperCase())
-                .orElseThrow(() -> new ResourceNotFoundException("Airport", "code", code));
-        
-        return modelMapper.map(airport, AirportResponseDto.class);
+        return airportRegistry.byCode(code).orElseGet(() -> airportRepository.findByCode(code.toUpperCase())
+                .map(ResponseDtoMapper::toAirportDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Airport", "code", code)));
     }
     
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_AIRPORTS, key = "'all'")
-    public List<AirportResponseDto> getAllAirports() {
-        return airportRepository.findAll().stream()
-                .map(airport -> modelMapper.map(airport, AirportResponseDto.class))
-                .collect(Collectors.toList());
+    @Cacheable(cacheNames = CacheConfig.CACHE_AIRPORTS, key = "'page:' + #cursor + ':' + #size")
+    public CursorPageDto<AirportResponseDto> getAirports(String cursor, Integer size) {
+        int limit = PageCursor.size(size);
+        return PageCursor.page(airportRepository.findAirportDtosAfter(PageCursor.afterId(cursor), Limit.of(limit + 1)),
+                limit, AirportResponseDto::getId);
     }
     
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = CacheConfig.CACHE_AIRPORTS, key = "'city:' + #city")
     public List<AirportResponseDto> getAirportsByCity(String city) {
         return airportRepository.findByCity(city).stream()
-                .map(airport -> modelMapper.map(airport, AirportResponseDto.class))
+                .map(airport -> ResponseDtoMapper.toAirportDto(airport))
                 .collect(Collectors.toList());
     }
     
+    /** Autocomplete by code, city or name prefix, answered by the {@link AirportSuggestIndex}. */
+    public List<AirportResponseDto> suggestAirports(String query, Integer limit) {
+        return suggestIndex.suggest(query, limit != null ? limit : AirportSuggestIndex.DEFAULT_LIMIT);
+    }
+    
     @Transactional
     @CacheEvict(cacheNames = CacheConfig.CACHE_AIRPORTS, allEntries = true)
     public AirportResponseDto updateAirport(Long id, AirportRequestDto requestDto) {
@@ -86,7 +98,9 @@ public class AirportService {
         airport.setCode(airport.getCode().toUpperCase());
         Airport updatedAirport = airportRepository.save(airport);
         
-        return modelMapper.map(updatedAirport, AirportResponseDto.class);
+        AirportResponseDto responseDto = ResponseDtoMapper.toAirportDto(updatedAirport);
+        eventPublisher.publishEvent(AirportChangedEvent.saved(responseDto));
+        return responseDto;
     }
     
     @Transactional
@@ -96,6 +110,7 @@ public class AirportService {
             throw new ResourceNotFoundException("Airport", id);
         }
         airportRepository.deleteById(id);
+        eventPublisher.publishEvent(AirportChangedEvent.deleted(id));
     }
 }
 
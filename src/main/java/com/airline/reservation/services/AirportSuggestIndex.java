@@ -0,0 +1,344 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.repositories.AirportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Airport autocomplete over code, city and name, answered from memory.
+ * <p>
+ * Each airport contributes its code, its folded city and name, and every word suffix of those
+ * ("kennedy international airport") as terms in one sorted array, so a prefix query is a bisection
+ * plus a scan of the matching run. Folding drops case, diacritics and punctuation (see {@link #fold}).
+ * An exact code match ranks first, then airports with more flights, recounted every
+ * {@code app.airports.popularity-refresh-ms}. Loaded at startup; each committed
+ * {@link AirportChangedEvent} merges that airport's terms into a copy of the arrays. Those events only
+ * reach the node that made the change, so the airports are also reloaded every
+ * {@code app.airports.reload-ms}, keeping the last flight counts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AirportSuggestIndex {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final AirportRepository airportRepository;
+
+    private volatile Index index = Index.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<AirportResponseDto> airports = airportRepository.findAirportDtosAfter(0L, Limit.unlimited());
+        Map<Long, Long> flights = countFlights();
+        synchronized (this) {
+            index = Index.of(airports, flights);
+        }
+        log.info("Airport suggest index loaded with {} airports and {} terms", airports.size(), index.terms.length);
+    }
+
+    @Scheduled(initialDelayString = "${app.airports.reload-ms:60000}",
+            fixedDelayString = "${app.airports.reload-ms:60000}")
+    public void reload() {
+        try {
+            List<AirportResponseDto> airports = airportRepository.findAirportDtosAfter(0L, Limit.unlimited());
+            synchronized (this) {
+                index = Index.of(airports, index.flights());
+            }
+        } catch (RuntimeException ex) {
+            // Keep the last airports
+            log.warn("Could not reload the airport suggest index: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.airports.popularity-refresh-ms:3600000}",
+            fixedDelayString = "${app.airports.popularity-refresh-ms:3600000}")
+    public void refreshPopularity() {
+        try {
+            Map<Long, Long> flights = countFlights();
+            synchronized (this) {
+                index = index.withFlights(flights);
+            }
+        } catch (RuntimeException ex) {
+            // Keep ranking by the last counts
+            log.warn("Could not refresh airport popularity: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAirportChanged(AirportChangedEvent event) {
+        index = index.with(event.airportId(), event.airport());
+    }
+
+    /** Up to {@code limit} (capped at {@link #MAX_LIMIT}) airports with a term starting with the folded query. */
+    public List<AirportResponseDto> suggest(String query, int limit) {
+        String prefix = fold(query);
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        return index.suggest(prefix, Math.min(limit, MAX_LIMIT));
+    }
+
+    int size() {
+        return index.entriesById.size();
+    }
+
+    private Map<Long, Long> countFlights() {
+        Map<Long, Long> flights = new HashMap<>();
+        for (AirportRepository.AirportTraffic traffic : airportRepository.countFlightsByAirport()) {
+            flights.put(traffic.getAirportId(), traffic.getFlights());
+        }
+        return flights;
+    }
+
+    /**
+     * Lower-case letters and digits with diacritics removed and every run of anything else collapsed to
+     * one space: "Zürich-Flughafen" and "zurich  flughafen" both fold to "zurich flughafen".
+     */
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean separator = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (!Character.isLetterOrDigit(c)) {
+                separator = true;
+                continue;
+            }
+            if (separator && !folded.isEmpty()) {
+                folded.append(' ');
+            }
+            separator = false;
+            // Letters with no decomposition into base letter plus mark
+            switch (Character.toLowerCase(c)) {
+                case 'ß' -> folded.append("ss");
+                case 'æ' -> folded.append("ae");
+                case 'œ' -> folded.append("oe");
+                case 'ø' -> folded.append('o');
+                case 'ł' -> folded.append('l');
+                case 'đ' -> folded.append('d');
+                case 'ı' -> folded.append('i');
+                default -> folded.append(Character.toLowerCase(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    private record Entry(AirportResponseDto airport, String code, long flights) {
+    }
+
+    private static final class Index {
+
+        static final Index EMPTY = new Index(Map.of(), new Entry[0], new String[0], new int[0]);
+
+        /** Best first: most flights, then code. */
+        private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::flights).reversed()
+                .thenComparing(Entry::code)
+                .thenComparing(entry -> entry.airport().getId());
+
+        private final Map<Long, Entry> entriesById;
+        private final Entry[] byRank;
+        private final String[] terms;
+        /** Rank of each term's airport, i.e. its index in {@link #byRank}. */
+        private final int[] ranks;
+
+        private Index(Map<Long, Entry> entriesById, Entry[] byRank, String[] terms, int[] ranks) {
+            this.entriesById = entriesById;
+            this.byRank = byRank;
+            this.terms = terms;
+            this.ranks = ranks;
+        }
+
+        static Index of(Collection<AirportResponseDto> airports, Map<Long, Long> flights) {
+            Map<Long, Entry> byId = new HashMap<>();
+            for (AirportResponseDto airport : airports) {
+                byId.put(airport.getId(), entry(airport, flights.getOrDefault(airport.getId(), 0L)));
+            }
+            return build(byId);
+        }
+
+        /** The flight count of each airport, as last counted. */
+        Map<Long, Long> flights() {
+            Map<Long, Long> flights = new HashMap<>();
+            entriesById.forEach((id, entry) -> flights.put(id, entry.flights()));
+            return flights;
+        }
+
+        /** Same airports and terms, ranked by new flight counts. */
+        Index withFlights(Map<Long, Long> flights) {
+            Map<Long, Entry> byId = new HashMap<>();
+            for (Entry entry : entriesById.values()) {
+                byId.put(entry.airport().getId(),
+                        new Entry(entry.airport(), entry.code(), flights.getOrDefault(entry.airport().getId(), 0L)));
+            }
+            return build(byId);
+        }
+
+        /**
+         * A copy with the airport replaced, added or, when {@code airport} is {@code null}, removed. Its
+         * terms are merged into the sorted arrays rather than resorting them.
+         */
+        Index with(Long id, AirportResponseDto airport) {
+            Entry previous = entriesById.get(id);
+            Entry added = airport == null ? null : entry(airport, previous != null ? previous.flights() : 0L);
+            Map<Long, Entry> byId = new HashMap<>(entriesById);
+            if (added == null) {
+                byId.remove(id);
+            } else {
+                byId.put(id, added);
+            }
+            Entry[] newByRank = rank(byId.values());
+            Map<Entry, Integer> newRanks = new IdentityHashMap<>(newByRank.length);
+            for (int r = 0; r < newByRank.length; r++) {
+                newRanks.put(newByRank[r], r);
+            }
+            List<String> addedTerms = added == null ? List.of() : new ArrayList<>(terms(airport));
+            int addedRank = added == null ? -1 : newRanks.get(added);
+
+            int size = terms.length + addedTerms.size();
+            String[] mergedTerms = new String[size];
+            int[] mergedRanks = new int[size];
+            int n = 0;
+            int a = 0;
+            for (int i = 0; i < terms.length; i++) {
+                Entry owner = byRank[ranks[i]];
+                if (owner == previous) {
+                    continue;
+                }
+                while (a < addedTerms.size() && addedTerms.get(a).compareTo(terms[i]) <= 0) {
+                    mergedTerms[n] = addedTerms.get(a++);
+                    mergedRanks[n++] = addedRank;
+                }
+                mergedTerms[n] = terms[i];
+                mergedRanks[n++] = newRanks.get(owner);
+            }
+            while (a < addedTerms.size()) {
+                mergedTerms[n] = addedTerms.get(a++);
+                mergedRanks[n++] = addedRank;
+            }
+            return new Index(Map.copyOf(byId), newByRank, Arrays.copyOf(mergedTerms, n), Arrays.copyOf(mergedRanks, n));
+        }
+
+        /**
+         * Marks every matching airport's rank, then reads the lowest ranks back, so even a one-letter
+         * prefix matching thousands of airports needs no sorting.
+         */
+        List<AirportResponseDto> suggest(String prefix, int limit) {
+            BitSet matches = new BitSet(byRank.length);
+            int exact = -1;
+            for (int i = lowerBound(prefix); i < terms.length && terms[i].startsWith(prefix); i++) {
+                matches.set(ranks[i]);
+                if (exact < 0 && terms[i].length() == prefix.length() && byRank[ranks[i]].code().equals(prefix)) {
+                    exact = ranks[i];
+                }
+            }
+            List<AirportResponseDto> airports = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            if (exact >= 0) {
+                airports.add(byRank[exact].airport());
+                matches.clear(exact);
+            }
+            for (int r = matches.nextSetBit(0); r >= 0 && airports.size() < limit; r = matches.nextSetBit(r + 1)) {
+                airports.add(byRank[r].airport());
+            }
+            return Collections.unmodifiableList(airports);
+        }
+
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (terms[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static Index build(Map<Long, Entry> byId) {
+            Entry[] byRank = rank(byId.values());
+            List<String> allTerms = new ArrayList<>();
+            List<Integer> allRanks = new ArrayList<>();
+            for (int r = 0; r < byRank.length; r++) {
+                for (String term : terms(byRank[r].airport())) {
+                    allTerms.add(term);
+                    allRanks.add(r);
+                }
+            }
+            Integer[] order = new Integer[allTerms.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(allTerms::get));
+            String[] terms = new String[order.length];
+            int[] ranks = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                terms[i] = allTerms.get(order[i]);
+                ranks[i] = allRanks.get(order[i]);
+            }
+            return new Index(Map.copyOf(byId), byRank, terms, ranks);
+        }
+
+        private static Entry[] rank(Collection<Entry> entries) {
+            Entry[] byRank = entries.toArray(new Entry[0]);
+            Arrays.sort(byRank, RANKING);
+            return byRank;
+        }
+
+        private static Entry entry(AirportResponseDto airport, long flights) {
+            return new Entry(airport, fold(airport.getCode()), flights);
+        }
+
+        /** The airport's distinct terms in sorted order. */
+        private static TreeSet<String> terms(AirportResponseDto airport) {
+            TreeSet<String> terms = new TreeSet<>();
+            String code = fold(airport.getCode());
+            if (!code.isEmpty()) {
+                terms.add(code);
+            }
+            addWordSuffixes(terms, fold(airport.getCity()));
+            addWordSuffixes(terms, fold(airport.getName()));
+            return terms;
+        }
+
+        private static void addWordSuffixes(Set<String> terms, String folded) {
+            if (folded.isEmpty()) {
+                return;
+            }
+            terms.add(folded);
+            for (int space = folded.indexOf(' '); space >= 0; space = folded.indexOf(' ', space + 1)) {
+                terms.add(folded.substring(space + 1));
+            }
+        }
+    }
+}
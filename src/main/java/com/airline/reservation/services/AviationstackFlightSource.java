@@ -0,0 +1,61 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.ExternalFlightDto;
+import com.airline.reservation.dtos.FlightSearchRequestDto;
+import com.airline.reservation.dtos.UnifiedFlightDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Non-bookable route results from Aviationstack (or its mock), via {@link ExternalFlightApiService}.
+ */
+@Component
+@Order(100)
+@RequiredArgsConstructor
+public class AviationstackFlightSource implements FlightSource {
+
+    private final ExternalFlightApiService externalFlightApiService;
+
+    @Override
+    public String name() {
+        return "aviationstack";
+    }
+
+    @Override
+    public boolean isExternal() {
+        return true;
+    }
+
+    @Override
+    public List<UnifiedFlightDto> search(FlightSearchRequestDto searchDto) {
+        String dep = searchDto.getDepartureAirportCode().trim().toUpperCase();
+        String arr = searchDto.getArrivalAirportCode().trim().toUpperCase();
+        return externalFlightApiService.fetchFlightsByRoute(dep, arr).stream()
+                .map(AviationstackFlightSource::toUnified)
+                .collect(Collectors.toList());
+    }
+
+    static UnifiedFlightDto toUnified(ExternalFlightDto e) {
+        UnifiedFlightDto u = new UnifiedFlightDto();
+        u.setSource(UnifiedFlightDto.SOURCE_EXTERNAL);
+        u.setBookable(false);
+        u.setInternalFlightId(null);
+        u.setId(e.getId());
+        u.setFlightNumber(e.getFlightNumber());
+        u.setAirlineName(e.getAirline());
+        u.setDepartureAirportCode(e.getOrigin());
+        u.setArrivalAirportCode(e.getDestination());
+        u.setDepartureAirportName(e.getOrigin());
+        u.setArrivalAirportName(e.getDestination());
+        u.setBasePrice(e.getPrice());
+        u.setDepartureTime(e.getDepartureTime());
+        u.setArrivalTime(e.getArrivalTime());
+        u.setTotalSeats(null);
+        u.setAvailableSeats(null);
+        return u;
+    }
+}
@@ -6,15 +6,18 @@ import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.exceptions.SeatNotAvailableException;
 import com.airline.reservation.models.*;
 import com.airline.reservation.repositories.*;
-import com.airline.reservation.configs.CacheConfig;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,33 +31,20 @@ public class BookingService {
     private final PassengerRepository passengerRepository;
     private final FlightRepository flightRepository;
     private final SeatRepository seatRepository;
-    private final ModelMapper modelMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final SeatHoldService seatHoldService;
     
     @Transactional
-    @CacheEvict(cacheNames = {CacheConfig.CACHE_SEATS, CacheConfig.CACHE_FLIGHTS}, allEntries = true)
     public BookingResponseDto createBooking(BookingRequestDto requestDto) {
         // Validate passenger
         Passenger passenger = passengerRepository.findById(requestDto.getPassengerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger", requestDto.getPassengerId()));
         
         // Validate flight
-        Flight flight = flightRepository.findById(requestDto.getFlightId())
+        Flight flight = flightRepository.findWithAirportsById(requestDto.getFlightId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", requestDto.getFlightId()));
         
-        // Validate seat
-        Seat seat = seatRepository.findById(requestDto.getSeatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Seat", requestDto.getSeatId()));
-        
-        // Check if seat belongs to the flight
-        if (!seat.getFlight().getId().equals(flight.getId())) {
-            throw new InvalidBookingException("Selected seat does not belong to the chosen flight");
-        }
-        
-        // Check seat availability
-        if (seat.getStatus() != Seat.SeatStatus.AVAILABLE) {
-            throw new SeatNotAvailableException(seat.getSeatNumber());
-        }
-        
         // Check flight availability
         if (flight.getAvailableSeats() <= 0) {
             throw new InvalidBookingException("No seats available on this flight");
@@ -65,31 +55,145 @@ public class BookingService {
             throw new InvalidBookingException("Flight is not available for booking. Status: " + flight.getStatus());
         }
         
+        // Fast in-memory claim: rejects seats this node already knows are taken
+        Long seatId = requestDto.getSeatId();
+        SeatInventoryService.SeatMap seatMap = seatInventoryService.seatMap(flight);
+        switch (seatInventoryService.claim(flight, seatId)) {
+            case NOT_ON_FLIGHT -> {
+                if (!CabinLayout.isTemplateSeatId(seatId) && !seatRepository.existsById(seatId)) {
+                    throw new ResourceNotFoundException("Seat", seatId);
+                }
+                throw new InvalidBookingException("Selected seat does not belong to the chosen flight");
+            }
+            case TAKEN -> throw new SeatNotAvailableException(seatMap.seatNumber(seatMap.indexOf(seatId)));
+            case CLAIMED -> { }
+        }
+        int seatIndex = seatMap.indexOf(seatId);
+        
+        // Authoritative claim: single-statement conditional updates, decided by affected-row counts
+        seatInventoryService.materialize(flight, List.of(seatId));
+        if (seatRepository.reserveIfAvailable(seatId, flight.getId()) == 0) {
+            seatInventoryService.markTaken(flight.getId(), seatId);
+            throw new SeatNotAvailableException(seatMap.seatNumber(seatIndex));
+        }
+        if (flightRepository.decrementAvailableSeats(flight.getId()) == 0) {
+            throw new InvalidBookingException("No seats available on this flight");
+        }
+        
         // Create booking
         Booking booking = new Booking();
         booking.setBookingReference(generateBookingReference());
         booking.setPassenger(passenger);
         booking.setFlight(flight);
-        booking.setSeat(seat);
+        booking.setSeat(seatRepository.getReferenceById(seatId));
         booking.setStatus(Booking.BookingStatus.PENDING);
-        booking.setTotalPrice(flight.getBasePrice() + seat.getPrice());
+        booking.setTotalPrice(flight.getBasePrice() + seatMap.price(seatIndex));
+        booking.setHoldExpiresAt(seatHoldService.newHoldExpiry());
+        
+        Booking savedBooking = bookingRepository.saveAndFlush(booking);
+        seatHoldService.track(savedBooking);
+        cacheInvalidationService.evictFlight(flight, List.of(seatId));
+        
+        SeatResponseDto seatDto = new SeatResponseDto(seatId, seatMap.seatNumber(seatIndex),
+                seatMap.seatClass(seatIndex).toString(), Seat.SeatStatus.RESERVED.toString(), seatMap.price(seatIndex));
+        return convertToResponseDto(savedBooking, seatDto);
+    }
+    
+    /**
+     * Books several passengers on one flight in a single transaction. All seats are claimed with one
+     * conditional update and the bookings are inserted in one JDBC batch; if any seat cannot be had,
+     * nothing is booked.
+     */
+    @Transactional
+    public List<BookingResponseDto> createBookings(BatchBookingRequestDto requestDto) {
+        List<BatchBookingRequestDto.PassengerSeat> items = requestDto.getBookings();
+        List<Long> seatIds = items.stream().map(BatchBookingRequestDto.PassengerSeat::getSeatId).toList();
+        if (new HashSet<>(seatIds).size() != seatIds.size()) {
+            throw new InvalidBookingException("The same seat cannot be booked twice in one request");
+        }
+        
+        // Validate flight
+        Flight flight = flightRepository.findWithAirportsById(requestDto.getFlightId())
+                .orElseThrow(() -> new ResourceNotFoundException("Flight", requestDto.getFlightId()));
+        
+        if (flight.getAvailableSeats() < items.size()) {
+            throw new InvalidBookingException("Not enough seats available on this flight");
+        }
+        
+        if (flight.getStatus() != Flight.FlightStatus.SCHEDULED) {
+            throw new InvalidBookingException("Flight is not available for booking. Status: " + flight.getStatus());
+        }
+        
+        // Validate passengers with one query
+        Map<Long, Passenger> passengers = passengerRepository.findAllById(
+                        items.stream().map(BatchBookingRequestDto.PassengerSeat::getPassengerId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Passenger::getId, Function.identity()));
+        for (BatchBookingRequestDto.PassengerSeat item : items) {
+            if (!passengers.containsKey(item.getPassengerId())) {
+                throw new ResourceNotFoundException("Passenger", item.getPassengerId());
+            }
+        }
+        
+        // Fast in-memory claims; every claim is undone if the transaction rolls back
+        SeatInventoryService.SeatMap seatMap = seatInventoryService.seatMap(flight);
+        for (Long seatId : seatIds) {
+            switch (seatInventoryService.claim(flight, seatId)) {
+                case NOT_ON_FLIGHT -> {
+                    if (!CabinLayout.isTemplateSeatId(seatId) && !seatRepository.existsById(seatId)) {
+                        throw new ResourceNotFoundException("Seat", seatId);
+                    }
+                    throw new InvalidBookingException("Selected seat does not belong to the chosen flight");
+                }
+                case TAKEN -> throw new SeatNotAvailableException(seatMap.seatNumber(seatMap.indexOf(seatId)));
+                case CLAIMED -> { }
+            }
+        }
         
-        // Update seat status
-        seat.setStatus(Seat.SeatStatus.RESERVED);
-        seatRepository.save(seat);
+        // Authoritative claims: one statement for all seats, one for the flight counter
+        seatInventoryService.materialize(flight, seatIds);
+        if (seatRepository.reserveAllIfAvailable(seatIds, flight.getId()) != seatIds.size()) {
+            seatInventoryService.evict(flight.getId());
+            throw new SeatNotAvailableException("One or more selected seats are no longer available");
+        }
+        if (flightRepository.decrementAvailableSeatsBy(flight.getId(), seatIds.size()) == 0) {
+            throw new InvalidBookingException("Not enough seats available on this flight");
+        }
         
-        // Update available seats
-        flight.setAvailableSeats(flight.getAvailableSeats() - 1);
-        flightRepository.save(flight);
+        List<Booking> bookings = new ArrayList<>(items.size());
+        List<SeatResponseDto> seatDtos = new ArrayList<>(items.size());
+        LocalDateTime holdExpiresAt = seatHoldService.newHoldExpiry();
+        for (BatchBookingRequestDto.PassengerSeat item : items) {
+            int seatIndex = seatMap.indexOf(item.getSeatId());
+            
+            Booking booking = new Booking();
+            booking.setBookingReference(generateBookingReference());
+            booking.setPassenger(passengers.get(item.getPassengerId()));
+            booking.setFlight(flight);
+            booking.setSeat(seatRepository.getReferenceById(item.getSeatId()));
+            booking.setStatus(Booking.BookingStatus.PENDING);
+            booking.setTotalPrice(flight.getBasePrice() + seatMap.price(seatIndex));
+            booking.setHoldExpiresAt(holdExpiresAt);
+            bookings.add(booking);
+            
+            seatDtos.add(new SeatResponseDto(item.getSeatId(), seatMap.seatNumber(seatIndex),
+                    seatMap.seatClass(seatIndex).toString(), Seat.SeatStatus.RESERVED.toString(), seatMap.price(seatIndex)));
+        }
+        bookingRepository.saveAllAndFlush(bookings);
+        bookings.forEach(seatHoldService::track);
         
-        Booking savedBooking = bookingRepository.save(booking);
+        cacheInvalidationService.evictFlight(flight, seatIds);
         
-        return convertToResponseDto(savedBooking);
+        List<BookingResponseDto> responses = new ArrayList<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            responses.add(convertToResponseDto(bookings.get(i), seatDtos.get(i)));
+        }
+        return responses;
     }
     
     @Transactional(readOnly = true)
     public BookingResponseDto getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", id));
         
         return convertToResponseDto(booking);
@@ -105,47 +209,48 @@ public class BookingService {
     
     @Transactional(readOnly = true)
     public List<BookingResponseDto> getBookingsByPassengerId(Long passengerId) {
-        Passenger passenger = passengerRepository.findById(passengerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Passenger", passengerId));
-        
-        return bookingRepository.findByPassenger(passenger).stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        if (!passengerRepository.existsById(passengerId)) {
+            throw new ResourceNotFoundException("Passenger", passengerId);
+        }
+        return bookingRepository.findBookingDtosByPassengerId(passengerId);
     }
     
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<BookingResponseDto> getBookings(String cursor, Integer size) {
+        int limit = PageCursor.size(size);
+        return PageCursor.page(bookingRepository.findBookingDtosAfter(PageCursor.afterId(cursor), Limit.of(limit + 1)),
+                limit, BookingResponseDto::getId);
     }
     
     @Transactional
-    @CacheEvict(cacheNames = {CacheConfig.CACHE_SEATS, CacheConfig.CACHE_FLIGHTS}, allEntries = true)
     public BookingResponseDto confirmBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", id));
         
         if (booking.getStatus() != Booking.BookingStatus.PENDING) {
             throw new InvalidBookingException("Only pending bookings can be confirmed");
         }
-        
+        if (bookingRepository.confirmIfHeld(id, LocalDateTime.now()) == 0) {
+            throw new InvalidBookingException("The seat hold for this booking has expired");
+        }
+        // Keep the loaded booking in step with the row
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         
-        // Update seat status to occupied
+        // Update seat status to occupied; a pending booking's seat is always reserved for it
         Seat seat = booking.getSeat();
-        seat.setStatus(Seat.SeatStatus.OCCUPIED);
-        seatRepository.save(seat);
-        
-        Booking updatedBooking = bookingRepository.save(booking);
+        if (seatRepository.occupyIfReserved(seat.getId()) == 0) {
+            throw new SeatNotAvailableException("Seat " + seat.getSeatNumber() + " is no longer reserved for this booking");
+        }
+        cacheInvalidationService.evictFlight(booking.getFlight(), List.of(seat.getId()));
         
-        return convertToResponseDto(updatedBooking);
+        SeatResponseDto seatDto = ResponseDtoMapper.toSeatDto(seat);
+        seatDto.setStatus(Seat.SeatStatus.OCCUPIED.toString());
+        return convertToResponseDto(booking, seatDto);
     }
     
     @Transactional
-    @CacheEvict(cacheNames = {CacheConfig.CACHE_SEATS, CacheConfig.CACHE_FLIGHTS}, allEntries = true)
     public void cancelBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", id));
         
         if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
@@ -156,20 +261,27 @@ public class BookingService {
             throw new InvalidBookingException("Cannot cancel completed booking");
         }
         
-        // Update booking status
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        // Its seat went back on sale when the hold expired, and may be someone else's by now
+        if (booking.getStatus() == Booking.BookingStatus.EXPIRED) {
+            throw new InvalidBookingException("Booking has already expired");
+        }
         
-        // Free up the seat
-        Seat seat = booking.getSeat();
-        seat.setStatus(Seat.SeatStatus.AVAILABLE);
-        seatRepository.save(seat);
+        // One statement decides, so a hold sweep or another cancel running at the same time cannot be overwritten
+        if (bookingRepository.cancelIfActive(id) == 0) {
+            throw new InvalidBookingException("Booking is no longer active and cannot be cancelled");
+        }
+        // Keep the loaded booking in step with the row
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
         
-        // Update available seats
-        Flight flight = booking.getFlight();
-        flight.setAvailableSeats(flight.getAvailableSeats() + 1);
-        flightRepository.save(flight);
+        // Free up the seat and return it to the flight's availability, unless it is someone else's by now
+        Long flightId = booking.getFlight().getId();
+        Long seatId = booking.getSeat().getId();
+        if (seatRepository.releaseIfHeldBy(seatId, id) > 0) {
+            flightRepository.incrementAvailableSeats(flightId);
+            seatInventoryService.release(flightId, seatId);
+        }
         
-        bookingRepository.save(booking);
+        cacheInvalidationService.evictFlight(booking.getFlight(), List.of(seatId));
     }
     
     private String generateBookingReference() {
@@ -177,22 +289,26 @@ public class BookingService {
     }
     
     private BookingResponseDto convertToResponseDto(Booking booking) {
+        return convertToResponseDto(booking, ResponseDtoMapper.toSeatDto(booking.getSeat()));
+    }
+    
+    private BookingResponseDto convertToResponseDto(Booking booking, SeatResponseDto seatDto) {
         BookingResponseDto responseDto = new BookingResponseDto();
         responseDto.setId(booking.getId());
         responseDto.setBookingReference(booking.getBookingReference());
-        responseDto.setPassenger(modelMapper.map(booking.getPassenger(), PassengerResponseDto.class));
+        responseDto.setPassenger(ResponseDtoMapper.toPassengerDto(booking.getPassenger()));
         
         FlightResponseDto flightDto = new FlightResponseDto();
         flightDto.setId(booking.getFlight().getId());
         flightDto.setFlightNumber(booking.getFlight().getFlightNumber());
         flightDto.setAirlineName(booking.getFlight().getAirlineName());
-        flightDto.setDepartureAirport(modelMapper.map(booking.getFlight().getDepartureAirport(), AirportResponseDto.class));
-        flightDto.setArrivalAirport(modelMapper.map(booking.getFlight().getArrivalAirport(), AirportResponseDto.class));
+        flightDto.setDepartureAirport(ResponseDtoMapper.toAirportDto(booking.getFlight().getDepartureAirport()));
+        flightDto.setArrivalAirport(ResponseDtoMapper.toAirportDto(booking.getFlight().getArrivalAirport()));
         flightDto.setDepartureTime(booking.getFlight().getDepartureTime());
         flightDto.setArrivalTime(booking.getFlight().getArrivalTime());
         responseDto.setFlight(flightDto);
         
-        responseDto.setSeat(modelMapper.map(booking.getSeat(), SeatResponseDto.class));
+        responseDto.setSeat(seatDto);
         responseDto.setStatus(booking.getStatus().toString());
         responseDto.setTotalPrice(booking.getTotalPrice());
         responseDto.setCreatedAt(booking.getCreatedAt());
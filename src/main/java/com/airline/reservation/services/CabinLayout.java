@@ -0,0 +1,98 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.CabinTemplate;
+import com.airline.reservation.models.Seat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The seats of a {@link CabinTemplate} for one cabin size, built once and shared by every flight of
+ * that template and size.
+ * <p>
+ * Seats of template flights have ids derived from the flight id and the seat's index in the layout
+ * ({@link #seatId}). The ids are negative, so they never collide with generated row ids. A seat keeps
+ * its id when it gets a row, because the row is inserted with it.
+ */
+public final class CabinLayout {
+    
+    /** Seats per flight that fit the index bits of a template seat id. */
+    public static final int MAX_SEATS = 1 << 12;
+    
+    private static final ConcurrentMap<String, CabinLayout> LAYOUTS = new ConcurrentHashMap<>();
+    
+    private final String[] seatNumbers;
+    private final Seat.SeatClass[] seatClasses;
+    private final double[] fareMultipliers;
+    private final Map<Seat.SeatClass, Integer> seatsPerClass = new EnumMap<>(Seat.SeatClass.class);
+    
+    private CabinLayout(CabinTemplate template, int rows) {
+        String letters = template.letters();
+        int size = rows * letters.length();
+        this.seatNumbers = new String[size];
+        this.seatClasses = new Seat.SeatClass[size];
+        this.fareMultipliers = new double[size];
+        int i = 0;
+        for (int row = 1; row <= rows; row++) {
+            Seat.SeatClass seatClass = template.seatClass(row);
+            for (int letter = 0; letter < letters.length(); letter++, i++) {
+                seatNumbers[i] = row + String.valueOf(letters.charAt(letter));
+                seatClasses[i] = seatClass;
+                fareMultipliers[i] = template.fareMultiplier(seatClass);
+            }
+            seatsPerClass.merge(seatClass, letters.length(), Integer::sum);
+        }
+    }
+    
+    /** The most seats a flight of the template can have: whole rows within {@link #MAX_SEATS}. */
+    public static int maxSeats(CabinTemplate template) {
+        return MAX_SEATS / template.letters().length() * template.letters().length();
+    }
+    
+    /** Whether the layout of {@code totalSeats} has exactly that many seats. */
+    public static boolean fits(CabinTemplate template, int totalSeats) {
+        return totalSeats > 0 && totalSeats <= maxSeats(template) && totalSeats % template.letters().length() == 0;
+    }
+    
+    /** Whole rows only: as many as fit in {@code totalSeats}. */
+    public static CabinLayout of(CabinTemplate template, int totalSeats) {
+        int rows = Math.min(totalSeats, MAX_SEATS) / template.letters().length();
+        return LAYOUTS.computeIfAbsent(template + ":" + rows, key -> new CabinLayout(template, rows));
+    }
+    
+    public int size() {
+        return seatNumbers.length;
+    }
+    
+    public int seatCount(Seat.SeatClass seatClass) {
+        return seatsPerClass.getOrDefault(seatClass, 0);
+    }
+    
+    /** The id of seat {@code index} on template flight {@code flightId}. */
+    public static long seatId(long flightId, int index) {
+        return -(flightId << 12) + index;
+    }
+    
+    public static boolean isTemplateSeatId(Long seatId) {
+        return seatId != null && seatId < 0;
+    }
+    
+    public static long flightIdOf(long seatId) {
+        return (-seatId + MAX_SEATS - 1) >>> 12;
+    }
+    
+    /** Shared arrays, read-only by contract. */
+    String[] seatNumbers() {
+        return seatNumbers;
+    }
+    
+    Seat.SeatClass[] seatClasses() {
+        return seatClasses;
+    }
+    
+    double[] fareMultipliers() {
+        return fareMultipliers;
+    }
+}
@@ -0,0 +1,118 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.configs.CacheConfig;
+import com.airline.reservation.dtos.FareCalendarDto;
+import com.airline.reservation.models.Flight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evicts only the cache entries a booking mutation can make stale, instead of clearing whole caches.
+ *
+ * Keys mirror the {@code @Cacheable} definitions in {@link FlightService} and {@link SeatService}:
+ * flights by id, {@code 'number:'} and the route/date search key; seats by {@code 'flight:'} and by
+ * seat id; and the booked month of the route's fare calendar. Pages of the flight list are left to
+ * expire, see {@link CacheConfig#CACHE_FLIGHT_PAGES}. With the transaction-aware Redis cache manager
+ * the evictions run after commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationService {
+
+    private final CacheManager cacheManager;
+
+    /** Bumped with every fare-calendar eviction; see {@link #cacheFareMonth}. */
+    private final AtomicLong fareCalendarVersion = new AtomicLong();
+    private final Object fareCalendarLock = new Object();
+
+    /**
+     * Evicts the cached views of one flight and of the given seats on it.
+     */
+    public void evictFlight(Flight flight, Collection<Long> seatIds) {
+        Cache flights = cacheManager.getCache(CacheConfig.CACHE_FLIGHTS);
+        if (flights != null) {
+            flights.evict(flight.getId());
+            flights.evict("number:" + flight.getFlightNumber());
+            if (flight.getDepartureAirport() != null && flight.getArrivalAirport() != null
+                    && flight.getDepartureTime() != null) {
+                flights.evict(searchKey(flight));
+            }
+        }
+
+        Cache seats = cacheManager.getCache(CacheConfig.CACHE_SEATS);
+        if (seats != null) {
+            seats.evict("flight:" + flight.getId());
+            seatIds.forEach(seats::evict);
+        }
+        evictFareMonth(flight);
+    }
+
+    /**
+     * Evicts the cached fare-calendar month of the flight's departure, after commit when called in a
+     * transaction so that a calendar read cannot recompute the month from the data being replaced.
+     */
+    public void evictFareMonth(Flight flight) {
+        Cache fareCalendar = cacheManager.getCache(CacheConfig.CACHE_FARE_CALENDAR);
+        if (fareCalendar == null || flight.getDepartureAirport() == null || flight.getArrivalAirport() == null
+                || flight.getDepartureTime() == null) {
+            return;
+        }
+        String key = FareCalendarService.key(flight.getDepartureAirport().getCode().toUpperCase(),
+                flight.getArrivalAirport().getCode().toUpperCase(), YearMonth.from(flight.getDepartureTime()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictFareMonth(fareCalendar, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictFareMonth(fareCalendar, key);
+            }
+        });
+    }
+
+    /**
+     * The current fare-calendar version; read it before the data a month is computed from.
+     */
+    public long fareCalendarVersion() {
+        return fareCalendarVersion.get();
+    }
+
+    /**
+     * Caches a fare-calendar month computed from data read at {@code version}, unless a month was
+     * evicted since: that data may predate the change, and caching it would undo the eviction.
+     */
+    public void cacheFareMonth(String key, long version, FareCalendarDto month) {
+        Cache fareCalendar = cacheManager.getCache(CacheConfig.CACHE_FARE_CALENDAR);
+        if (fareCalendar == null) {
+            return;
+        }
+        synchronized (fareCalendarLock) {
+            if (fareCalendarVersion.get() == version) {
+                fareCalendar.putIfAbsent(key, month);
+            }
+        }
+    }
+
+    private void evictFareMonth(Cache fareCalendar, String key) {
+        synchronized (fareCalendarLock) {
+            fareCalendarVersion.incrementAndGet();
+            // Immediate even on a transaction-aware cache; we are already past the commit
+            fareCalendar.evictIfPresent(key);
+        }
+    }
+
+    private static String searchKey(Flight flight) {
+        return flight.getDepartureAirport().getCode().toUpperCase() + "-"
+                + flight.getArrivalAirport().getCode().toUpperCase() + "-"
+                + flight.getDepartureTime().toLocalDate();
+    }
+}
@@ -0,0 +1,350 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.ConnectionSearchRequestDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.ItineraryDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
+import com.airline.reservation.exceptions.InvalidBookingException;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.repositories.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Direct and connecting itinerary search over an in-memory graph of scheduled flights, holding each
+ * airport's departures sorted by time. The graph is loaded at startup and updated from
+ * {@link FlightChangedEvent}s after commit; {@link FlightIndexRefresher} reloads it with the route
+ * index to pick up flights changed on other nodes.
+ * <p>
+ * Seat availability changes with every booking, so it is not mirrored in the graph. Instead, the legs of
+ * the itineraries about to be returned are checked against the database, usually in a single query.
+ * Flight times are compared as stored, without time-zone conversion, like the rest of the application.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConnectionSearchService {
+
+    static final int MAX_STOPS = 2;
+
+    /** Caps the depth-first expansion on very busy hubs. */
+    private static final int MAX_CANDIDATES = 5000;
+    private static final int VERIFY_BATCH = 50;
+
+    private static final Comparator<Leg[]> BY_DURATION_PRICE_STOPS = Comparator
+            .comparingLong(ConnectionSearchService::duration)
+            .thenComparingDouble(ConnectionSearchService::price)
+            .thenComparingInt(path -> path.length);
+
+    private final FlightRepository flightRepository;
+    private final AirportRegistry airportRegistry;
+
+    @Value("${app.connections.min-connection-minutes:45}")
+    private int defaultMinConnectionMinutes = 45;
+
+    @Value("${app.connections.max-duration-hours:24}")
+    private int defaultMaxDurationHours = 24;
+
+    @Value("${app.connections.max-results:20}")
+    private int maxResults = 20;
+
+    private final ConcurrentMap<String, Departures> departuresByAirport = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Leg> legsByFlightId = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED));
+    }
+
+    /** Replaces the graph with the given scheduled flights, leaving out those that departed over a day ago. */
+    void load(List<Flight> scheduled) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        synchronized (this) {
+            departuresByAirport.clear();
+            legsByFlightId.clear();
+            for (Flight flight : scheduled) {
+                if (flight.getDepartureTime() != null && flight.getDepartureTime().isAfter(cutoff)) {
+                    upsert(flight);
+                }
+            }
+        }
+        log.info("Connection graph loaded with {} scheduled flights", legsByFlightId.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.flightId());
+        } else {
+            upsert(event.flight());
+        }
+    }
+
+    synchronized void upsert(Flight flight) {
+        remove(flight.getId());
+        if (flight.getStatus() == Flight.FlightStatus.SCHEDULED && flight.getDepartureTime() != null
+                && flight.getArrivalTime() != null) {
+            Leg leg = Leg.of(flight);
+            legsByFlightId.put(leg.flightId(), leg);
+            departuresByAirport.merge(leg.from(), Departures.of(leg), (existing, added) -> existing.with(leg));
+        }
+    }
+
+    synchronized void remove(Long flightId) {
+        Leg leg = legsByFlightId.remove(flightId);
+        if (leg != null) {
+            departuresByAirport.computeIfPresent(leg.from(), (code, departures) -> departures.without(leg));
+        }
+    }
+
+    /**
+     * Itineraries leaving {@code departureAirportCode} on the requested date, ranked by total duration,
+     * then price, then stops. Itineraries that leave earlier, arrive later, cost more and stop more often
+     * than one already ranked are dropped.
+     */
+    public List<ItineraryDto> searchConnections(ConnectionSearchRequestDto request) {
+        String origin = request.getDepartureAirportCode().trim().toUpperCase();
+        String destination = request.getArrivalAirportCode().trim().toUpperCase();
+        if (origin.equals(destination)) {
+            throw new InvalidBookingException("Departure and arrival airports cannot be the same");
+        }
+        int maxStops = request.getMaxStops() != null ? request.getMaxStops() : MAX_STOPS;
+        long minConnection = Duration.ofMinutes(request.getMinConnectionMinutes() != null
+                ? request.getMinConnectionMinutes() : defaultMinConnectionMinutes).toSeconds();
+        long maxDuration = Duration.ofHours(request.getMaxDurationHours() != null
+                ? request.getMaxDurationHours() : defaultMaxDurationHours).toSeconds();
+        long dayStart = epochSecond(request.getDepartureDate().atStartOfDay());
+        long dayEnd = dayStart + Duration.ofDays(1).toSeconds();
+
+        List<Leg[]> candidates = new ArrayList<>();
+        Departures first = departuresByAirport.get(origin);
+        if (first != null) {
+            Leg[] path = new Leg[maxStops + 1];
+            for (int i = first.indexAtOrAfter(dayStart); i < first.size() && first.departure(i) < dayEnd; i++) {
+                path[0] = first.leg(i);
+                expand(path, 1, destination, maxStops, minConnection, path[0].departure() + maxDuration, candidates);
+                if (candidates.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+        }
+        candidates.sort(BY_DURATION_PRICE_STOPS);
+        return select(candidates);
+    }
+
+    int size() {
+        return legsByFlightId.size();
+    }
+
+    private void expand(Leg[] path, int depth, String destination, int maxStops, long minConnection,
+                        long deadline, List<Leg[]> candidates) {
+        Leg last = path[depth - 1];
+        if (last.arrival() > deadline) {
+            return;
+        }
+        if (last.to().equals(destination)) {
+            candidates.add(Arrays.copyOf(path, depth));
+            return;
+        }
+        if (depth > maxStops || candidates.size() >= MAX_CANDIDATES) {
+            return;
+        }
+        Departures next = departuresByAirport.get(last.to());
+        if (next == null) {
+            return;
+        }
+        for (int i = next.indexAtOrAfter(last.arrival() + minConnection);
+             i < next.size() && next.departure(i) < deadline; i++) {
+            Leg leg = next.leg(i);
+            if (!visits(path, depth, leg.to())) {
+                path[depth] = leg;
+                expand(path, depth + 1, destination, maxStops, minConnection, deadline, candidates);
+            }
+        }
+    }
+
+    /** Walks the ranked candidates, checking their flights are still bookable a batch at a time. */
+    private List<ItineraryDto> select(List<Leg[]> candidates) {
+        Map<Long, Flight> bookable = new HashMap<>();
+        Set<Long> checked = new HashSet<>();
+        List<Leg[]> kept = new ArrayList<>();
+        int next = 0;
+        while (kept.size() < maxResults && next < candidates.size()) {
+            int end = Math.min(candidates.size(), next + VERIFY_BATCH);
+            Set<Long> unchecked = new LinkedHashSet<>();
+            for (int i = next; i < end; i++) {
+                for (Leg leg : candidates.get(i)) {
+                    if (!checked.contains(leg.flightId())) {
+                        unchecked.add(leg.flightId());
+                    }
+                }
+            }
+            if (!unchecked.isEmpty()) {
+                for (Flight flight : flightRepository.findWithAirportsByIdIn(unchecked)) {
+                    if (flight.getStatus() == Flight.FlightStatus.SCHEDULED && flight.getAvailableSeats() != null
+                            && flight.getAvailableSeats() > 0) {
+                        bookable.put(flight.getId(), flight);
+                    }
+                }
+                checked.addAll(unchecked);
+            }
+            for (; next < end && kept.size() < maxResults; next++) {
+                Leg[] candidate = candidates.get(next);
+                if (Arrays.stream(candidate).allMatch(leg -> bookable.containsKey(leg.flightId()))
+                        && kept.stream().noneMatch(better -> dominates(better, candidate))) {
+                    kept.add(candidate);
+                }
+            }
+        }
+
+        List<ItineraryDto> itineraries = new ArrayList<>(kept.size());
+        for (Leg[] path : kept) {
+            List<FlightResponseDto> flights = new ArrayList<>(path.length);
+            double totalPrice = 0;
+            for (Leg leg : path) {
+                Flight flight = bookable.get(leg.flightId());
+                flights.add(ResponseDtoMapper.toFlightDto(flight, airportRegistry::dto));
+                totalPrice += flight.getBasePrice() != null ? flight.getBasePrice() : 0;
+            }
+            LocalDateTime departure = flights.get(0).getDepartureTime();
+            LocalDateTime arrival = flights.get(flights.size() - 1).getArrivalTime();
+            itineraries.add(new ItineraryDto(flights, path.length - 1, departure, arrival,
+                    Duration.between(departure, arrival).toMinutes(), totalPrice));
+        }
+        return itineraries;
+    }
+
+    private static boolean visits(Leg[] path, int depth, String airport) {
+        if (path[0].from().equals(airport)) {
+            return true;
+        }
+        for (int i = 0; i < depth; i++) {
+            if (path[i].to().equals(airport)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean dominates(Leg[] a, Leg[] b) {
+        return a[0].departure() >= b[0].departure() && a[a.length - 1].arrival() <= b[b.length - 1].arrival()
+                && price(a) <= price(b) && a.length <= b.length;
+    }
+
+    private static long duration(Leg[] path) {
+        return path[path.length - 1].arrival() - path[0].departure();
+    }
+
+    private static double price(Leg[] path) {
+        double price = 0;
+        for (Leg leg : path) {
+            price += leg.price();
+        }
+        return price;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** One scheduled flight as an edge of the graph; times in epoch seconds. */
+    record Leg(long flightId, String from, String to, long departure, long arrival, double price) {
+
+        static Leg of(Flight flight) {
+            return new Leg(flight.getId(), flight.getDepartureAirport().getCode().toUpperCase(),
+                    flight.getArrivalAirport().getCode().toUpperCase(), epochSecond(flight.getDepartureTime()),
+                    epochSecond(flight.getArrivalTime()), flight.getBasePrice() != null ? flight.getBasePrice() : 0);
+        }
+    }
+
+    /** An airport's departures sorted by time. Immutable; updates copy the arrays. */
+    static final class Departures {
+
+        private final Leg[] legs;
+        private final long[] times;
+
+        private Departures(Leg[] legs) {
+            this.legs = legs;
+            this.times = new long[legs.length];
+            for (int i = 0; i < legs.length; i++) {
+                times[i] = legs[i].departure();
+            }
+        }
+
+        static Departures of(Leg leg) {
+            return new Departures(new Leg[] {leg});
+        }
+
+        int size() {
+            return legs.length;
+        }
+
+        Leg leg(int index) {
+            return legs[index];
+        }
+
+        long departure(int index) {
+            return times[index];
+        }
+
+        /** Index of the first departure at or after {@code time}, or {@link #size()}. */
+        int indexAtOrAfter(long time) {
+            int low = 0;
+            int high = times.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < time) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        Departures with(Leg leg) {
+            int index = indexAtOrAfter(leg.departure());
+            Leg[] updated = new Leg[legs.length + 1];
+            System.arraycopy(legs, 0, updated, 0, index);
+            updated[index] = leg;
+            System.arraycopy(legs, index, updated, index + 1, legs.length - index);
+            return new Departures(updated);
+        }
+
+        /** @return the departures without {@code leg}, or {@code null} when none remain */
+        Departures without(Leg leg) {
+            for (int i = indexAtOrAfter(leg.departure()); i < legs.length && times[i] == leg.departure(); i++) {
+                if (legs[i].flightId() == leg.flightId()) {
+                    if (legs.length == 1) {
+                        return null;
+                    }
+                    Leg[] updated = new Leg[legs.length - 1];
+                    System.arraycopy(legs, 0, updated, 0, i);
+                    System.arraycopy(legs, i + 1, updated, i, legs.length - i - 1);
+                    return new Departures(updated);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.configs.CacheConfig;
+import com.airline.reservation.dtos.FareCalendarDayDto;
+import com.airline.reservation.dtos.FareCalendarDto;
+import com.airline.reservation.dtos.SeatClassFareDto;
+import com.airline.reservation.exceptions.InvalidBookingException;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lowest-fare calendars built from one grouped query over the seats of a route's flights. Flights with
+ * a cabin template are counted from their {@link CabinLayout} less the seats held on them.
+ *
+ * Calendars are cached per route and month in {@link CacheConfig#CACHE_FARE_CALENDAR}. When a flight
+ * changes or is booked the month of its departure is evicted, see
+ * {@link CacheInvalidationService#evictFareMonth}, and a month computed from data read before an
+ * eviction is not cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class FareCalendarService {
+
+    static final int MAX_DAYS = 62;
+
+    private final SeatRepository seatRepository;
+    private final FlightRepository flightRepository;
+    private final CacheManager cacheManager;
+    private final CacheInvalidationService cacheInvalidationService;
+
+    /**
+     * Cheapest available fare and per-class availability for each day from {@code startDate} to
+     * {@code endDate}, or to the end of the start month when {@code endDate} is {@code null}.
+     */
+    @Transactional(readOnly = true)
+    public FareCalendarDto getFareCalendar(String departureAirportCode, String arrivalAirportCode,
+                                           LocalDate startDate, LocalDate endDate) {
+        String origin = departureAirportCode.trim().toUpperCase();
+        String destination = arrivalAirportCode.trim().toUpperCase();
+        LocalDate end = endDate != null ? endDate : YearMonth.from(startDate).atEndOfMonth();
+        if (origin.equals(destination)) {
+            throw new InvalidBookingException("Departure and arrival airports cannot be the same");
+        }
+        if (end.isBefore(startDate)) {
+            throw new InvalidBookingException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, end) >= MAX_DAYS) {
+            throw new InvalidBookingException("Fare calendar cannot span more than " + MAX_DAYS + " days");
+        }
+
+        long version = cacheInvalidationService.fareCalendarVersion();
+        List<FareCalendarDayDto> days = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+            for (FareCalendarDayDto day : month(origin, destination, month, version).getDays()) {
+                if (!day.getDate().isBefore(startDate) && !day.getDate().isAfter(end)) {
+                    days.add(day);
+                }
+            }
+        }
+        return new FareCalendarDto(origin, destination, startDate, end, days);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.flight() != null) {
+            cacheInvalidationService.evictFareMonth(event.flight());
+        }
+    }
+
+    /**
+     * @param version the fare-calendar version read before any of the data this request computes from
+     */
+    private FareCalendarDto month(String origin, String destination, YearMonth month, long version) {
+        String key = key(origin, destination, month);
+        FareCalendarDto cached = cache().get(key, FareCalendarDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        FareCalendarDto computed = new FareCalendarDto(origin, destination, month.atDay(1), month.atEndOfMonth(),
+                compute(origin, destination, month.atDay(1), month.atEndOfMonth()));
+        cacheInvalidationService.cacheFareMonth(key, version, computed);
+        return computed;
+    }
+
+    /** One entry per day from {@code from} to {@code to} inclusive, from a single query. */
+    private List<FareCalendarDayDto> compute(String origin, String destination, LocalDate from, LocalDate to) {
+        int dayCount = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<Map<Seat.SeatClass, SeatClassFareDto>> classesByDay = new ArrayList<>(dayCount);
+        List<Set<Long>> flightsByDay = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            classesByDay.add(new EnumMap<>(Seat.SeatClass.class));
+            flightsByDay.add(new HashSet<>());
+        }
+
+        for (SeatRepository.FareSummary row : seatRepository.summarizeAvailableFares(
+                origin, destination, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            int day = (int) ChronoUnit.DAYS.between(from, row.getDepartureTime().toLocalDate());
+            flightsByDay.get(day).add(row.getFlightId());
+            addFare(classesByDay.get(day), row.getSeatClass(), row.getAvailableSeats(), row.getLowestFare());
+        }
+
+        List<FlightRepository.TemplateFlight> templateFlights = flightRepository.findTemplateFlightsBetween(
+                origin, destination, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        if (!templateFlights.isEmpty()) {
+            Map<Long, Map<Seat.SeatClass, Long>> held = new HashMap<>();
+            for (SeatRepository.HeldSeatCount count : seatRepository.countHeldSeats(
+                    templateFlights.stream().map(FlightRepository.TemplateFlight::getId).toList())) {
+                held.computeIfAbsent(count.getFlightId(), id -> new EnumMap<>(Seat.SeatClass.class))
+                        .put(count.getSeatClass(), count.getSeats());
+            }
+            for (FlightRepository.TemplateFlight flight : templateFlights) {
+                int day = (int) ChronoUnit.DAYS.between(from, flight.getDepartureTime().toLocalDate());
+                CabinLayout layout = CabinLayout.of(flight.getCabinTemplate(), flight.getTotalSeats());
+                Map<Seat.SeatClass, Long> heldByClass = held.getOrDefault(flight.getId(), Map.of());
+                for (Seat.SeatClass seatClass : Seat.SeatClass.values()) {
+                    long available = layout.seatCount(seatClass) - heldByClass.getOrDefault(seatClass, 0L);
+                    if (available > 0) {
+                        flightsByDay.get(day).add(flight.getId());
+                        addFare(classesByDay.get(day), seatClass, available,
+                                flight.getBasePrice() * flight.getCabinTemplate().fareMultiplier(seatClass));
+                    }
+                }
+            }
+        }
+
+        List<FareCalendarDayDto> days = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            List<SeatClassFareDto> classes = new ArrayList<>(classesByDay.get(i).values());
+            Double lowestFare = classes.stream().map(SeatClassFareDto::getLowestFare).min(Double::compare).orElse(null);
+            days.add(new FareCalendarDayDto(from.plusDays(i), flightsByDay.get(i).size(), lowestFare, classes));
+        }
+        return days;
+    }
+
+    private static void addFare(Map<Seat.SeatClass, SeatClassFareDto> classes, Seat.SeatClass seatClass,
+                                long availableSeats, double fare) {
+        classes.merge(seatClass, new SeatClassFareDto(seatClass.name(), availableSeats, fare),
+                (a, b) -> new SeatClassFareDto(a.getSeatClass(), a.getAvailableSeats() + b.getAvailableSeats(),
+                        Math.min(a.getLowestFare(), b.getLowestFare())));
+    }
+
+    private Cache cache() {
+        Cache cache = cacheManager.getCache(CacheConfig.CACHE_FARE_CALENDAR);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CacheConfig.CACHE_FARE_CALENDAR + " is not configured");
+        }
+        return cache;
+    }
+
+    static String key(String origin, String destination, YearMonth month) {
+        return origin + "-" + destination + "-" + month;
+    }
+}
@@ -0,0 +1,27 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.Flight;
+
+/**
+ * Published by {@link FlightService} when a flight is created, updated or deleted, so in-memory
+ * flight indexes and derived caches can update incrementally. For deletions {@code flight} is the
+ * last state of the removed flight when it is known, otherwise {@code null}.
+ */
+public record FlightChangedEvent(Long flightId, Flight flight, boolean removed) {
+
+    public static FlightChangedEvent saved(Flight flight) {
+        return new FlightChangedEvent(flight.getId(), flight, false);
+    }
+
+    public static FlightChangedEvent deleted(Flight flight) {
+        return new FlightChangedEvent(flight.getId(), flight, true);
+    }
+
+    public static FlightChangedEvent deleted(Long flightId) {
+        return new FlightChangedEvent(flightId, null, true);
+    }
+
+    public boolean isDeleted() {
+        return removed;
+    }
+}
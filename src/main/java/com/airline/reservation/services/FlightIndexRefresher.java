@@ -0,0 +1,40 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.repositories.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reloads the in-memory flight indexes (the route index and the connection graph) from one read of the
+ * scheduled flights every {@code app.flights.index-refresh-ms}.
+ * {@link FlightChangedEvent}s only reach the node that made the change, so this is how flights created,
+ * rescheduled or cancelled on other nodes show up here. It also repairs a change lost to a reload
+ * that read the flights just before the change committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlightIndexRefresher {
+
+    private final FlightRepository flightRepository;
+    private final FlightRouteIndex routeIndex;
+    private final ConnectionSearchService connectionSearchService;
+
+    @Scheduled(initialDelayString = "${app.flights.index-refresh-ms:30000}",
+            fixedDelayString = "${app.flights.index-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            List<Flight> scheduled = flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED);
+            routeIndex.load(scheduled);
+            connectionSearchService.load(scheduled);
+        } catch (RuntimeException ex) {
+            // Keep the last load; the route index falls back to the database once it is too old
+            log.warn("Could not refresh flight indexes: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.repositories.FlightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scheduled flight ids by route and departure day, so {@link FlightService#searchFlights} can find a
+ * day's flights without querying. Each (origin, destination, epoch day) is packed into one {@code long}
+ * key of an open-addressing table whose values are flight ids sorted by departure time.
+ * <p>
+ * Loaded at startup and updated from {@link FlightChangedEvent}s after commit. Those only cover this
+ * node's changes, so {@link FlightIndexRefresher} reloads the index every {@code app.flights.index-refresh-ms}
+ * to pick up other nodes' flights; an index not reloaded within {@code app.flights.index-max-age-ms}
+ * stops covering routes and searches go to the database. Seat availability is not held here; callers
+ * load the flights by id to read it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlightRouteIndex {
+
+    private static final long[] NO_FLIGHTS = new long[0];
+
+    private final FlightRepository flightRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongTable<Day> days = new LongTable<>();
+    private LongTable<Long> keysByFlightId = new LongTable<>();
+    private volatile boolean loaded;
+    private volatile long loadedAtNanos;
+
+    @Value("${app.flights.index-max-age-ms:90000}")
+    private long maxAgeMs = 90000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED));
+    }
+
+    /** Replaces the index with the given scheduled flights. */
+    void load(List<Flight> scheduled) {
+        lock.writeLock().lock();
+        try {
+            days = new LongTable<>();
+            keysByFlightId = new LongTable<>();
+            for (Flight flight : scheduled) {
+                add(flight);
+            }
+            loaded = true;
+            loadedAtNanos = System.nanoTime();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Route index loaded with {} scheduled flights on {} route days", keysByFlightId.size(), days.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.flightId());
+        } else {
+            upsert(event.flight());
+        }
+    }
+
+    /** Whether lookups for this route can be answered from the index rather than the database. */
+    public boolean covers(String origin, String destination) {
+        return loaded && !olderThan(TimeUnit.MILLISECONDS.toNanos(maxAgeMs))
+                && packable(origin) && packable(destination);
+    }
+
+    boolean olderThan(long maxAgeNanos) {
+        return System.nanoTime() - loadedAtNanos > maxAgeNanos;
+    }
+
+    /** Ids of the scheduled flights on the route that depart on {@code date}, earliest first. */
+    public long[] flightIds(String origin, String destination, LocalDate date) {
+        return flightIds(origin, destination, date, date);
+    }
+
+    /** Ids of the scheduled flights on the route departing from {@code first} to {@code last} inclusive, in order. */
+    public long[] flightIds(String origin, String destination, LocalDate first, LocalDate last) {
+        long[] ids = NO_FLIGHTS;
+        lock.readLock().lock();
+        try {
+            for (long epochDay = first.toEpochDay(); epochDay <= last.toEpochDay(); epochDay++) {
+                Day day = days.get(key(origin, destination, epochDay));
+                if (day != null) {
+                    long[] joined = Arrays.copyOf(ids, ids.length + day.flightIds.length);
+                    System.arraycopy(day.flightIds, 0, joined, ids.length, day.flightIds.length);
+                    ids = joined;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    void upsert(Flight flight) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(flight.getId());
+            add(flight);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long flightId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(flightId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return keysByFlightId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Flight flight) {
+        if (flight.getId() == null || flight.getStatus() != Flight.FlightStatus.SCHEDULED
+                || flight.getDepartureTime() == null
+                || flight.getDepartureAirport() == null || flight.getArrivalAirport() == null) {
+            return;
+        }
+        String origin = flight.getDepartureAirport().getCode();
+        String destination = flight.getArrivalAirport().getCode();
+        if (!packable(origin) || !packable(destination)) {
+            return;
+        }
+        LocalDateTime departure = flight.getDepartureTime();
+        long key = key(origin, destination, departure.toLocalDate().toEpochDay());
+        Day day = days.get(key);
+        days.put(key, Day.with(day, flight.getId(), departure.toEpochSecond(ZoneOffset.UTC)));
+        keysByFlightId.put(flight.getId(), key);
+    }
+
+    private void removeLocked(Long flightId) {
+        if (flightId == null) {
+            return;
+        }
+        Long key = keysByFlightId.remove(flightId);
+        if (key != null) {
+            Day remaining = days.get(key).without(flightId);
+            if (remaining == null) {
+                days.remove(key);
+            } else {
+                days.put(key, remaining);
+            }
+        }
+    }
+
+    /** Three-letter codes in 7-bit ASCII fit the key; anything else is served from the database. */
+    static boolean packable(String code) {
+        return AirportRegistry.key(code) >= 0;
+    }
+
+    /** Origin and destination in the top 42 bits (7 per character), the epoch day in the low 22. */
+    static long key(String origin, String destination, long epochDay) {
+        return ((long) AirportRegistry.key(origin) << 43) | ((long) AirportRegistry.key(destination) << 22)
+                | (epochDay & 0x3F_FFFFL);
+    }
+
+    /** One route day: flight ids and departure times (epoch seconds), sorted by departure. Immutable. */
+    private static final class Day {
+
+        private final long[] flightIds;
+        private final long[] departures;
+
+        private Day(long[] flightIds, long[] departures) {
+            this.flightIds = flightIds;
+            this.departures = departures;
+        }
+
+        static Day with(Day day, long flightId, long departure) {
+            if (day == null) {
+                return new Day(new long[]{flightId}, new long[]{departure});
+            }
+            int n = day.flightIds.length;
+            int at = 0;
+            while (at < n && (day.departures[at] < departure
+                    || (day.departures[at] == departure && day.flightIds[at] < flightId))) {
+                at++;
+            }
+            long[] ids = new long[n + 1];
+            long[] times = new long[n + 1];
+            System.arraycopy(day.flightIds, 0, ids, 0, at);
+            System.arraycopy(day.departures, 0, times, 0, at);
+            ids[at] = flightId;
+            times[at] = departure;
+            System.arraycopy(day.flightIds, at, ids, at + 1, n - at);
+            System.arraycopy(day.departures, at, times, at + 1, n - at);
+            return new Day(ids, times);
+        }
+
+        /** This day without the flight, or {@code null} if it was the only one. */
+        Day without(long flightId) {
+            int at = 0;
+            while (at < flightIds.length && flightIds[at] != flightId) {
+                at++;
+            }
+            if (at == flightIds.length) {
+                return this;
+            }
+            if (flightIds.length == 1) {
+                return null;
+            }
+            long[] ids = new long[flightIds.length - 1];
+            long[] times = new long[flightIds.length - 1];
+            System.arraycopy(flightIds, 0, ids, 0, at);
+            System.arraycopy(departures, 0, times, 0, at);
+            System.arraycopy(flightIds, at + 1, ids, at, ids.length - at);
+            System.arraycopy(departures, at + 1, times, at, times.length - at);
+            return new Day(ids, times);
+        }
+    }
+
+    /**
+     * Open-addressing hash table with primitive {@code long} keys, linear probing and backward-shift
+     * deletion. Key {@code 0} marks an empty slot and cannot be stored. Not thread-safe.
+     */
+    static final class LongTable<V> {
+
+        private long[] keys = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(long key, V value) {
+            if (key == 0) {
+                throw new IllegalArgumentException("Key 0 is reserved");
+            }
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return null;
+                }
+                i = (i + 1) & mask;
+            }
+            V removed = (V) values[i];
+            // Shift later entries of the probe run back so lookups never stop at the hole
+            int hole = i;
+            for (int j = (hole + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = 0;
+            values[hole] = null;
+            size--;
+            return removed;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[capacity];
+            values = new Object[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != 0) {
+                    int i = slot(oldKeys[j], mask);
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
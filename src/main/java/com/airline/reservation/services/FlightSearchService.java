@@ -1,91 +1,168 @@
 package com.airline.reservation.services;
 
-import com.airline.reservation.dtos.ExternalFlightDto;
-import com.airline.reservation.dtos.FlightResponseDto;
 import com.airline.reservation.dtos.FlightSearchRequestDto;
 import com.airline.reservation.dtos.UnifiedFlightDto;
-import lombok.RequiredArgsConstructor;
+import com.airline.reservation.dtos.UnifiedSearchResultDto;
+import com.airline.reservation.dtos.UnifiedSearchSummaryDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Unified flight search: combines internal (DB) and external (Aviationstack) results.
- * Use {@link UnifiedFlightDto#isBookable()} to know if a flight can be booked.
+ * Unified flight search: queries every {@link FlightSource} (internal DB, Aviationstack, ...) concurrently
+ * on virtual threads under one deadline, so latency is that of the slowest source within budget rather
+ * than their sum. Sources that miss the deadline or fail are cancelled and reported, and the result is
+ * marked partial. Use {@link UnifiedFlightDto#isBookable()} to know if a flight can be booked.
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class FlightSearchService {
 
-    private final FlightService flightService;
-    private final ExternalFlightApiService externalFlightApiService;
+    private final List<FlightSource> sources;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.search.unified.deadline-ms:2500}")
+    private long deadlineMs = 2500;
+
+    public FlightSearchService(List<FlightSource> sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Receives each source's flights as soon as they are available to be passed on.
+     */
+    @FunctionalInterface
+    public interface ResultListener {
+        void onResults(FlightSource source, List<UnifiedFlightDto> flights);
+    }
 
     /**
-     * Search flights by route and optional date. Optionally include external (Aviationstack) results.
+     * Search flights by route and date across all sources.
      *
      * @param searchDto       departure/arrival codes and departure date
-     * @param includeExternal when true, also fetches from Aviationstack and merges results
-     * @return combined list (internal first, then external); each item has {@code source} and {@code bookable}
+     * @param includeExternal when false, external sources are skipped
+     * @return flights in source order (internal first, then external), each with {@code source} and
+     *         {@code bookable}, plus which sources did not answer in time
      */
-    public List<UnifiedFlightDto> searchUnified(FlightSearchRequestDto searchDto, boolean includeExternal) {
-        List<UnifiedFlightDto> combined = new ArrayList<>();
+    public UnifiedSearchResultDto searchUnified(FlightSearchRequestDto searchDto, boolean includeExternal) {
+        Map<FlightSource, List<UnifiedFlightDto>> bySource = new IdentityHashMap<>();
+        UnifiedSearchSummaryDto summary = streamUnified(searchDto, includeExternal, bySource::put);
 
-        List<FlightResponseDto> internal = flightService.searchFlights(searchDto);
-        combined.addAll(internal.stream().map(this::toUnified).collect(Collectors.toList()));
+        List<UnifiedFlightDto> flights = new ArrayList<>();
+        for (FlightSource source : sources) {
+            flights.addAll(bySource.getOrDefault(source, List.of()));
+        }
+        return new UnifiedSearchResultDto(flights, summary.isPartial(), summary.getMissingSources());
+    }
 
-        if (includeExternal) {
-            String dep = searchDto.getDepartureAirportCode().trim().toUpperCase();
-            String arr = searchDto.getArrivalAirportCode().trim().toUpperCase();
-            List<ExternalFlightDto> external = externalFlightApiService.fetchFlightsByRoute(dep, arr);
-            combined.addAll(external.stream().map(this::toUnified).collect(Collectors.toList()));
+    /**
+     * Like {@link #searchUnified}, but hands each source's flights to {@code listener} on the calling thread
+     * as they arrive: internal sources first, in order, then external sources in the order they answer.
+     * If the listener throws, the remaining sources are cancelled and the exception propagates.
+     *
+     * @return which sources did not answer before the deadline or failed
+     */
+    public UnifiedSearchSummaryDto streamUnified(FlightSearchRequestDto searchDto, boolean includeExternal,
+                                                 ResultListener listener) {
+        CompletionService<SourceResult> completion = new ExecutorCompletionService<>(executor);
+        Map<FlightSource, Future<SourceResult>> pending = new LinkedHashMap<>();
+        for (FlightSource source : sources) {
+            if (includeExternal || !source.isExternal()) {
+                pending.put(source, completion.submit(() -> SourceResult.of(source, searchDto)));
+            }
         }
 
-        return combined;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        List<String> missing = new ArrayList<>();
+        try {
+            // Internal sources first, in order, so bookable flights always lead
+            for (FlightSource source : List.copyOf(pending.keySet())) {
+                if (!source.isExternal()) {
+                    SourceResult result = awaitInternal(source, pending.remove(source), deadline);
+                    deliver(result, listener, missing);
+                }
+            }
+            // Then external sources as each one answers
+            while (!pending.isEmpty()) {
+                Future<SourceResult> done = completion.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                if (done.isCancelled()) {
+                    // An internal source that missed the deadline; it has been reported already
+                    continue;
+                }
+                SourceResult result = done.get();
+                if (pending.remove(result.source()) != null) {
+                    deliver(result, listener, missing);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // SourceResult.of catches source failures, so only cancellation-related errors get here
+            log.warn("Unified search task failed: {}", e.getCause().getMessage());
+        } finally {
+            for (Map.Entry<FlightSource, Future<SourceResult>> entry : pending.entrySet()) {
+                entry.getValue().cancel(true);
+                missing.add(entry.getKey().name());
+                log.warn("Flight source '{}' missed the {} ms unified-search deadline", entry.getKey().name(), deadlineMs);
+            }
+        }
+        return new UnifiedSearchSummaryDto(true, !missing.isEmpty(), missing);
     }
 
-    private UnifiedFlightDto toUnified(FlightResponseDto r) {
-        UnifiedFlightDto u = new UnifiedFlightDto();
-        u.setSource(UnifiedFlightDto.SOURCE_INTERNAL);
-        u.setBookable(true);
-        u.setInternalFlightId(r.getId());
-        u.setId(String.valueOf(r.getId()));
-        u.setFlightNumber(r.getFlightNumber());
-        u.setAirlineName(r.getAirlineName());
-        u.setDepartureTime(r.getDepartureTime());
-        u.setArrivalTime(r.getArrivalTime());
-        u.setBasePrice(r.getBasePrice());
-        u.setTotalSeats(r.getTotalSeats());
-        u.setAvailableSeats(r.getAvailableSeats());
-        if (r.getDepartureAirport() != null) {
-            u.setDepartureAirportCode(r.getDepartureAirport().getCode());
-            u.setDepartureAirportName(r.getDepartureAirport().getName());
+    private static SourceResult awaitInternal(FlightSource source, Future<SourceResult> future, long deadline)
+            throws InterruptedException, ExecutionException {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return new SourceResult(source, null, e);
         }
-        if (r.getArrivalAirport() != null) {
-            u.setArrivalAirportCode(r.getArrivalAirport().getCode());
-            u.setArrivalAirportName(r.getArrivalAirport().getName());
+    }
+
+    private void deliver(SourceResult result, ResultListener listener, List<String> missing) {
+        if (result.error() == null) {
+            listener.onResults(result.source(), result.flights());
+        } else if (result.error() instanceof TimeoutException) {
+            missing.add(result.source().name());
+            log.warn("Flight source '{}' missed the {} ms unified-search deadline", result.source().name(), deadlineMs);
+        } else {
+            missing.add(result.source().name());
+            log.warn("Flight source '{}' failed: {}", result.source().name(), result.error().getMessage());
         }
-        return u;
     }
 
-    private UnifiedFlightDto toUnified(ExternalFlightDto e) {
-        UnifiedFlightDto u = new UnifiedFlightDto();
-        u.setSource(UnifiedFlightDto.SOURCE_EXTERNAL);
-        u.setBookable(false);
-        u.setInternalFlightId(null);
-        u.setId(e.getId());
-        u.setFlightNumber(e.getFlightNumber());
-        u.setAirlineName(e.getAirline());
-        u.setDepartureAirportCode(e.getOrigin());
-        u.setArrivalAirportCode(e.getDestination());
-        u.setDepartureAirportName(e.getOrigin());
-        u.setArrivalAirportName(e.getDestination());
-        u.setBasePrice(e.getPrice());
-        u.setDepartureTime(e.getDepartureTime());
-        u.setArrivalTime(e.getArrivalTime());
-        u.setTotalSeats(null);
-        u.setAvailableSeats(null);
-        return u;
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** A source's flights, or the exception it failed with. */
+    private record SourceResult(FlightSource source, List<UnifiedFlightDto> flights, Exception error) {
+
+        static SourceResult of(FlightSource source, FlightSearchRequestDto searchDto) {
+            try {
+                return new SourceResult(source, source.search(searchDto), null);
+            } catch (Exception e) {
+                return new SourceResult(source, null, e);
+            }
+        }
     }
 }
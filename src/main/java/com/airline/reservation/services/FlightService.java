@@ -1,32 +1,35 @@
 package com.airline.reservation.services;
 
-import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.dtos.ExternalFlightDto;
 import com.airline.reservation.dtos.FlightRequestDto;
 import com.airline.reservation.dtos.FlightResponseDto;
 import com.airline.reservation.dtos.FlightSearchRequestDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
 import com.airline.reservation.exceptions.InvalidBookingException;
 import com.airline.reservation.exceptions.ResourceAlreadyExistsException;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.CabinTemplate;
 import com.airline.reservation.models.Flight;
-import com.airline.reservation.models.Seat;
 import com.airline.reservation.repositories.AirportRepository;
 import com.airline.reservation.repositories.FlightRepository;
-import com.airline.reservation.repositories.SeatRepository;
 import com.airline.reservation.configs.CacheConfig;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service class for Flight operations
@@ -35,13 +38,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FlightService {
     
+    static final int MAX_SEARCH_DAYS = 31;
+    
     private final FlightRepository flightRepository;
     private final AirportRepository airportRepository;
-    private final SeatRepository seatRepository;
-    private final ModelMapper modelMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final FlightRouteIndex routeIndex;
+    private final AirportRegistry airportRegistry;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
-    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_SEATS}, allEntries = true)
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_FLIGHT_PAGES, CacheConfig.CACHE_SEATS}, allEntries = true)
     public FlightResponseDto createFlight(FlightRequestDto requestDto) {
         // Check if flight number already exists
         if (flightRepository.findByFlightNumber(requestDto.getFlightNumber()).isPresent()) {
@@ -65,6 +72,13 @@ public class FlightService {
             throw new InvalidBookingException("Arrival time must be after departure time");
         }
         
+        // Seats come from whole template rows, so availability must count exactly the seats they hold
+        CabinTemplate cabinTemplate = CabinTemplate.SIX_ABREAST;
+        if (!CabinLayout.fits(cabinTemplate, requestDto.getTotalSeats())) {
+            throw new InvalidBookingException("Total seats must be a multiple of " + cabinTemplate.letters().length()
+                    + " and at most " + CabinLayout.maxSeats(cabinTemplate));
+        }
+        
         Flight flight = new Flight();
         flight.setFlightNumber(requestDto.getFlightNumber());
         flight.setAirlineName(requestDto.getAirlineName());
@@ -76,56 +90,22 @@ public class FlightService {
         flight.setAvailableSeats(requestDto.getTotalSeats());
         flight.setBasePrice(requestDto.getBasePrice());
         flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        // Seats come from the template; rows are only inserted as seats get held
+        flight.setCabinTemplate(cabinTemplate);
         
         Flight savedFlight = flightRepository.save(flight);
+        eventPublisher.publishEvent(FlightChangedEvent.saved(savedFlight));
         
-        // Create seats for the flight
-        createSeatsForFlight(savedFlight);
-        
-        return convertToResponseDto(savedFlight);
-    }
-    
-    private void createSeatsForFlight(Flight flight) {
-        List<Seat> seats = new ArrayList<>();
-        int totalSeats = flight.getTotalSeats();
-        int seatsPerRow = 6; // Assuming 6 seats per row (A-F)
-        
-        for (int row = 1; row <= (totalSeats / seatsPerRow); row++) {
-            for (char seatLetter = 'A'; seatLetter < 'A' + seatsPerRow; seatLetter++) {
-                Seat seat = new Seat();
-                seat.setFlight(flight);
-                seat.setSeatNumber(row + String.valueOf(seatLetter));
-                
-                // Assign seat class based on row
-                if (row <= 2) {
-                    seat.setSeatClass(Seat.SeatClass.FIRST_CLASS);
-                    seat.setPrice(flight.getBasePrice() * 3);
-                } else if (row <= 5) {
-                    seat.setSeatClass(Seat.SeatClass.BUSINESS);
-                    seat.setPrice(flight.getBasePrice() * 2);
-                } else if (row <= 10) {
-                    seat.setSeatClass(Seat.SeatClass.PREMIUM_ECONOMY);
-                    seat.setPrice(flight.getBasePrice() * 1.5);
-                } else {
-                    seat.setSeatClass(Seat.SeatClass.ECONOMY);
-                    seat.setPrice(flight.getBasePrice());
-                }
-                
-                seat.setStatus(Seat.SeatStatus.AVAILABLE);
-                seats.add(seat);
-            }
-        }
-        
-        seatRepository.saveAll(seats);
+        return ResponseDtoMapper.toFlightDto(savedFlight, airportRegistry::dto);
     }
     
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = CacheConfig.CACHE_FLIGHTS, key = "#id")
     public FlightResponseDto getFlightById(Long id) {
-        Flight flight = flightRepository.findById(id)
+        Flight flight = flightRepository.findWithAirportsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", id));
         
-        return convertToResponseDto(flight);
+        return ResponseDtoMapper.toFlightDto(flight, airportRegistry::dto);
     }
     
     @Transactional(readOnly = true)
@@ -134,63 +114,105 @@ public class FlightService {
         Flight flight = flightRepository.findByFlightNumber(flightNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", "flightNumber", flightNumber));
         
-        return convertToResponseDto(flight);
+        return ResponseDtoMapper.toFlightDto(flight, airportRegistry::dto);
     }
     
+    /**
+     * Bookable flights on the route departing on {@code departureDate}, or on any day up to and including
+     * {@code departureDateTo} when that is set. Only single-day searches are cached; a booking evicts
+     * exactly the single-day key it affects.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_FLIGHTS, key = "#searchDto.departureAirportCode + '-' + #searchDto.arrivalAirportCode + '-' + #searchDto.departureDate")
+    @Cacheable(cacheNames = CacheConfig.CACHE_FLIGHTS, key = "#searchDto.departureAirportCode.toUpperCase() + '-' + #searchDto.arrivalAirportCode.toUpperCase() + '-' + #searchDto.departureDate",
+            condition = "#searchDto.departureDateTo == null")
     public List<FlightResponseDto> searchFlights(FlightSearchRequestDto searchDto) {
-        LocalDateTime startOfDay = searchDto.getDepartureDate().atStartOfDay();
-        LocalDateTime endOfDay = searchDto.getDepartureDate().atTime(23, 59, 59);
+        String departureCode = searchDto.getDepartureAirportCode().toUpperCase();
+        String arrivalCode = searchDto.getArrivalAirportCode().toUpperCase();
+        LocalDate firstDay = searchDto.getDepartureDate();
+        LocalDate lastDay = searchDto.getDepartureDateTo() != null ? searchDto.getDepartureDateTo() : firstDay;
+        if (lastDay.isBefore(firstDay)) {
+            throw new InvalidBookingException("Departure date range end must not be before its start");
+        }
+        if (ChronoUnit.DAYS.between(firstDay, lastDay) >= MAX_SEARCH_DAYS) {
+            throw new InvalidBookingException("Departure date range cannot span more than " + MAX_SEARCH_DAYS + " days");
+        }
+        if (routeIndex.covers(departureCode, arrivalCode)) {
+            return searchIndexedFlights(departureCode, arrivalCode, firstDay, lastDay);
+        }
         
-        List<Flight> flights = flightRepository.searchAvailableFlights(
-                searchDto.getDepartureAirportCode().toUpperCase(),
-                searchDto.getArrivalAirportCode().toUpperCase(),
-                startOfDay
-        );
+        return flightRepository.searchAvailableFlightsBetween(departureCode, arrivalCode,
+                firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay());
+    }
+    
+    /**
+     * Takes the flight ids of each day from the route index and reads just those rows by primary key
+     * for their current availability, keeping the index's departure order.
+     */
+    private List<FlightResponseDto> searchIndexedFlights(String departureCode, String arrivalCode,
+                                                         LocalDate firstDay, LocalDate lastDay) {
+        long[] ids = routeIndex.flightIds(departureCode, arrivalCode, firstDay, lastDay);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, FlightResponseDto> flightsById = new HashMap<>();
+        for (FlightResponseDto flight : flightRepository.findAvailableFlightsByIdIn(idList)) {
+            flightsById.put(flight.getId(), flight);
+        }
         
-        return flights.stream()
-                .filter(f -> f.getDepartureTime().isBefore(endOfDay))
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        List<FlightResponseDto> results = new ArrayList<>(flightsById.size());
+        for (Long id : idList) {
+            FlightResponseDto flight = flightsById.get(id);
+            if (flight != null) {
+                results.add(flight);
+            }
+        }
+        return results;
     }
     
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_FLIGHTS, key = "'all'")
-    public List<FlightResponseDto> getAllFlights() {
-        return flightRepository.findAll().stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    @Cacheable(cacheNames = CacheConfig.CACHE_FLIGHT_PAGES, key = "#cursor + ':' + #size")
+    public CursorPageDto<FlightResponseDto> getFlights(String cursor, Integer size) {
+        int limit = PageCursor.size(size);
+        return PageCursor.page(flightRepository.findFlightDtosAfter(PageCursor.afterId(cursor), Limit.of(limit + 1)),
+                limit, FlightResponseDto::getId);
     }
     
     @Transactional
-    @CacheEvict(cacheNames = CacheConfig.CACHE_FLIGHTS, allEntries = true)
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_FLIGHT_PAGES}, allEntries = true)
     public FlightResponseDto updateFlightStatus(Long id, String status) {
-        Flight flight = flightRepository.findById(id)
+        Flight flight = flightRepository.findWithAirportsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", id));
         
         flight.setStatus(Flight.FlightStatus.valueOf(status.toUpperCase()));
         Flight updatedFlight = flightRepository.save(flight);
+        eventPublisher.publishEvent(FlightChangedEvent.saved(updatedFlight));
         
-        return convertToResponseDto(updatedFlight);
+        return ResponseDtoMapper.toFlightDto(updatedFlight, airportRegistry::dto);
     }
     
     @Transactional
-    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_SEATS}, allEntries = true)
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_FLIGHT_PAGES, CacheConfig.CACHE_SEATS}, allEntries = true)
     public void deleteFlight(Long id) {
-        if (!flightRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Flight", id);
-        }
-        flightRepository.deleteById(id);
+        Flight flight = flightRepository.findWithAirportsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight", id));
+        flightRepository.delete(flight);
+        seatInventoryService.evict(id);
+        eventPublisher.publishEvent(FlightChangedEvent.deleted(flight));
     }
 
     /**
      * Import an external (Aviationstack) flight into the internal system.
-     * Creates placeholder airports by IATA if they don't exist, then creates the flight and seats.
+     * Creates placeholder airports by IATA if they don't exist, then creates the flight, whose seats
+     * come from its cabin template.
      * The resulting flight can be used for booking like any internal flight.
      */
     @Transactional
-    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_SEATS, CacheConfig.CACHE_AIRPORTS}, allEntries = true)
+    @CacheEvict(cacheNames = {CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_FLIGHT_PAGES, CacheConfig.CACHE_SEATS,
+            CacheConfig.CACHE_AIRPORTS}, allEntries = true)
     public FlightResponseDto importExternalFlight(ExternalFlightDto external) {
         if (external.getFlightNumber() == null || external.getFlightNumber().isBlank()) {
             throw new InvalidBookingException("External flight number is required");
@@ -232,10 +254,11 @@ public class FlightService {
         flight.setAvailableSeats(totalSeats);
         flight.setBasePrice(price);
         flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
 
         Flight saved = flightRepository.save(flight);
-        createSeatsForFlight(saved);
-        return convertToResponseDto(saved);
+        eventPublisher.publishEvent(FlightChangedEvent.saved(saved));
+        return ResponseDtoMapper.toFlightDto(saved, airportRegistry::dto);
     }
 
     private Airport getOrCreateAirportByCode(String code, String name) {
@@ -246,24 +269,10 @@ public class FlightService {
                     a.setName(name);
                     a.setCity("-");
                     a.setCountry("-");
-                    return airportRepository.save(a);
+                    Airport saved = airportRepository.save(a);
+                    eventPublisher.publishEvent(AirportChangedEvent.saved(ResponseDtoMapper.toAirportDto(saved)));
+                    return saved;
                 });
     }
-    
-    private FlightResponseDto convertToResponseDto(Flight flight) {
-        FlightResponseDto responseDto = new FlightResponseDto();
-        responseDto.setId(flight.getId());
-        responseDto.setFlightNumber(flight.getFlightNumber());
-        responseDto.setAirlineName(flight.getAirlineName());
-        responseDto.setDepartureAirport(modelMapper.map(flight.getDepartureAirport(), AirportResponseDto.class));
-        responseDto.setArrivalAirport(modelMapper.map(flight.getArrivalAirport(), AirportResponseDto.class));
-        responseDto.setDepartureTime(flight.getDepartureTime());
-        responseDto.setArrivalTime(flight.getArrivalTime());
-        responseDto.setTotalSeats(flight.getTotalSeats());
-        responseDto.setAvailableSeats(flight.getAvailableSeats());
-        responseDto.setBasePrice(flight.getBasePrice());
-        responseDto.setStatus(flight.getStatus().toString());
-        return responseDto;
-    }
 }
 
@@ -0,0 +1,22 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.FlightSearchRequestDto;
+import com.airline.reservation.dtos.UnifiedFlightDto;
+
+import java.util.List;
+
+/**
+ * A provider of flights for unified search. {@link FlightSearchService} queries every source
+ * concurrently under one deadline and merges results in bean order ({@code @Order}). Each call runs
+ * on its own virtual thread and may be interrupted when the deadline passes.
+ */
+public interface FlightSource {
+
+    /** Short name reported when the source misses the deadline or fails, e.g. {@code internal}. */
+    String name();
+
+    /** External sources are only queried when the caller asks to include external results. */
+    boolean isExternal();
+
+    List<UnifiedFlightDto> search(FlightSearchRequestDto searchDto);
+}
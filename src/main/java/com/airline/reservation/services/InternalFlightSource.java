@@ -0,0 +1,63 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.FlightSearchRequestDto;
+import com.airline.reservation.dtos.UnifiedFlightDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bookable flights from the internal database, via {@link FlightService#searchFlights}.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class InternalFlightSource implements FlightSource {
+
+    private final FlightService flightService;
+
+    @Override
+    public String name() {
+        return UnifiedFlightDto.SOURCE_INTERNAL;
+    }
+
+    @Override
+    public boolean isExternal() {
+        return false;
+    }
+
+    @Override
+    public List<UnifiedFlightDto> search(FlightSearchRequestDto searchDto) {
+        return flightService.searchFlights(searchDto).stream()
+                .map(InternalFlightSource::toUnified)
+                .collect(Collectors.toList());
+    }
+
+    static UnifiedFlightDto toUnified(FlightResponseDto r) {
+        UnifiedFlightDto u = new UnifiedFlightDto();
+        u.setSource(UnifiedFlightDto.SOURCE_INTERNAL);
+        u.setBookable(true);
+        u.setInternalFlightId(r.getId());
+        u.setId(String.valueOf(r.getId()));
+        u.setFlightNumber(r.getFlightNumber());
+        u.setAirlineName(r.getAirlineName());
+        u.setDepartureTime(r.getDepartureTime());
+        u.setArrivalTime(r.getArrivalTime());
+        u.setBasePrice(r.getBasePrice());
+        u.setTotalSeats(r.getTotalSeats());
+        u.setAvailableSeats(r.getAvailableSeats());
+        if (r.getDepartureAirport() != null) {
+            u.setDepartureAirportCode(r.getDepartureAirport().getCode());
+            u.setDepartureAirportName(r.getDepartureAirport().getName());
+        }
+        if (r.getArrivalAirport() != null) {
+            u.setArrivalAirportCode(r.getArrivalAirport().getCode());
+            u.setArrivalAirportName(r.getArrivalAirport().getName());
+        }
+        return u;
+    }
+}
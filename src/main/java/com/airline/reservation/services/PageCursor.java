@@ -0,0 +1,78 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.CursorPageDto;
+import com.airline.reservation.exceptions.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination on entity id. A page is the next {@code size} rows with an id greater than the last
+ * one the client saw, which the continuation token carries; every page costs one index range scan no
+ * matter how deep the client has paged.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    /** The requested page size, defaulted and capped at {@link #MAX_SIZE}. */
+    public static int size(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        if (requested < 1) {
+            throw new InvalidRequestException("Page size must be at least 1");
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /** The id after which the page starts; {@code 0} for the first page. */
+    public static long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(PREFIX)) {
+                return Long.parseLong(decoded.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below; NumberFormatException is an IllegalArgumentException
+        }
+        throw new InvalidRequestException("Invalid page cursor");
+    }
+
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A page of {@code rows} fetched with a limit of {@code size + 1} in id order. The extra row only
+     * tells whether another page follows.
+     */
+    public static <T> CursorPageDto<T> page(List<T> rows, int size, ToLongFunction<T> id) {
+        return page(rows, size, id, Function.identity());
+    }
+
+    /**
+     * Like {@link #page(List, int, ToLongFunction)}, mapping each row to its response item.
+     */
+    public static <E, T> CursorPageDto<T> page(List<E> rows, int size, ToLongFunction<E> id, Function<E, T> mapper) {
+        boolean more = rows.size() > size;
+        List<E> pageRows = more ? rows.subList(0, size) : rows;
+        List<T> items = pageRows.stream().map(mapper).collect(Collectors.toList());
+        String next = more ? encode(id.applyAsLong(pageRows.get(size - 1))) : null;
+        return new CursorPageDto<>(items, next);
+    }
+}
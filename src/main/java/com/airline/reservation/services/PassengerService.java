@@ -1,18 +1,19 @@
 package com.airline.reservation.services;
 
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.dtos.PassengerRequestDto;
 import com.airline.reservation.dtos.PassengerResponseDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
 import com.airline.reservation.exceptions.ResourceAlreadyExistsException;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Passenger;
 import com.airline.reservation.repositories.PassengerRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service class for Passenger operations
@@ -37,9 +38,10 @@ public class PassengerService {
         }
         
         Passenger passenger = modelMapper.map(requestDto, Passenger.class);
-        Passenger savedPassenger = passengerRepository.save(passenger);
+        // Flushed so the response carries the insert's createdAt
+        Passenger savedPassenger = passengerRepository.saveAndFlush(passenger);
         
-        return modelMapper.map(savedPassenger, PassengerResponseDto.class);
+        return ResponseDtoMapper.toPassengerDto(savedPassenger);
     }
     
     @Transactional(readOnly = true)
@@ -47,7 +49,7 @@ public class PassengerService {
         Passenger passenger = passengerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger", id));
         
-        return modelMapper.map(passenger, PassengerResponseDto.class);
+        return ResponseDtoMapper.toPassengerDto(passenger);
     }
     
     @Transactional(readOnly = true)
@@ -55,14 +57,14 @@ public class PassengerService {
         Passenger passenger = passengerRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger", "email", email));
         
-        return modelMapper.map(passenger, PassengerResponseDto.class);
+        return ResponseDtoMapper.toPassengerDto(passenger);
     }
     
     @Transactional(readOnly = true)
-    public List<PassengerResponseDto> getAllPassengers() {
-        return passengerRepository.findAll().stream()
-                .map(passenger -> modelMapper.map(passenger, PassengerResponseDto.class))
-                .collect(Collectors.toList());
+    public CursorPageDto<PassengerResponseDto> getPassengers(String cursor, Integer size) {
+        int limit = PageCursor.size(size);
+        return PageCursor.page(passengerRepository.findPassengerDtosAfter(PageCursor.afterId(cursor), Limit.of(limit + 1)),
+                limit, PassengerResponseDto::getId);
     }
     
     @Transactional
@@ -79,7 +81,7 @@ public class PassengerService {
         modelMapper.map(requestDto, passenger);
         Passenger updatedPassenger = passengerRepository.save(passenger);
         
-        return modelMapper.map(updatedPassenger, PassengerResponseDto.class);
+        return ResponseDtoMapper.toPassengerDto(updatedPassenger);
     }
     
     @Transactional
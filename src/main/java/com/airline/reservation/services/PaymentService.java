@@ -1,5 +1,6 @@
 package com.airline.reservation.services;
 
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.dtos.PaymentRequestDto;
 import com.airline.reservation.dtos.PaymentResponseDto;
 import com.airline.reservation.exceptions.InvalidBookingException;
@@ -10,13 +11,12 @@ import com.airline.reservation.models.Payment;
 import com.airline.reservation.repositories.BookingRepository;
 import com.airline.reservation.repositories.PaymentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service class for Payment operations
@@ -31,16 +31,19 @@ public class PaymentService {
     @Transactional
     public PaymentResponseDto processPayment(PaymentRequestDto requestDto) {
         // Validate booking
-        Booking booking = bookingRepository.findById(requestDto.getBookingId())
+        Booking booking = bookingRepository.findWithPaymentById(requestDto.getBookingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", requestDto.getBookingId()));
         
         // Check booking status
         if (booking.getStatus() != Booking.BookingStatus.PENDING) {
             throw new InvalidBookingException("Cannot process payment for booking with status: " + booking.getStatus());
         }
+        if (SeatHoldService.isExpired(booking)) {
+            throw new InvalidBookingException("The seat hold for this booking has expired");
+        }
         
         // Check if payment already exists
-        if (paymentRepository.findByBooking(booking).isPresent()) {
+        if (booking.getPayment() != null) {
             throw new InvalidBookingException("Payment already processed for this booking");
         }
         
@@ -58,9 +61,11 @@ public class PaymentService {
         if (paymentSuccess) {
             payment.setStatus(Payment.PaymentStatus.SUCCESS);
             
-            // Update booking status to confirmed
+            // Update booking status to confirmed, unless the hold expired while the payment went through
+            if (bookingRepository.confirmIfHeld(booking.getId(), LocalDateTime.now()) == 0) {
+                throw new InvalidBookingException("The seat hold for this booking has expired");
+            }
             booking.setStatus(Booking.BookingStatus.CONFIRMED);
-            bookingRepository.save(booking);
         } else {
             payment.setStatus(Payment.PaymentStatus.FAILED);
             throw new PaymentFailedException("Payment processing failed");
@@ -73,7 +78,7 @@ public class PaymentService {
     
     @Transactional(readOnly = true)
     public PaymentResponseDto getPaymentById(Long id) {
-        Payment payment = paymentRepository.findById(id)
+        Payment payment = paymentRepository.findWithBookingById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", id));
         
         return convertToResponseDto(payment);
@@ -89,20 +94,21 @@ public class PaymentService {
     
     @Transactional(readOnly = true)
     public PaymentResponseDto getPaymentByBookingId(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId));
-        
-        Payment payment = paymentRepository.findByBooking(booking)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment not found for booking ID: " + bookingId));
+        Payment payment = paymentRepository.findByBookingId(bookingId).orElseThrow(() -> {
+            if (!bookingRepository.existsById(bookingId)) {
+                return new ResourceNotFoundException("Booking", bookingId);
+            }
+            return new ResourceNotFoundException("Payment not found for booking ID: " + bookingId);
+        });
         
         return convertToResponseDto(payment);
     }
     
     @Transactional(readOnly = true)
-    public List<PaymentResponseDto> getAllPayments() {
-        return paymentRepository.findAll().stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<PaymentResponseDto> getPayments(String cursor, Integer size) {
+        int limit = PageCursor.size(size);
+        return PageCursor.page(paymentRepository.findPaymentDtosAfter(PageCursor.afterId(cursor), Limit.of(limit + 1)),
+                limit, PaymentResponseDto::getId);
     }
     
     private boolean processPaymentGateway(Payment payment) {
@@ -0,0 +1,192 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.Booking;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.repositories.BookingRepository;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Seat holds: a PENDING booking keeps its seat for {@code app.bookings.hold-ttl-ms}, then the seat
+ * goes back on sale unless the booking was paid for.
+ * <p>
+ * Expiries are tracked in a {@link TimingWheel} with one-second ticks, so taking a hold costs the
+ * same however many are open. Every {@code app.bookings.hold-sweep-ms} the due bookings are expired
+ * in batches of {@value #RELEASE_BATCH_SIZE}: one statement for the bookings, then one for the seats
+ * and one for the availability counter of each flight. The database decides, so bookings confirmed
+ * or cancelled in the meantime are skipped. The wheel is rebuilt from the pending bookings at startup.
+ * <p>
+ * A timer only exists on the node that took the hold, so every {@code app.bookings.hold-db-sweep-ms}
+ * the database is also searched for holds that ran out unexpired, such as those of a node that crashed
+ * or was scaled away, and they are released the same way.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatHoldService {
+
+    static final long TICK_MS = 1000;
+    static final int WHEEL_SIZE = 64;
+    static final int RELEASE_BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final SeatRepository seatRepository;
+    private final FlightRepository flightRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final TimingWheel<Long> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+
+    @Value("${app.bookings.hold-ttl-ms:900000}")
+    private long holdTtlMs = 900000;
+
+    /** When a hold taken now expires, in whole seconds so the stored value compares exactly. */
+    public LocalDateTime newHoldExpiry() {
+        return LocalDateTime.now().plus(holdTtlMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /** Whether the booking's hold has run out, though the sweep may not have expired it yet. */
+    public static boolean isExpired(Booking booking) {
+        return booking.getHoldExpiresAt() != null && !booking.getHoldExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    /** Starts the timer of a saved booking's hold. Harmless if the booking is rolled back. */
+    public void track(Booking booking) {
+        schedule(booking.getId(), toEpochMilli(booking.getHoldExpiresAt()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookingRepository.PendingHold> holds = new TransactionTemplate(transactionManager).execute(status -> {
+            bookingRepository.startUntimedHolds(newHoldExpiry());
+            return bookingRepository.findPendingHolds();
+        });
+        holds.forEach(hold -> schedule(hold.getId(), toEpochMilli(hold.getHoldExpiresAt())));
+        log.info("Seat hold timers rebuilt for {} pending bookings", holds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.bookings.hold-sweep-ms:1000}")
+    public void expireHolds() {
+        expireHolds(System.currentTimeMillis());
+    }
+
+    @Scheduled(initialDelayString = "${app.bookings.hold-db-sweep-ms:60000}",
+            fixedDelayString = "${app.bookings.hold-db-sweep-ms:60000}")
+    public void sweepDatabase() {
+        sweepDatabase(System.currentTimeMillis());
+    }
+
+    /**
+     * Expires the holds that are due at {@code nowMs}.
+     * @return the number of bookings expired
+     */
+    int expireHolds(long nowMs) {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(nowMs, due::add);
+        }
+        LocalDateTime now = toLocalDateTime(nowMs);
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += RELEASE_BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(from + RELEASE_BATCH_SIZE, due.size()));
+            try {
+                expired += new TransactionTemplate(transactionManager).execute(status -> release(batch, now));
+            } catch (RuntimeException ex) {
+                // Try these again on the next sweep
+                log.warn("Could not expire {} seat holds: {}", batch.size(), ex.getMessage());
+                batch.forEach(bookingId -> schedule(bookingId, nowMs));
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} seat holds", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Expires the holds the database has as run out at {@code nowMs}, whether or not a timer on this
+     * node knows about them. A batch that fails is left for the next sweep.
+     * @return the number of bookings expired
+     */
+    int sweepDatabase(long nowMs) {
+        LocalDateTime now = toLocalDateTime(nowMs);
+        int expired = 0;
+        while (true) {
+            List<Long> due = bookingRepository.findExpiredHoldIds(now, Limit.of(RELEASE_BATCH_SIZE));
+            if (due.isEmpty()) {
+                break;
+            }
+            int released;
+            try {
+                released = new TransactionTemplate(transactionManager).execute(status -> release(due, now));
+            } catch (RuntimeException ex) {
+                log.warn("Could not expire {} overdue seat holds: {}", due.size(), ex.getMessage());
+                break;
+            }
+            expired += released;
+            if (due.size() < RELEASE_BATCH_SIZE || released == 0) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} overdue seat holds found in the database", expired);
+        }
+        return expired;
+    }
+
+    private int release(List<Long> bookingIds, LocalDateTime now) {
+        List<BookingRepository.ExpiredHold> holds = bookingRepository.lockExpiredHolds(bookingIds, now);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.expireAll(holds.stream().map(BookingRepository.ExpiredHold::getId).toList());
+
+        Map<Long, List<Long>> seatsByFlight = holds.stream().collect(Collectors.groupingBy(
+                BookingRepository.ExpiredHold::getFlightId,
+                Collectors.mapping(BookingRepository.ExpiredHold::getSeatId, Collectors.toList())));
+        for (Flight flight : flightRepository.findWithAirportsByIdIn(seatsByFlight.keySet())) {
+            List<Long> seatIds = seatsByFlight.get(flight.getId());
+            int released = seatRepository.releaseAllIfReserved(seatIds);
+            if (released > 0) {
+                flightRepository.incrementAvailableSeatsBy(flight.getId(), released);
+            }
+            seatIds.forEach(seatId -> seatInventoryService.release(flight.getId(), seatId));
+            cacheInvalidationService.evictFlight(flight, seatIds);
+        }
+        return holds.size();
+    }
+
+    private void schedule(Long bookingId, long deadlineMs) {
+        synchronized (wheel) {
+            wheel.schedule(bookingId, deadlineMs);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,403 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.exceptions.SeatNotAvailableException;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory seat inventory holding one packed availability bitmap per flight.
+ *
+ * Bitmaps are filled lazily from {@link SeatRepository#findSeatMapByFlightId} and seats are claimed with CAS.
+ * The seats table stays authoritative: a successful in-memory claim is confirmed by the conditional
+ * updates in {@link BookingService}, and a rolled back claim simply puts the bit back. Only a set
+ * (available) bit is trusted as is; a seat whose bit is clear is looked up by id before it is refused,
+ * because another node may have released it since the map was loaded. Seat maps are reloaded after
+ * {@code app.inventory.max-age-ms} to pick up changes made by other nodes.
+ *
+ * Flights with a {@link com.airline.reservation.models.CabinTemplate} take their seats from the shared
+ * {@link CabinLayout}; only seats that were ever held have rows, inserted by {@link #materialize}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryService {
+
+    public enum ClaimResult {
+        CLAIMED,
+        TAKEN,
+        NOT_ON_FLIGHT
+    }
+
+    private final SeatRepository seatRepository;
+
+    private final ConcurrentMap<Long, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.max-age-ms:30000}")
+    private long maxAgeMs = 30000;
+
+    /**
+     * Returns the seat map for the flight, loading it from the database on first use.
+     */
+    public SeatMap seatMap(Flight flight) {
+        SeatMap seatMap = seatMaps.computeIfAbsent(flight.getId(), id -> load(flight));
+        if (!seatMap.olderThan(TimeUnit.MILLISECONDS.toNanos(maxAgeMs))) {
+            return seatMap;
+        }
+        return seatMaps.compute(flight.getId(),
+                (id, current) -> current == null || current == seatMap ? load(flight) : current);
+    }
+
+    /**
+     * Claims a seat in memory. The claim is undone if the current transaction rolls back.
+     * A seat the map holds as taken is only refused once the database agrees.
+     */
+    public ClaimResult claim(Flight flight, Long seatId) {
+        SeatMap seatMap = seatMap(flight);
+        int index = seatMap.indexOf(seatId);
+        if (index < 0) {
+            return ClaimResult.NOT_ON_FLIGHT;
+        }
+        if (!seatMap.tryClaim(index)) {
+            // A transaction on this node holds the seat, or the bit is stale; only the database can tell
+            if (seatMap.isPending(index) || !freeInDatabase(flight, seatId)) {
+                return ClaimResult.TAKEN;
+            }
+            seatMap.release(index);
+            if (!seatMap.tryClaim(index)) {
+                return ClaimResult.TAKEN;
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            seatMap.markPending(index);
+            TransactionSynchronizationManager.registerSynchronization(new ClaimRollback(seatMap, index));
+        }
+        return ClaimResult.CLAIMED;
+    }
+
+    /**
+     * Records that the database refused a seat this node believed to be free. The seat stays taken
+     * when the current transaction rolls back, instead of being handed back by its own claim.
+     */
+    public void markTaken(Long flightId, Long seatId) {
+        SeatMap seatMap = seatMaps.get(flightId);
+        if (seatMap == null || seatMap.indexOf(seatId) < 0) {
+            return;
+        }
+        int index = seatMap.indexOf(seatId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                if (synchronization instanceof ClaimRollback claim && claim.seatMap == seatMap && claim.index == index) {
+                    claim.keep();
+                }
+            }
+        }
+        seatMap.tryClaim(index);
+    }
+
+    /**
+     * Makes a seat available again once the current transaction commits.
+     */
+    public void release(Long flightId, Long seatId) {
+        onCompletion(() -> {
+            SeatMap seatMap = seatMaps.get(flightId);
+            if (seatMap != null && seatMap.indexOf(seatId) >= 0) {
+                seatMap.release(seatMap.indexOf(seatId));
+            }
+        }, () -> { });
+    }
+
+    /**
+     * Drops the cached seat map so it is reloaded on next use (e.g. after the flight changes).
+     */
+    public void evict(Long flightId) {
+        seatMaps.remove(flightId);
+    }
+
+    /**
+     * Inserts an AVAILABLE row for each template seat that has none yet, so the conditional updates in
+     * {@link BookingService} can claim it like any other seat. Nothing to do for flights with seat rows.
+     *
+     * @throws SeatNotAvailableException when another transaction inserted the row first
+     */
+    public void materialize(Flight flight, Collection<Long> seatIds) {
+        if (flight.getCabinTemplate() == null) {
+            return;
+        }
+        SeatMap seatMap = seatMap(flight);
+        for (Long seatId : seatIds) {
+            int index = seatMap.indexOf(seatId);
+            if (index < 0) {
+                continue;
+            }
+            try {
+                seatRepository.insertAvailableIfAbsent(seatId, flight.getId(), seatMap.seatNumber(index),
+                        seatMap.seatClass(index).name(), seatMap.price(index));
+            } catch (DataIntegrityViolationException ex) {
+                throw new SeatNotAvailableException(seatMap.seatNumber(index));
+            }
+        }
+    }
+
+    /** A template seat without a row was never held; any other seat needs an AVAILABLE row. */
+    private boolean freeInDatabase(Flight flight, Long seatId) {
+        return seatRepository.findStatusById(seatId)
+                .map(status -> status == Seat.SeatStatus.AVAILABLE)
+                .orElse(flight.getCabinTemplate() != null);
+    }
+
+    private SeatMap load(Flight flight) {
+        List<SeatRepository.SeatMapRow> rows = seatRepository.findSeatMapByFlightId(flight.getId());
+        if (flight.getCabinTemplate() == null) {
+            return new SeatMap(rows);
+        }
+        return new SeatMap(flight.getId(), flight.getBasePrice(),
+                CabinLayout.of(flight.getCabinTemplate(), flight.getTotalSeats()), rows);
+    }
+
+    /**
+     * Ends a claim's pending state and puts the seat back if the claiming transaction rolls back, unless
+     * the seat turned out to be taken.
+     */
+    private static final class ClaimRollback implements TransactionSynchronization {
+
+        private final SeatMap seatMap;
+        private final int index;
+        private volatile boolean kept;
+
+        ClaimRollback(SeatMap seatMap, int index) {
+            this.seatMap = seatMap;
+            this.index = index;
+        }
+
+        void keep() {
+            kept = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            seatMap.clearPending(index);
+            if (status != STATUS_COMMITTED && !kept) {
+                seatMap.release(index);
+            }
+        }
+    }
+
+    private static void onCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Immutable seat layout of one flight plus a lock-free availability bitmap (bit set = available).
+     * A template flight's layout arrays are the shared {@link CabinLayout}'s, with seat ids and prices
+     * derived from the flight.
+     */
+    public static final class SeatMap {
+
+        /** {@code null} for template flights, whose seat {@code i} has id {@code firstSeatId + i}. */
+        private final long[] seatIds;
+        private final long firstSeatId;
+        private final String[] seatNumbers;
+        private final Seat.SeatClass[] seatClasses;
+        /** Seat prices, or a template's fare multipliers with the base price as {@code priceScale}. */
+        private final double[] prices;
+        private final double priceScale;
+        private final AtomicLongArray availability;
+        /** Seats claimed by a transaction on this node that has not completed yet. */
+        private final AtomicLongArray pending;
+        private final AtomicInteger availableCount = new AtomicInteger();
+        private final long loadedAtNanos = System.nanoTime();
+        private final String layoutVersion;
+
+        SeatMap(List<SeatRepository.SeatMapRow> seatsOrderedById) {
+            int size = seatsOrderedById.size();
+            this.seatIds = new long[size];
+            this.firstSeatId = 0;
+            this.seatNumbers = new String[size];
+            this.seatClasses = new Seat.SeatClass[size];
+            this.prices = new double[size];
+            this.priceScale = 1;
+            this.availability = new AtomicLongArray((size + 63) >>> 6);
+            this.pending = new AtomicLongArray(availability.length());
+
+            for (int i = 0; i < size; i++) {
+                SeatRepository.SeatMapRow seat = seatsOrderedById.get(i);
+                seatIds[i] = seat.getId();
+                seatNumbers[i] = seat.getSeatNumber();
+                seatClasses[i] = seat.getSeatClass();
+                prices[i] = seat.getPrice();
+                if (seat.getStatus() == Seat.SeatStatus.AVAILABLE) {
+                    release(i);
+                }
+            }
+            this.layoutVersion = hashLayout();
+        }
+
+        /** Every seat of the layout is available except those whose row says otherwise. */
+        SeatMap(long flightId, double basePrice, CabinLayout layout, List<SeatRepository.SeatMapRow> seatRows) {
+            int size = layout.size();
+            this.seatIds = null;
+            this.firstSeatId = CabinLayout.seatId(flightId, 0);
+            this.seatNumbers = layout.seatNumbers();
+            this.seatClasses = layout.seatClasses();
+            this.prices = layout.fareMultipliers();
+            this.priceScale = basePrice;
+            this.availability = new AtomicLongArray((size + 63) >>> 6);
+            this.pending = new AtomicLongArray(availability.length());
+
+            for (int word = 0; word < availability.length(); word++) {
+                int bits = Math.min(64, size - (word << 6));
+                availability.set(word, bits == 64 ? -1L : (1L << bits) - 1);
+            }
+            availableCount.set(size);
+            for (SeatRepository.SeatMapRow seat : seatRows) {
+                int index = indexOf(seat.getId());
+                if (index >= 0 && seat.getStatus() != Seat.SeatStatus.AVAILABLE) {
+                    tryClaim(index);
+                }
+            }
+            this.layoutVersion = hashLayout();
+        }
+
+        private String hashLayout() {
+            long hash = 1125899906842597L;
+            for (int i = 0; i < size(); i++) {
+                hash = 31 * hash + seatId(i);
+                hash = 31 * hash + (seatNumbers[i] != null ? seatNumbers[i].hashCode() : 0);
+                hash = 31 * hash + (seatClasses[i] != null ? seatClasses[i].ordinal() : -1);
+                hash = 31 * hash + Double.hashCode(price(i));
+            }
+            return Long.toHexString(hash);
+        }
+
+        public int size() {
+            return seatNumbers.length;
+        }
+
+        public int indexOf(Long seatId) {
+            if (seatId == null) {
+                return -1;
+            }
+            if (seatIds == null) {
+                long index = seatId - firstSeatId;
+                return index >= 0 && index < size() ? (int) index : -1;
+            }
+            return Math.max(Arrays.binarySearch(seatIds, seatId), -1);
+        }
+
+        public long seatId(int index) {
+            return seatIds == null ? firstSeatId + index : seatIds[index];
+        }
+
+        public String seatNumber(int index) {
+            return seatNumbers[index];
+        }
+
+        public Seat.SeatClass seatClass(int index) {
+            return seatClasses[index];
+        }
+
+        public double price(int index) {
+            return prices[index] * priceScale;
+        }
+
+        public boolean isAvailable(int index) {
+            return (availability.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        public int availableCount() {
+            return availableCount.get();
+        }
+
+        /** Changes whenever a seat's id, number, class or price does; availability does not count. */
+        public String layoutVersion() {
+            return layoutVersion;
+        }
+
+        /**
+         * A copy of the availability bits, seat {@code i} in byte {@code i / 8} at bit {@code i % 8}.
+         * Each word is read atomically, but claims during the copy may land on either side of it.
+         */
+        public byte[] availabilityBitmap() {
+            byte[] bitmap = new byte[(size() + 7) >>> 3];
+            for (int word = 0; word < availability.length(); word++) {
+                long bits = availability.get(word);
+                for (int b = word << 3, end = Math.min(bitmap.length, b + 8); b < end; b++) {
+                    bitmap[b] = (byte) bits;
+                    bits >>>= 8;
+                }
+            }
+            return bitmap;
+        }
+
+        boolean olderThan(long maxAgeNanos) {
+            return System.nanoTime() - loadedAtNanos > maxAgeNanos;
+        }
+
+        boolean isPending(int index) {
+            return (pending.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        void markPending(int index) {
+            pending.getAndAccumulate(index >>> 6, 1L << index, (bits, mask) -> bits | mask);
+        }
+
+        void clearPending(int index) {
+            pending.getAndAccumulate(index >>> 6, 1L << index, (bits, mask) -> bits & ~mask);
+        }
+
+        boolean tryClaim(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long current;
+            do {
+                current = availability.get(word);
+                if ((current & mask) == 0) {
+                    return false;
+                }
+            } while (!availability.compareAndSet(word, current, current & ~mask));
+            availableCount.decrementAndGet();
+            return true;
+        }
+
+        void release(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long current;
+            do {
+                current = availability.get(word);
+                if ((current & mask) != 0) {
+                    return;
+                }
+            } while (!availability.compareAndSet(word, current, current | mask));
+            availableCount.incrementAndGet();
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.airline.reservation.services;
 
+import com.airline.reservation.dtos.CabinBandDto;
+import com.airline.reservation.dtos.CabinLayoutDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
+import com.airline.reservation.dtos.SeatAvailabilityDto;
+import com.airline.reservation.dtos.SeatIdRangeDto;
 import com.airline.reservation.dtos.SeatResponseDto;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Flight;
@@ -8,13 +13,16 @@ import com.airline.reservation.repositories.FlightRepository;
 import com.airline.reservation.repositories.SeatRepository;
 import com.airline.reservation.configs.CacheConfig;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service class for Seat operations
@@ -25,37 +33,166 @@ public class SeatService {
     
     private final SeatRepository seatRepository;
     private final FlightRepository flightRepository;
-    private final ModelMapper modelMapper;
+    private final SeatInventoryService seatInventoryService;
     
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = CacheConfig.CACHE_SEATS, key = "'flight:' + #flightId")
     public List<SeatResponseDto> getSeatsByFlightId(Long flightId) {
-        Flight flight = flightRepository.findById(flightId)
-                .orElseThrow(() -> new ResourceNotFoundException("Flight", flightId));
+        SeatInventoryService.SeatMap seatMap = seatMap(flightId);
         
-        return seatRepository.findByFlight(flight).stream()
-                .map(seat -> modelMapper.map(seat, SeatResponseDto.class))
-                .collect(Collectors.toList());
+        // A set bit in the seat inventory means available; for any other seat the rows decide, since the
+        // bit may still be clear for a seat another node has released
+        Map<Long, Seat.SeatStatus> heldStatuses = new HashMap<>();
+        for (SeatRepository.SeatMapRow row : seatRepository.findHeldSeatsByFlightId(flightId)) {
+            heldStatuses.put(row.getId(), row.getStatus());
+        }
+        List<SeatResponseDto> seats = new ArrayList<>(seatMap.size());
+        for (int i = 0; i < seatMap.size(); i++) {
+            Seat.SeatStatus status = seatMap.isAvailable(i) ? Seat.SeatStatus.AVAILABLE
+                    : heldStatuses.getOrDefault(seatMap.seatId(i), Seat.SeatStatus.AVAILABLE);
+            seats.add(seatDto(seatMap, i, status));
+        }
+        return seats;
     }
     
+    /**
+     * Served straight from the in-memory availability bitmap; no seat rows are read once the
+     * flight's seat map is loaded.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_SEATS, key = "'available:' + #flightId")
     public List<SeatResponseDto> getAvailableSeatsByFlightId(Long flightId) {
         Flight flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", flightId));
         
-        return seatRepository.findByFlightAndStatus(flight, Seat.SeatStatus.AVAILABLE).stream()
-                .map(seat -> modelMapper.map(seat, SeatResponseDto.class))
-                .collect(Collectors.toList());
+        SeatInventoryService.SeatMap seatMap = seatInventoryService.seatMap(flight);
+        List<SeatResponseDto> available = new ArrayList<>(seatMap.availableCount());
+        for (int i = 0; i < seatMap.size(); i++) {
+            if (seatMap.isAvailable(i)) {
+                available.add(seatDto(seatMap, i, Seat.SeatStatus.AVAILABLE));
+            }
+        }
+        return available;
+    }
+    
+    /**
+     * The flight's cabin as id ranges and row bands instead of one object per seat, built from the
+     * in-memory seat map.
+     */
+    @Transactional(readOnly = true)
+    public CabinLayoutDto getCabinLayout(Long flightId) {
+        SeatInventoryService.SeatMap seatMap = seatMap(flightId);
+        return new CabinLayoutDto(flightId, seatMap.layoutVersion(), seatMap.size(), seatIdRanges(seatMap),
+                bands(seatMap));
+    }
+    
+    /** Availability of every seat in {@link #getCabinLayout} order, copied from the in-memory bitmap. */
+    @Transactional(readOnly = true)
+    public SeatAvailabilityDto getSeatAvailability(Long flightId) {
+        SeatInventoryService.SeatMap seatMap = seatMap(flightId);
+        return new SeatAvailabilityDto(flightId, seatMap.layoutVersion(), seatMap.size(), seatMap.availableCount(),
+                Base64.getEncoder().encodeToString(seatMap.availabilityBitmap()));
     }
     
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = CacheConfig.CACHE_SEATS, key = "#id")
     public SeatResponseDto getSeatById(Long id) {
-        Seat seat = seatRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Seat", id));
-        
-        return modelMapper.map(seat, SeatResponseDto.class);
+        Optional<Seat> seat = seatRepository.findById(id);
+        if (seat.isPresent()) {
+            return ResponseDtoMapper.toSeatDto(seat.get());
+        }
+        // A template seat that was never held has no row, so it is available
+        if (CabinLayout.isTemplateSeatId(id)) {
+            Optional<Flight> flight = flightRepository.findById(CabinLayout.flightIdOf(id));
+            if (flight.isPresent() && flight.get().getCabinTemplate() != null) {
+                SeatInventoryService.SeatMap seatMap = seatInventoryService.seatMap(flight.get());
+                int index = seatMap.indexOf(id);
+                if (index >= 0) {
+                    return seatDto(seatMap, index, Seat.SeatStatus.AVAILABLE);
+                }
+            }
+        }
+        throw new ResourceNotFoundException("Seat", id);
+    }
+    
+    private static SeatResponseDto seatDto(SeatInventoryService.SeatMap seatMap, int index, Seat.SeatStatus status) {
+        return new SeatResponseDto(seatMap.seatId(index), seatMap.seatNumber(index),
+                seatMap.seatClass(index).toString(), status.toString(), seatMap.price(index));
+    }
+    
+    private SeatInventoryService.SeatMap seatMap(Long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new ResourceNotFoundException("Flight", flightId));
+        return seatInventoryService.seatMap(flight);
+    }
+    
+    private static List<SeatIdRangeDto> seatIdRanges(SeatInventoryService.SeatMap seatMap) {
+        List<SeatIdRangeDto> ranges = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= seatMap.size(); i++) {
+            if (i == seatMap.size() || seatMap.seatId(i) != seatMap.seatId(i - 1) + 1) {
+                ranges.add(new SeatIdRangeDto(seatMap.seatId(start), i - start));
+                start = i;
+            }
+        }
+        return ranges;
+    }
+    
+    /**
+     * Walks the seats in order, grouping seats that share a row number, class and price into rows, and
+     * consecutive rows with the same letters, class and price into bands.
+     */
+    private static List<CabinBandDto> bands(SeatInventoryService.SeatMap seatMap) {
+        List<CabinBandDto> bands = new ArrayList<>();
+        CabinBandDto band = null;
+        int i = 0;
+        while (i < seatMap.size()) {
+            String seatClass = String.valueOf(seatMap.seatClass(i));
+            double price = seatMap.price(i);
+            int row = row(seatMap.seatNumber(i));
+            if (row < 0) {
+                if (band == null || band.getSeatNumbers() == null || !sameFare(band, seatClass, price)) {
+                    band = new CabinBandDto(seatClass, price, null, null, null, new ArrayList<>());
+                    bands.add(band);
+                }
+                band.getSeatNumbers().add(seatMap.seatNumber(i++));
+                continue;
+            }
+            StringBuilder letters = new StringBuilder();
+            while (i < seatMap.size() && row(seatMap.seatNumber(i)) == row
+                    && String.valueOf(seatMap.seatClass(i)).equals(seatClass) && seatMap.price(i) == price) {
+                letters.append(seatMap.seatNumber(i).charAt(seatMap.seatNumber(i).length() - 1));
+                i++;
+            }
+            if (band != null && band.getLetters() != null && sameFare(band, seatClass, price)
+                    && band.getLastRow() + 1 == row && band.getLetters().contentEquals(letters)) {
+                band.setLastRow(row);
+            } else {
+                band = new CabinBandDto(seatClass, price, row, row, letters.toString(), null);
+                bands.add(band);
+            }
+        }
+        return bands;
+    }
+    
+    private static boolean sameFare(CabinBandDto band, String seatClass, double price) {
+        return band.getSeatClass().equals(seatClass) && band.getPrice() == price;
+    }
+    
+    /** The row of a seat number made of a row number and one letter ("12C"), or -1. */
+    private static int row(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2 || seatNumber.length() > 5
+                || !Character.isLetter(seatNumber.charAt(seatNumber.length() - 1))) {
+            return -1;
+        }
+        int row = 0;
+        for (int i = 0; i < seatNumber.length() - 1; i++) {
+            char c = seatNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+        }
+        return seatNumber.charAt(0) == '0' ? -1 : row;
     }
 }
 
@@ -0,0 +1,101 @@
+package com.airline.reservation.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: a level of {@code wheelSize} buckets per power of {@code wheelSize}
+ * ticks ahead. Scheduling appends to one bucket (O(1) whatever the number of timers); each tick
+ * expires one bottom-level bucket, and when a level wraps, the next level's current bucket is
+ * cascaded down. Entries are never cancelled, callers ignore the ones that no longer matter.
+ *
+ * Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final List<ArrayDeque<Entry<T>>[]> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param wheelSize buckets per level, a power of two
+     * @param startMs   the current time; deadlines are expired from the tick after it
+     */
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMs = tickMs;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.currentTick = startMs / tickMs;
+        addLevel();
+    }
+
+    /** Expires {@code item} at the first tick at or after {@code deadlineMs}; past deadlines on the next tick. */
+    void schedule(T item, long deadlineMs) {
+        add(new Entry<>(item, Math.max(ceilDiv(deadlineMs, tickMs), currentTick + 1)));
+        size++;
+    }
+
+    /** Moves the wheel to {@code nowMs}, handing every item that came due to {@code expired}. */
+    void advance(long nowMs, Consumer<? super T> expired) {
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Top-down, so entries cascaded out of one level can be cascaded again by the level below
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    ArrayDeque<Entry<T>> bucket = bucket(level, currentTick);
+                    for (Entry<T> entry = bucket.poll(); entry != null; entry = bucket.poll()) {
+                        add(entry);
+                    }
+                }
+            }
+            ArrayDeque<Entry<T>> due = bucket(0, currentTick);
+            for (Entry<T> entry = due.poll(); entry != null; entry = due.poll()) {
+                size--;
+                expired.accept(entry.item);
+            }
+        }
+    }
+
+    /** Number of scheduled items not yet expired. */
+    int size() {
+        return size;
+    }
+
+    private void add(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        int level = delta <= mask ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / bits;
+        while (levels.size() <= level) {
+            addLevel();
+        }
+        bucket(level, entry.tick).add(entry);
+    }
+
+    private ArrayDeque<Entry<T>> bucket(int level, long tick) {
+        return levels.get(level)[(int) (tick >>> (bits * level)) & mask];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        ArrayDeque<Entry<T>>[] buckets = new ArrayDeque[mask + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        levels.add(buckets);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
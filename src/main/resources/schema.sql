@@ -8,6 +8,13 @@ DROP TABLE IF EXISTS seats;
 DROP TABLE IF EXISTS flights;
 DROP TABLE IF EXISTS passengers;
 DROP TABLE IF EXISTS airports;
+DROP TABLE IF EXISTS id_blocks;
+
+-- Hibernate table generator state, one row per entity table (see BaseModel)
+CREATE TABLE id_blocks (
+    entity_table VARCHAR(255) PRIMARY KEY,
+    next_id BIGINT NOT NULL
+);
 
 -- Create Airports table
 CREATE TABLE airports (
@@ -80,9 +87,10 @@ CREATE TABLE bookings (
     booking_reference VARCHAR(20) NOT NULL UNIQUE,
     passenger_id BIGINT NOT NULL,
     flight_id BIGINT NOT NULL,
-    seat_id BIGINT NOT NULL UNIQUE,
+    seat_id BIGINT NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
     total_price DECIMAL(10, 2) NOT NULL,
+    hold_expires_at DATETIME,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (passenger_id) REFERENCES passengers(id) ON DELETE CASCADE,
@@ -115,6 +123,7 @@ CREATE INDEX idx_seat_status ON seats(status);
 CREATE INDEX idx_booking_passenger ON bookings(passenger_id);
 CREATE INDEX idx_booking_flight ON bookings(flight_id);
 CREATE INDEX idx_booking_status ON bookings(status);
+CREATE INDEX idx_booking_seat ON bookings(seat_id);
 CREATE INDEX idx_booking_reference ON bookings(booking_reference);
 CREATE INDEX idx_passenger_email ON passengers(email);
 CREATE INDEX idx_airport_code ON airports(code);
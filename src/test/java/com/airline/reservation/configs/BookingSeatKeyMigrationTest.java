@@ -0,0 +1,52 @@
+package com.airline.reservation.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The bookings table as a database created while a booking's seat was one-to-one left it, against a
+ * real (H2) database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:seatkeys;DB_CLOSE_DELAY=-1")
+@DisplayName("BookingSeatKeyMigration Integration Tests")
+class BookingSeatKeyMigrationTest {
+
+    @Autowired
+    private BookingSeatKeyMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Drops a legacy unique key on seat_id and leaves other keys alone")
+    void legacySeatKey_dropped() {
+        // Given
+        jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT uk_legacy_seat UNIQUE (seat_id)");
+        jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT uk_legacy_seat_flight UNIQUE (seat_id, flight_id)");
+        assertEquals(List.of("UK_LEGACY_SEAT"), migration.seatKeys());
+
+        // When
+        migration.afterSingletonsInstantiated();
+
+        // Then
+        assertTrue(migration.seatKeys().isEmpty());
+        assertEquals(1, uniqueKeysNamed("UK_LEGACY_SEAT_FLIGHT"));
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT uk_legacy_seat_flight");
+
+        // Running again finds nothing to do
+        assertDoesNotThrow(migration::afterSingletonsInstantiated);
+    }
+
+    private int uniqueKeysNamed(String name) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                "WHERE CONSTRAINT_TYPE = 'UNIQUE' AND CONSTRAINT_NAME = ?", Integer.class, name);
+    }
+}
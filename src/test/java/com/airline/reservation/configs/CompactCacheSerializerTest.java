@@ -0,0 +1,104 @@
+package com.airline.reservation.configs;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.ExternalFlightDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.SeatResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactCacheSerializer Unit Tests")
+class CompactCacheSerializerTest {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactCacheSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        json = new GenericJackson2JsonRedisSerializer();
+        json.configure(objectMapper -> objectMapper.findAndRegisterModules());
+        serializer = new CompactCacheSerializer(json);
+    }
+
+    @Test
+    @DisplayName("Round-trips a seat map and is much smaller than JSON")
+    void seatList_roundTrip() {
+        List<SeatResponseDto> seats = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            seats.add(new SeatResponseDto((long) i, (i / 6 + 1) + "ABCDEF".substring(i % 6, i % 6 + 1),
+                    i <= 24 ? "BUSINESS" : "ECONOMY", i % 7 == 0 ? "RESERVED" : "AVAILABLE", i <= 24 ? 400.0 : 19.99));
+        }
+
+        byte[] bytes = serializer.serialize(seats);
+
+        assertEquals(seats, serializer.deserialize(bytes));
+        assertTrue(bytes.length * 4 < json.serialize(seats).length,
+                () -> "compact " + bytes.length + " bytes vs JSON " + json.serialize(seats).length);
+    }
+
+    @Test
+    @DisplayName("Round-trips flights with airports, times and nulls")
+    void flightList_roundTrip() {
+        FlightResponseDto flight = new FlightResponseDto(7L, "AA101", "American Airlines",
+                new AirportResponseDto(1L, "JFK", "John F. Kennedy International Airport", "New York", "USA"),
+                new AirportResponseDto(2L, "LAX", "Los Angeles International Airport", "Los Angeles", "USA"),
+                LocalDateTime.of(2026, 3, 14, 9, 30), LocalDateTime.of(2026, 3, 14, 15, 45, 10, 500),
+                180, 42, 349.5, "SCHEDULED");
+        FlightResponseDto partial = new FlightResponseDto(8L, "XX1", null, null, null, null, null,
+                null, null, null, "SOMETHING_NEW");
+
+        assertEquals(List.of(flight, partial), serializer.deserialize(serializer.serialize(List.of(flight, partial))));
+        assertEquals(flight, serializer.deserialize(serializer.serialize(flight)));
+    }
+
+    @Test
+    @DisplayName("Round-trips single DTOs and empty lists")
+    void singleValues_roundTrip() {
+        SeatResponseDto seat = new SeatResponseDto(5L, "1A", "FIRST_CLASS", "OCCUPIED", 1234.567);
+        AirportResponseDto airport = new AirportResponseDto(3L, "ORD", "O'Hare", "Chicago", "USA");
+
+        assertEquals(seat, serializer.deserialize(serializer.serialize(seat)));
+        assertEquals(airport, serializer.deserialize(serializer.serialize(airport)));
+        assertEquals(List.of(), serializer.deserialize(serializer.serialize(List.of())));
+    }
+
+    @Test
+    @DisplayName("Falls back to JSON for other types")
+    void otherTypes_useJson() {
+        ExternalFlightDto external = new ExternalFlightDto();
+        external.setId("ext-1");
+        external.setFlightNumber("BA117");
+
+        List<ExternalFlightDto> flights = new ArrayList<>(List.of(external));
+
+        byte[] bytes = serializer.serialize(flights);
+
+        assertEquals(CompactCacheSerializer.MAGIC, bytes[0]);
+        assertEquals(flights, serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Reads entries written by the JSON serializer")
+    void legacyJson_isRead() {
+        SeatResponseDto seat = new SeatResponseDto(5L, "1A", "ECONOMY", "AVAILABLE", 100.0);
+
+        assertEquals(seat, serializer.deserialize(json.serialize(seat)));
+    }
+
+    @Test
+    @DisplayName("Entries from another format version read as a cache miss")
+    void otherVersion_isMiss() {
+        byte[] bytes = serializer.serialize(new SeatResponseDto(5L, "1A", "ECONOMY", "AVAILABLE", 100.0));
+        bytes[1] = (byte) (CompactCacheSerializer.VERSION + 1);
+
+        assertNull(serializer.deserialize(bytes));
+    }
+}
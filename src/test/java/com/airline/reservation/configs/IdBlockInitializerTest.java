@@ -0,0 +1,127 @@
+package com.airline.reservation.configs;
+
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.BaseModel;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.repositories.PassengerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ids from the id_blocks table against a real (H2) database: they must never collide with rows that
+ * were inserted with their own ids, and inserts must go out in JDBC batches.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:idblocks;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.generate_statistics=true"})
+@DisplayName("IdBlockInitializer Integration Tests")
+class IdBlockInitializerTest {
+
+    @Autowired
+    private IdBlockInitializer idBlockInitializer;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        airportRepository.deleteAll();
+        passengerRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Moves the block past rows written outside Hibernate, such as legacy IDENTITY data")
+    void existingRows_neverReused() {
+        // Given: a row as an older release or data.sql would have left it
+        jdbcTemplate.update("INSERT INTO passengers (id, first_name, last_name, email, phone_number, date_of_birth, " +
+                "passport_number, nationality) VALUES (5000, 'Old', 'Row', 'old@example.com', '9876543210', " +
+                "DATE '1990-01-01', 'L1234567', 'USA')");
+
+        // When
+        idBlockInitializer.afterSingletonsInstantiated();
+        Passenger saved = passengerRepository.save(passenger());
+
+        // Then
+        assertTrue(saved.getId() > 5000, () -> "New id " + saved.getId() + " reuses a legacy id");
+        Long nextId = nextId("passengers");
+        assertTrue(nextId > saved.getId());
+
+        // Running again leaves a block that is already ahead alone
+        idBlockInitializer.afterSingletonsInstantiated();
+        assertEquals(nextId, nextId("passengers"));
+    }
+
+    @Test
+    @DisplayName("Inserts many rows of one entity in JDBC batches")
+    void saveAll_batched() {
+        // Given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Airport> airports = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            airports.add(airport("Q" + (char) ('A' + i / 26) + (char) ('A' + i % 26)));
+        }
+        statistics.clear();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> airportRepository.saveAll(airports));
+
+        // Then: 120 rows in three batches, plus at most one id block per 50 ids
+        assertEquals(120, airportRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                () -> statistics.getPrepareStatementCount() + " statements for 120 inserts");
+    }
+
+    private Long nextId(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT next_id FROM " + BaseModel.ID_TABLE + " WHERE entity_table = ?", Long.class, table);
+    }
+
+    private static Passenger passenger() {
+        Passenger passenger = new Passenger();
+        passenger.setFirstName("New");
+        passenger.setLastName("Row");
+        passenger.setEmail("new@example.com");
+        passenger.setPhoneNumber("9876543210");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("N1234567");
+        passenger.setNationality("USA");
+        return passenger;
+    }
+
+    private static Airport airport(String code) {
+        Airport airport = new Airport();
+        airport.setCode(code);
+        airport.setName(code + " Airport");
+        airport.setCity(code);
+        airport.setCountry("USA");
+        return airport;
+    }
+}
@@ -0,0 +1,198 @@
+package com.airline.reservation.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import com.airline.reservation.dtos.AirportResponseDto;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TwoLevelCache Unit Tests")
+class TwoLevelCacheTest {
+
+    private Cache remote;
+    private AtomicLong now;
+    private L2CircuitBreaker breaker;
+    private List<String> published;
+    private RedisSerializer<Object> serializer;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("flights"));
+        now = new AtomicLong(1_000);
+        breaker = new L2CircuitBreaker(Duration.ofSeconds(30), now::get);
+        published = new ArrayList<>();
+        serializer = new CompactCacheSerializer(new GenericJackson2JsonRedisSerializer());
+        cache = new TwoLevelCache("flights", Caffeine.newBuilder().maximumSize(100).build(), remote, breaker,
+                serializer, (name, key) -> published.add(name + ":" + key));
+    }
+
+    @Test
+    @DisplayName("L1 hits do not touch the L2")
+    void get_servedFromLocal() {
+        cache.put(1L, "flight 1");
+        clearInvocations(remote);
+
+        assertEquals("flight 1", cache.get(1L).get());
+        verify(remote, never()).get(any());
+        assertEquals(1, cache.getLocalHits());
+    }
+
+    @Test
+    @DisplayName("Every L1 read gets its own copy, so a caller changing its result leaves the cache alone")
+    void get_localCopies() {
+        cache.put(1L, new AirportResponseDto(1L, "JFK", "John F Kennedy", "New York", "USA"));
+
+        AirportResponseDto first = (AirportResponseDto) cache.get(1L).get();
+        first.setCity("Changed");
+        AirportResponseDto second = (AirportResponseDto) cache.get(1L).get();
+
+        assertNotSame(first, second);
+        assertEquals("New York", second.getCity());
+        assertEquals(2, cache.getLocalHits());
+    }
+
+    @Test
+    @DisplayName("L2 hits are promoted into the L1")
+    void get_promotesRemoteHit() {
+        remote.put(1L, "flight 1");
+
+        assertEquals("flight 1", cache.get(1L).get());
+        assertEquals("flight 1", cache.get(1L).get());
+        verify(remote, times(1)).get(1L);
+        assertEquals(1, cache.getRemoteHits());
+        assertEquals(1, cache.getLocalHits());
+    }
+
+    @Test
+    @DisplayName("Misses are counted and return null")
+    void get_miss() {
+        assertNull(cache.get(1L));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Evict clears both tiers and notifies other nodes")
+    void evict_bothTiers() {
+        cache.put(1L, "flight 1");
+
+        published.clear();
+
+        cache.evict(1L);
+
+        assertNull(cache.getLocalCache().getIfPresent(1L));
+        assertNull(remote.get(1L));
+        assertEquals(List.of("flights:1"), published);
+    }
+
+    @Test
+    @DisplayName("Writes notify other nodes so they drop their stale L1 copy")
+    void put_notifiesOtherNodes() {
+        cache.put(1L, "flight 1");
+        assertNotNull(cache.putIfAbsent(1L, "flight 1 again"));
+        assertNull(cache.putIfAbsent(2L, "flight 2"));
+
+        assertEquals(List.of("flights:1", "flights:2"), published);
+        assertEquals("flight 1", cache.get(1L).get());
+    }
+
+    @Test
+    @DisplayName("Values loaded on a miss are not broadcast")
+    void get_loadDoesNotNotify() {
+        assertEquals("loaded", cache.get(1L, () -> "loaded"));
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Keeps serving from L1 when the L2 fails")
+    void get_remoteFailure() {
+        doThrow(new IllegalStateException("Redis down")).when(remote).get(any());
+        doThrow(new IllegalStateException("Redis down")).when(remote).put(any(), any());
+
+        cache.put(1L, "flight 1");
+
+        assertEquals("flight 1", cache.get(1L).get());
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    @DisplayName("Skips the L2 for the retry period after it fails, then lets one call probe it")
+    void remoteFailure_opensCircuit() {
+        doThrow(new IllegalStateException("Redis down")).when(remote).get(any());
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        cache.put(3L, "flight 3");
+        verify(remote, times(1)).get(any());
+        verify(remote, never()).put(any(), any());
+        assertTrue(breaker.isOpen());
+
+        // Redis is back: after the retry period one call probes it and closes the circuit
+        doCallRealMethod().when(remote).get(any());
+        remote.put(4L, "flight 4");
+        now.addAndGet(Duration.ofSeconds(30).toMillis());
+
+        assertEquals("flight 4", cache.get(4L).get());
+        assertFalse(breaker.isOpen());
+        cache.put(5L, "flight 5");
+        assertEquals("flight 5", remote.get(5L).get());
+    }
+
+    @Test
+    @DisplayName("Works as an L1-only cache without an L2")
+    void localOnly() {
+        TwoLevelCache localOnly = new TwoLevelCache("flights", Caffeine.newBuilder().build(), null, breaker,
+                serializer, (name, key) -> { });
+
+        localOnly.put("all", new ArrayList<>(List.of("flight 1")));
+
+        assertEquals(List.of("flight 1"), localOnly.get("all").get());
+        assertEquals("loaded", localOnly.get("number:AA101", () -> "loaded"));
+    }
+
+    @Test
+    @DisplayName("Evictions from other nodes drop only the L1 entry")
+    void manager_remoteInvalidation() {
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(Map.of("flights", Duration.ofMinutes(1)),
+                Duration.ofMinutes(1), 100, null, null, Duration.ofSeconds(30), serializer);
+        manager.afterPropertiesSet();
+        Cache flights = manager.getCache("flights");
+        flights.put(1L, "flight 1");
+        flights.put("number:AA101", "flight 1");
+
+        manager.onInvalidation(message("other-node|flights|L1"), null);
+        manager.onInvalidation(message("other-node|flights|Snumber:AA101"), null);
+
+        assertNull(flights.get(1L));
+        assertNull(flights.get("number:AA101"));
+    }
+
+    @Test
+    @DisplayName("Key encoding round-trips ids and strings")
+    void keyEncoding() {
+        assertEquals(42L, TwoLevelCacheManager.decodeKey(TwoLevelCacheManager.encodeKey(42L)));
+        assertEquals("flight:7", TwoLevelCacheManager.decodeKey(TwoLevelCacheManager.encodeKey("flight:7")));
+        assertNull(TwoLevelCacheManager.decodeKey(TwoLevelCacheManager.encodeKey(null)));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
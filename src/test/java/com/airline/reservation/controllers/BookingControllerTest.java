@@ -1,7 +1,9 @@
 package com.airline.reservation.controllers;
 
+import com.airline.reservation.dtos.BatchBookingRequestDto;
 import com.airline.reservation.dtos.BookingRequestDto;
 import com.airline.reservation.dtos.BookingResponseDto;
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.services.BookingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -100,6 +102,37 @@ class BookingControllerTest {
         verify(bookingService, never()).createBooking(any());
     }
 
+    @Test
+    @DisplayName("Should successfully create a batch of bookings")
+    void testCreateBookings_Success() throws Exception {
+        // Given
+        BatchBookingRequestDto batchRequest = new BatchBookingRequestDto(1L, List.of(
+                new BatchBookingRequestDto.PassengerSeat(1L, 1L),
+                new BatchBookingRequestDto.PassengerSeat(2L, 2L)));
+        when(bookingService.createBookings(any(BatchBookingRequestDto.class)))
+                .thenReturn(List.of(bookingResponse, bookingResponse));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.message").value("Bookings created successfully"))
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a batch booking has no passengers")
+    void testCreateBookings_ValidationError() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchBookingRequestDto(1L, List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).createBookings(any());
+    }
+
     @Test
     @DisplayName("Should successfully get booking by ID")
     void testGetBookingById_Success() throws Exception {
@@ -146,24 +179,25 @@ class BookingControllerTest {
     }
 
     @Test
-    @DisplayName("Should successfully get all bookings")
-    void testGetAllBookings_Success() throws Exception {
+    @DisplayName("Should successfully get a page of bookings")
+    void testGetBookings_Success() throws Exception {
         // Given
         BookingResponseDto response2 = new BookingResponseDto();
         response2.setId(2L);
         response2.setBookingReference("BK87654321");
 
         List<BookingResponseDto> bookings = Arrays.asList(bookingResponse, response2);
-        when(bookingService.getAllBookings()).thenReturn(bookings);
+        when(bookingService.getBookings("abc", 2)).thenReturn(new CursorPageDto<>(bookings, "next"));
 
         // When & Then
-        mockMvc.perform(get("/api/bookings"))
+        mockMvc.perform(get("/api/bookings").param("cursor", "abc").param("size", "2"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data.length()").value(2));
 
-        verify(bookingService).getAllBookings();
+        verify(bookingService).getBookings("abc", 2);
     }
 
     @Test
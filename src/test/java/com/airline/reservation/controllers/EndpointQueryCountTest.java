@@ -0,0 +1,250 @@
+package com.airline.reservation.controllers;
+
+import com.airline.reservation.dtos.BookingRequestDto;
+import com.airline.reservation.dtos.BookingResponseDto;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Payment;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.repositories.BookingRepository;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.PassengerRepository;
+import com.airline.reservation.repositories.PaymentRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import com.airline.reservation.services.AirportSuggestIndex;
+import com.airline.reservation.services.BookingService;
+import com.airline.reservation.services.SeatInventoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each read endpoint prepares against a real (H2) database, with caches
+ * cleared, so an association that starts loading row by row (N+1) fails the build.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jwt.revocation-refresh-ms=3600000"})
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Endpoint SQL Statement Count Tests")
+class EndpointQueryCountTest {
+
+    private static final int BOOKINGS = 3;
+    private static final int SEATS = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private AirportSuggestIndex airportSuggestIndex;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private Statistics statistics;
+    private Passenger passenger;
+    private Flight flight;
+    private List<Seat> seats;
+    private List<BookingResponseDto> bookings;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Airport departure = airportRepository.save(airport("JFK"));
+        Airport arrival = airportRepository.save(airport("LAX"));
+
+        passenger = new Passenger();
+        passenger.setFirstName("Count");
+        passenger.setLastName("Tester");
+        passenger.setEmail("count@example.com");
+        passenger.setPhoneNumber("9876543210");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("C1234567");
+        passenger.setNationality("USA");
+        passenger = passengerRepository.save(passenger);
+
+        flight = new Flight();
+        flight.setFlightNumber("QC100");
+        flight.setAirlineName("Count Air");
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(LocalDateTime.now().plusDays(3));
+        flight.setArrivalTime(LocalDateTime.now().plusDays(3).plusHours(5));
+        flight.setTotalSeats(SEATS);
+        flight.setAvailableSeats(SEATS);
+        flight.setBasePrice(100.0);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flight = flightRepository.save(flight);
+
+        seats = new ArrayList<>();
+        for (int i = 1; i <= flight.getTotalSeats(); i++) {
+            Seat seat = new Seat();
+            seat.setFlight(flight);
+            seat.setSeatNumber(i + "A");
+            seat.setSeatClass(Seat.SeatClass.ECONOMY);
+            seat.setPrice(100.0);
+            seat.setStatus(Seat.SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        seats = seatRepository.saveAll(seats);
+
+        bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(bookingService.createBooking(
+                    new BookingRequestDto(passenger.getId(), flight.getId(), seats.get(i).getId())));
+        }
+
+        payment = new Payment();
+        payment.setBooking(bookingRepository.getReferenceById(bookings.get(0).getId()));
+        payment.setTransactionId("TXNCOUNT0001");
+        payment.setAmount(bookings.get(0).getTotalPrice());
+        payment.setPaymentMethod(Payment.PaymentMethod.UPI);
+        payment.setStatus(Payment.PaymentStatus.SUCCESS);
+        payment.setPaymentDate(LocalDateTime.now());
+        payment = paymentRepository.save(payment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        seatRepository.deleteAll();
+        flightRepository.deleteAll();
+        passengerRepository.deleteAll();
+        airportRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Flight lookups and pages take one statement each")
+    void flights() throws Exception {
+        assertStatements(1, get("/api/flights/{id}", flight.getId()));
+        assertStatements(1, get("/api/flights/number/{flightNumber}", flight.getFlightNumber()));
+        assertStatements(1, get("/api/flights"));
+    }
+
+    @Test
+    @DisplayName("Seat maps of a 300-seat flight take one statement for the whole map, not one per seat")
+    void seats() throws Exception {
+        // Flight, seat map (availability bitmap), held seats
+        seatInventoryService.evict(flight.getId());
+        assertStatements(3, get("/api/seats/flight/{flightId}", flight.getId()));
+        // Flight, seat map
+        seatInventoryService.evict(flight.getId());
+        assertStatements(2, get("/api/seats/flight/{flightId}/available", flight.getId()));
+        assertStatements(1, get("/api/seats/{id}", seats.get(0).getId()));
+        // Flight, then layout and bitmap from the loaded seat map
+        assertStatements(1, get("/api/seats/flight/{flightId}/layout", flight.getId()));
+        assertStatements(1, get("/api/seats/flight/{flightId}/availability", flight.getId()));
+    }
+
+    @Test
+    @DisplayName("A cached cabin layout is answered with 304 Not Modified")
+    void cabinLayoutNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/seats/flight/{flightId}/layout", flight.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/seats/flight/{flightId}/layout", flight.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Booking lookups and pages take one statement each, however many bookings there are")
+    void bookings() throws Exception {
+        assertStatements(1, get("/api/bookings/{id}", bookings.get(0).getId()));
+        assertStatements(1, get("/api/bookings/reference/{reference}", bookings.get(0).getBookingReference()));
+        assertStatements(1, get("/api/bookings"));
+        // Existence check, then the bookings
+        assertStatements(2, get("/api/bookings/passenger/{passengerId}", passenger.getId()));
+    }
+
+    @Test
+    @DisplayName("Payment lookups and pages take one statement each")
+    void payments() throws Exception {
+        assertStatements(1, get("/api/payments/{id}", payment.getId()));
+        assertStatements(1, get("/api/payments/transaction/{transactionId}", payment.getTransactionId()));
+        assertStatements(1, get("/api/payments/booking/{bookingId}", bookings.get(0).getId()));
+        assertStatements(1, get("/api/payments"));
+    }
+
+    @Test
+    @DisplayName("Airport and passenger pages take one statement each, airport suggestions none")
+    void airportsAndPassengers() throws Exception {
+        airportSuggestIndex.load();
+        assertStatements(0, get("/api/airports/suggest").param("q", "jf"));
+        assertStatements(1, get("/api/airports"));
+        assertStatements(1, get("/api/passengers"));
+        assertStatements(1, get("/api/passengers/{id}", passenger.getId()));
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        String uri = request.buildRequest(new MockServletContext()).getRequestURI();
+        assertEquals(expected, statistics.getPrepareStatementCount(), () -> "SQL statements for " + uri);
+    }
+
+    private static Airport airport(String code) {
+        Airport airport = new Airport();
+        airport.setCode(code);
+        airport.setName(code + " Airport");
+        airport.setCity(code);
+        airport.setCountry("USA");
+        return airport;
+    }
+}
@@ -1,10 +1,19 @@
 package com.airline.reservation.controllers;
 
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.dtos.ExternalFlightDto;
+import com.airline.reservation.dtos.FareCalendarDayDto;
+import com.airline.reservation.dtos.FareCalendarDto;
 import com.airline.reservation.dtos.FlightResponseDto;
 import com.airline.reservation.dtos.ImportExternalFlightRequestDto;
+import com.airline.reservation.dtos.ItineraryDto;
 import com.airline.reservation.dtos.UnifiedFlightDto;
+import com.airline.reservation.dtos.UnifiedSearchResultDto;
+import com.airline.reservation.dtos.UnifiedSearchSummaryDto;
+import com.airline.reservation.exceptions.InvalidRequestException;
+import com.airline.reservation.services.ConnectionSearchService;
 import com.airline.reservation.services.ExternalFlightApiService;
+import com.airline.reservation.services.FareCalendarService;
 import com.airline.reservation.services.FlightSearchService;
 import com.airline.reservation.services.FlightService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,13 +29,20 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -58,6 +74,12 @@ class FlightControllerTest {
     @MockBean
     private FlightSearchService flightSearchService;
 
+    @MockBean
+    private ConnectionSearchService connectionSearchService;
+
+    @MockBean
+    private FareCalendarService fareCalendarService;
+
     private ExternalFlightDto externalFlight;
     private UnifiedFlightDto unifiedFlight;
 
@@ -82,6 +104,30 @@ class FlightControllerTest {
         unifiedFlight.setBasePrice(299.99);
     }
 
+    @Test
+    @DisplayName("GET /api/flights returns the last page without a next cursor")
+    void getFlights_lastPage() throws Exception {
+        FlightResponseDto flight = new FlightResponseDto();
+        flight.setId(1L);
+        when(flightService.getFlights(null, null)).thenReturn(new CursorPageDto<>(List.of(flight), null));
+
+        mockMvc.perform(get("/api/flights"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/flights rejects a malformed cursor as a bad request")
+    void getFlights_invalidCursor() throws Exception {
+        when(flightService.getFlights("bad", null)).thenThrow(new InvalidRequestException("Invalid page cursor"));
+
+        mockMvc.perform(get("/api/flights").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid page cursor"));
+    }
+
     @Test
     @DisplayName("GET /api/flights/external returns external flights")
     void getExternalFlights_success() throws Exception {
@@ -126,7 +172,8 @@ class FlightControllerTest {
     @Test
     @DisplayName("POST /api/flights/search-unified returns unified results")
     void searchUnified_success() throws Exception {
-        when(flightSearchService.searchUnified(any(), eq(true))).thenReturn(List.of(unifiedFlight));
+        when(flightSearchService.searchUnified(any(), eq(true)))
+                .thenReturn(new UnifiedSearchResultDto(List.of(unifiedFlight), false, List.of()));
 
         mockMvc.perform(post("/api/flights/search-unified?includeExternal=true")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -135,11 +182,126 @@ class FlightControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.length()").value(1))
                 .andExpect(jsonPath("$.data[0].source").value("external"))
-                .andExpect(jsonPath("$.data[0].bookable").value(false));
+                .andExpect(jsonPath("$.data[0].bookable").value(false))
+                .andExpect(header().string("X-Search-Partial", "false"));
 
         verify(flightSearchService).searchUnified(any(), eq(true));
     }
 
+    @Test
+    @DisplayName("POST /api/flights/search-unified flags partial results")
+    void searchUnified_partial() throws Exception {
+        when(flightSearchService.searchUnified(any(), eq(true)))
+                .thenReturn(new UnifiedSearchResultDto(List.of(), true, List.of("aviationstack")));
+
+        mockMvc.perform(post("/api/flights/search-unified")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"departureAirportCode\":\"JFK\",\"arrivalAirportCode\":\"LAX\",\"departureDate\":\"2025-02-15\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Search-Partial", "true"))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Flights retrieved partially; no results in time from: aviationstack"))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("POST /api/flights/search-unified/stream writes NDJSON lines and a summary")
+    void streamUnified_ndjson() throws Exception {
+        stubStream();
+
+        MvcResult started = mockMvc.perform(post("/api/flights/search-unified/stream")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"departureAirportCode\":\"JFK\",\"arrivalAirportCode\":\"LAX\",\"departureDate\":\"2025-02-15\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("AA101", objectMapper.readTree(lines[0]).get("flightNumber").asText());
+        assertEquals("aviationstack",
+                objectMapper.readTree(lines[1]).get("missingSources").get(0).asText());
+    }
+
+    @Test
+    @DisplayName("POST /api/flights/search-unified/stream writes Server-Sent Events when asked")
+    void streamUnified_sse() throws Exception {
+        stubStream();
+
+        MvcResult started = mockMvc.perform(post("/api/flights/search-unified/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"departureAirportCode\":\"JFK\",\"arrivalAirportCode\":\"LAX\",\"departureDate\":\"2025-02-15\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(startsWith("event: flight\ndata: {")))
+                .andExpect(content().string(containsString(
+                        "event: complete\ndata: {\"complete\":true,\"partial\":true,\"missingSources\":[\"aviationstack\"]}\n\n")));
+    }
+
+    @Test
+    @DisplayName("POST /api/flights/search-connections returns itineraries")
+    void searchConnections_success() throws Exception {
+        FlightResponseDto leg = new FlightResponseDto();
+        leg.setId(1L);
+        leg.setFlightNumber("AI101");
+        ItineraryDto itinerary = new ItineraryDto();
+        itinerary.setFlights(List.of(leg));
+        itinerary.setStops(0);
+        itinerary.setTotalPrice(299.99);
+        when(connectionSearchService.searchConnections(any())).thenReturn(List.of(itinerary));
+
+        mockMvc.perform(post("/api/flights/search-connections")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"departureAirportCode\":\"JFK\",\"arrivalAirportCode\":\"LAX\",\"departureDate\":\"2025-02-15\",\"maxStops\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].stops").value(0))
+                .andExpect(jsonPath("$.data[0].flights[0].flightNumber").value("AI101"));
+
+        verify(connectionSearchService).searchConnections(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/flights/search-connections rejects more than two stops")
+    void searchConnections_tooManyStops_badRequest() throws Exception {
+        mockMvc.perform(post("/api/flights/search-connections")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"departureAirportCode\":\"JFK\",\"arrivalAirportCode\":\"LAX\",\"departureDate\":\"2025-02-15\",\"maxStops\":3}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/flights/fare-calendar returns one entry per day")
+    void getFareCalendar_success() throws Exception {
+        LocalDate start = LocalDate.of(2025, 2, 14);
+        FareCalendarDto calendar = new FareCalendarDto("JFK", "LAX", start, start.plusDays(1), List.of(
+                new FareCalendarDayDto(start, 2, 199.0, List.of()),
+                new FareCalendarDayDto(start.plusDays(1), 0, null, List.of())));
+        when(fareCalendarService.getFareCalendar("JFK", "LAX", start, start.plusDays(1))).thenReturn(calendar);
+
+        mockMvc.perform(get("/api/flights/fare-calendar")
+                        .param("departureAirportCode", "JFK")
+                        .param("arrivalAirportCode", "LAX")
+                        .param("startDate", "2025-02-14")
+                        .param("endDate", "2025-02-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.days.length()").value(2))
+                .andExpect(jsonPath("$.data.days[0].lowestFare").value(199.0))
+                .andExpect(jsonPath("$.data.days[1].flights").value(0));
+    }
+
     @Test
     @DisplayName("POST /api/flights/import-from-external with externalFlightId returns 201")
     void importFromExternal_byId_success() throws Exception {
@@ -172,4 +334,12 @@ class FlightControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false));
     }
+
+    private void stubStream() {
+        doAnswer(invocation -> {
+            FlightSearchService.ResultListener listener = invocation.getArgument(2);
+            listener.onResults(null, List.of(unifiedFlight));
+            return new UnifiedSearchSummaryDto(true, true, List.of("aviationstack"));
+        }).when(flightSearchService).streamUnified(any(), eq(true), any());
+    }
 }
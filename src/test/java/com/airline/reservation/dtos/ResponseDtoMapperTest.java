@@ -0,0 +1,93 @@
+package com.airline.reservation.dtos;
+
+import com.airline.reservation.configs.ModelMapperConfig;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResponseDtoMapper Unit Tests")
+class ResponseDtoMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+
+    @Test
+    @DisplayName("Airport, seat and passenger mappings match the ModelMapper configuration")
+    void matchesModelMapper() {
+        Airport airport = airport(1L, "JFK");
+
+        Seat seat = new Seat();
+        seat.setId(10L);
+        seat.setSeatNumber("12C");
+        seat.setSeatClass(Seat.SeatClass.BUSINESS);
+        seat.setStatus(Seat.SeatStatus.RESERVED);
+        seat.setPrice(150.0);
+
+        Passenger passenger = new Passenger();
+        passenger.setId(3L);
+        passenger.setFirstName("John");
+        passenger.setLastName("Doe");
+        passenger.setEmail("john.doe@example.com");
+        passenger.setPhoneNumber("+1234567890");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("P1234567");
+        passenger.setNationality("USA");
+        passenger.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4));
+
+        assertEquals(modelMapper.map(airport, AirportResponseDto.class), ResponseDtoMapper.toAirportDto(airport));
+        assertEquals(modelMapper.map(seat, SeatResponseDto.class), ResponseDtoMapper.toSeatDto(seat));
+        assertEquals(modelMapper.map(passenger, PassengerResponseDto.class), ResponseDtoMapper.toPassengerDto(passenger));
+    }
+
+    @Test
+    @DisplayName("Maps a flight with its airports")
+    void toFlightDto() {
+        Flight flight = new Flight();
+        flight.setId(7L);
+        flight.setFlightNumber("AA101");
+        flight.setAirlineName("American Airlines");
+        flight.setDepartureAirport(airport(1L, "JFK"));
+        flight.setArrivalAirport(airport(2L, "LAX"));
+        flight.setDepartureTime(LocalDateTime.of(2026, 3, 14, 9, 30));
+        flight.setArrivalTime(LocalDateTime.of(2026, 3, 14, 15, 45));
+        flight.setTotalSeats(180);
+        flight.setAvailableSeats(42);
+        flight.setBasePrice(299.99);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+
+        FlightResponseDto dto = ResponseDtoMapper.toFlightDto(flight);
+
+        assertEquals(7L, dto.getId());
+        assertEquals("AA101", dto.getFlightNumber());
+        assertEquals("JFK", dto.getDepartureAirport().getCode());
+        assertEquals("LAX", dto.getArrivalAirport().getCode());
+        assertEquals(42, dto.getAvailableSeats());
+        assertEquals("SCHEDULED", dto.getStatus());
+    }
+
+    @Test
+    @DisplayName("Null sources and fields map to null")
+    void nulls() {
+        assertNull(ResponseDtoMapper.toFlightDto(null));
+        assertNull(ResponseDtoMapper.toSeatDto(new Seat()).getSeatClass());
+        assertNull(ResponseDtoMapper.toFlightDto(new Flight()).getDepartureAirport());
+    }
+
+    private static Airport airport(Long id, String code) {
+        Airport airport = new Airport();
+        airport.setId(id);
+        airport.setCode(code);
+        airport.setName(code + " International");
+        airport.setCity("City " + code);
+        airport.setCountry("USA");
+        return airport;
+    }
+}
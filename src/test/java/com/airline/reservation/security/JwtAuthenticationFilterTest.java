@@ -0,0 +1,237 @@
+package com.airline.reservation.security;
+
+import com.airline.reservation.models.AppUser;
+import com.airline.reservation.models.Role;
+import com.airline.reservation.repositories.AppUserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "nZrG0Z8p6b1o0Zs1d4yE7u8mT9Q2xkVfY7p2dQ5zv1c=";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private AppUserRepository userRepository;
+
+    private JwtService jwtService;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticationFilter filter;
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecretBase64", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 86400000L);
+
+        revocationList = new TokenRevocationList(userRepository);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, revocationList);
+
+        user = new AppUser();
+        user.setId(7L);
+        user.setEmail("admin@example.com");
+        user.setPassword("encodedPassword");
+        user.setRole(Role.ADMIN);
+        user.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims without loading the user")
+    void testStatelessPrincipal() throws Exception {
+        // When
+        filter.doFilter(request(jwtService.generateToken(new AppUserPrincipal(user))),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        AppUserPrincipal principal = (AppUserPrincipal) auth.getPrincipal();
+        assertEquals(7L, principal.getUser().getId());
+        assertEquals("admin@example.com", principal.getUsername());
+        assertEquals("ROLE_ADMIN", auth.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should authenticate tokens issued before the refresh while the user is unchanged")
+    void testUnchangedUserAccepted() throws Exception {
+        // Given
+        String token = tokenIssuedMinuteAgo(Role.ADMIN);
+        when(userRepository.findAuthorities()).thenReturn(List.of(authority(7L, Role.ADMIN, true)));
+        revocationList.refresh();
+
+        // When
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should not authenticate tokens of disabled users")
+    void testDisabledUserRejected() throws Exception {
+        // Given
+        String token = tokenIssuedMinuteAgo(Role.ADMIN);
+        when(userRepository.findAuthorities()).thenReturn(List.of(authority(7L, Role.ADMIN, false)));
+        revocationList.refresh();
+
+        // When
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should not authenticate tokens claiming a role the user no longer has")
+    void testDemotedUserRejected() throws Exception {
+        // Given
+        String token = tokenIssuedMinuteAgo(Role.ADMIN);
+        when(userRepository.findAuthorities()).thenReturn(List.of(authority(7L, Role.USER, true)));
+        revocationList.refresh();
+
+        // When
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate tokens of deleted users")
+    void testDeletedUserRejected() throws Exception {
+        // Given
+        String token = tokenIssuedMinuteAgo(Role.ADMIN);
+        when(userRepository.findAuthorities()).thenReturn(List.of(authority(3L, Role.ADMIN, true)));
+        revocationList.refresh();
+
+        // When
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should authenticate tokens issued since the last refresh")
+    void testTokenNewerThanRefreshAccepted() throws Exception {
+        // Given - the user registered after the refresh
+        when(userRepository.findAuthorities()).thenReturn(List.of());
+        revocationList.refresh();
+
+        // When
+        filter.doFilter(request(jwtService.generateToken(new AppUserPrincipal(user))),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should load the user for tokens without the uid claim")
+    void testLegacyTokenFallsBackToUserLookup() throws Exception {
+        // Given
+        String legacyToken = Jwts.builder()
+                .claim(JwtService.ROLE_CLAIM, "ADMIN")
+                .setSubject("admin@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(new AppUserPrincipal(user));
+
+        // When
+        filter.doFilter(request(legacyToken), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername("admin@example.com");
+    }
+
+    @Test
+    @DisplayName("Should load the user when stateless principals are disabled")
+    void testDatabaseMode() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", false);
+        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(new AppUserPrincipal(user));
+
+        // When
+        filter.doFilter(request(jwtService.generateToken(new AppUserPrincipal(user))),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername("admin@example.com");
+    }
+
+    private static String tokenIssuedMinuteAgo(Role role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claim(JwtService.USER_ID_CLAIM, 7L)
+                .claim(JwtService.ROLE_CLAIM, role.name())
+                .setSubject("admin@example.com")
+                .setIssuedAt(new Date(now - 60_000))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static AppUserRepository.UserAuthority authority(Long id, Role role, boolean enabled) {
+        return new AppUserRepository.UserAuthority() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Role getRole() {
+                return role;
+            }
+
+            @Override
+            public Boolean getEnabled() {
+                return enabled;
+            }
+        };
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
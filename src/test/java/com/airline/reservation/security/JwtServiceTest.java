@@ -2,9 +2,11 @@ package com.airline.reservation.security;
 
 import com.airline.reservation.models.AppUser;
 import com.airline.reservation.models.Role;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -206,5 +208,45 @@ class JwtServiceTest {
         assertNotNull(issuedAt);
         assertTrue(issuedAt.before(new Date()) || issuedAt.equals(new Date()));
     }
-}
 
+    @Test
+    @DisplayName("Should return cached claims when the same token is verified again")
+    void testParseToken_CachesVerifiedToken() {
+        // Given
+        String token = jwtService.generateToken(userPrincipal);
+
+        // When
+        Claims first = jwtService.parseToken(token);
+        Claims second = jwtService.parseToken(token);
+
+        // Then
+        assertSame(first, second);
+        assertTrue(jwtService.isTokenValid(second, userPrincipal));
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token even when the original is cached")
+    void testParseToken_TamperedTokenRejected() {
+        // Given
+        String token = jwtService.generateToken(userPrincipal);
+        jwtService.parseToken(token);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin@example.com\",\"role\":\"ADMIN\"}".getBytes(StandardCharsets.UTF_8));
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        // When / Then
+        assertThrows(SignatureException.class, () -> jwtService.parseToken(forged));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testParseToken_ExpiredToken() {
+        // Given
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", -TimeUnit.MINUTES.toMillis(1));
+        String token = jwtService.generateToken(userPrincipal);
+
+        // When / Then
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractUsername(token));
+    }
+}
@@ -0,0 +1,127 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.repositories.AirportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AirportRegistry Unit Tests")
+class AirportRegistryTest {
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private AirportRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new AirportRegistry(airportRepository);
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenReturn(List.of(
+                new AirportResponseDto(1L, "JFK", "John F. Kennedy International", new String("New York"), "USA"),
+                new AirportResponseDto(2L, "LGA", "LaGuardia", new String("New York"), "USA"),
+                new AirportResponseDto(3L, "LAX", "Los Angeles International", "Los Angeles", "USA")));
+        registry.load();
+    }
+
+    @Test
+    @DisplayName("Should look airports up by ID and by code in any case")
+    void testLookups() {
+        assertEquals(3, registry.size());
+        assertEquals("LaGuardia", registry.byCode("LGA").orElseThrow().getName());
+        assertSame(registry.byId(1L).orElseThrow(), registry.byCode("jfk").orElseThrow());
+        assertTrue(registry.byCode("ORD").isEmpty());
+        assertTrue(registry.byId(99L).isEmpty());
+        assertTrue(registry.byId(null).isEmpty());
+        verify(airportRepository, times(1)).findAirportDtosAfter(0L, Limit.unlimited());
+    }
+
+    @Test
+    @DisplayName("Should share one DTO per airport and one string per city")
+    void testSharedInstances() {
+        Airport entity = new Airport();
+        entity.setId(3L);
+        Airport unregistered = new Airport();
+        unregistered.setId(42L);
+        unregistered.setCode("ORD");
+
+        assertSame(registry.byId(3L).orElseThrow(), registry.dto(entity));
+        assertEquals("ORD", registry.dto(unregistered).getCode());
+        assertNull(registry.dto(null));
+        assertSame(registry.byId(1L).orElseThrow().getCity(), registry.byId(2L).orElseThrow().getCity());
+    }
+
+    @Test
+    @DisplayName("Should swap in added, renamed and deleted airports")
+    void testOnAirportChanged() {
+        // When
+        registry.onAirportChanged(AirportChangedEvent.saved(
+                new AirportResponseDto(4L, "ewr", "Newark Liberty", new String("New York"), "USA")));
+        registry.onAirportChanged(AirportChangedEvent.saved(
+                new AirportResponseDto(2L, "LGA", "LaGuardia Terminal B", "New York", "USA")));
+        registry.onAirportChanged(AirportChangedEvent.deleted(3L));
+
+        // Then
+        AirportResponseDto newark = registry.byCode("EWR").orElseThrow();
+        assertEquals("EWR", newark.getCode());
+        assertSame(registry.byId(1L).orElseThrow().getCity(), newark.getCity());
+        assertEquals("LaGuardia Terminal B", registry.byCode("LGA").orElseThrow().getName());
+        assertTrue(registry.byCode("LAX").isEmpty());
+        assertTrue(registry.byId(3L).isEmpty());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    @DisplayName("Should pick up airports changed on other nodes on reload")
+    void testReload() {
+        // Given: another node added EWR and deleted LAX
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenReturn(List.of(
+                new AirportResponseDto(1L, "JFK", "John F. Kennedy International", "New York", "USA"),
+                new AirportResponseDto(2L, "LGA", "LaGuardia", "New York", "USA"),
+                new AirportResponseDto(4L, "EWR", "Newark Liberty", "New York", "USA")));
+
+        // When
+        registry.reload();
+
+        // Then
+        assertEquals("Newark Liberty", registry.byCode("EWR").orElseThrow().getName());
+        assertTrue(registry.byCode("LAX").isEmpty());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the last snapshot when a reload fails")
+    void testReload_Failure() {
+        // Given
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenThrow(new IllegalStateException("down"));
+
+        // When
+        registry.reload();
+
+        // Then
+        assertEquals(3, registry.size());
+        assertTrue(registry.byCode("LAX").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should only pack three-letter ASCII codes into distinct keys")
+    void testKey() {
+        assertEquals(AirportRegistry.key("JFK"), AirportRegistry.key("jfk"));
+        assertNotEquals(AirportRegistry.key("JFK"), AirportRegistry.key("KFJ"));
+        assertEquals(-1, AirportRegistry.key("JFKX"));
+        assertEquals(-1, AirportRegistry.key("ÅLE"));
+        assertEquals(-1, AirportRegistry.key(null));
+        assertTrue(registry.byCode("JF").isEmpty());
+    }
+}
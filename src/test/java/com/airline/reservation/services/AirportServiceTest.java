@@ -2,6 +2,7 @@ package com.airline.reservation.services;
 
 import com.airline.reservation.dtos.AirportRequestDto;
 import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.exceptions.ResourceAlreadyExistsException;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Airport;
@@ -14,7 +15,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +38,9 @@ class AirportServiceTest {
     // ModelMapper is no longer mocked, using a real instance
     private ModelMapper modelMapper;
 
+    private AirportRegistry airportRegistry;
+    private final List<Object> publishedEvents = new ArrayList<>();
+
     // @InjectMocks is removed as we are manually creating the service
     private AirportService airportService;
 
@@ -48,7 +54,9 @@ class AirportServiceTest {
         modelMapper = new ModelMapper();
 
         // Since @InjectMocks won't work with a real instance, we'll create the service manually
-        airportService = new AirportService(airportRepository, modelMapper);
+        airportRegistry = new AirportRegistry(airportRepository);
+        airportService = new AirportService(airportRepository, modelMapper, airportRegistry,
+                new AirportSuggestIndex(airportRepository), publishedEvents::add);
         airportRequest = new AirportRequestDto();
         airportRequest.setCode("JFK");
         airportRequest.setName("John F. Kennedy International Airport");
@@ -89,6 +97,7 @@ class AirportServiceTest {
         assertEquals("JFK", result.getCode());
         verify(airportRepository).existsByCode("JFK");
         verify(airportRepository).save(any(Airport.class));
+        assertEquals(List.of(AirportChangedEvent.saved(result)), publishedEvents);
     }
 
     @Test
@@ -141,6 +150,36 @@ class AirportServiceTest {
         verify(airportRepository).findById(1L);
     }
 
+    @Test
+    @DisplayName("Should serve registered airports by ID and code without touching the repository")
+    void testGetAirport_FromRegistry() {
+        // Given
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenReturn(List.of(airportResponse));
+        airportRegistry.load();
+
+        // When
+        AirportResponseDto byId = airportService.getAirportById(1L);
+        AirportResponseDto byCode = airportService.getAirportByCode("jfk");
+
+        // Then
+        assertEquals(airportResponse, byId);
+        assertSame(byId, byCode);
+        verify(airportRepository, never()).findById(anyLong());
+        verify(airportRepository, never()).findByCode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a registered code without asking the repository")
+    void testCreateAirport_CodeInRegistry() {
+        // Given
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenReturn(List.of(airportResponse));
+        airportRegistry.load();
+
+        // When & Then
+        assertThrows(ResourceAlreadyExistsException.class, () -> airportService.createAirport(airportRequest));
+        verify(airportRepository, never()).existsByCode(anyString());
+    }
+
     @Test
     @DisplayName("Should throw exception when airport not found by ID")
     void testGetAirportById_NotFound() {
@@ -181,27 +220,23 @@ class AirportServiceTest {
     }
 
     @Test
-    @DisplayName("Should successfully get all airports")
-    void testGetAllAirports_Success() {
+    @DisplayName("Should successfully get a page of airports")
+    void testGetAirports_Success() {
         // Given
-        Airport airport2 = new Airport();
-        airport2.setId(2L);
-        airport2.setCode("LAX");
-
         AirportResponseDto response2 = new AirportResponseDto();
-        response2.setId(2L);
+        response2.setId(9L);
         response2.setCode("LAX");
 
-        List<Airport> airports = Arrays.asList(airport, airport2);
-        when(airportRepository.findAll()).thenReturn(airports);
+        List<AirportResponseDto> airports = Arrays.asList(airportResponse, response2);
+        when(airportRepository.findAirportDtosAfter(7L, Limit.of(PageCursor.MAX_SIZE + 1)))
+                .thenReturn(airports);
 
-        // When
-        List<AirportResponseDto> result = airportService.getAllAirports();
+        // When: the requested size is capped
+        CursorPageDto<AirportResponseDto> page = airportService.getAirports(PageCursor.encode(7L), 10_000);
 
         // Then
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(airportRepository).findAll();
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
@@ -270,6 +305,7 @@ class AirportServiceTest {
         // Then
         verify(airportRepository).existsById(1L);
         verify(airportRepository).deleteById(1L);
+        assertEquals(List.of(AirportChangedEvent.deleted(1L)), publishedEvents);
     }
 
     @Test
@@ -0,0 +1,160 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.AirportResponseDto;
+import com.airline.reservation.repositories.AirportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AirportSuggestIndex Unit Tests")
+class AirportSuggestIndexTest {
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private AirportSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AirportSuggestIndex(airportRepository);
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenReturn(List.of(
+                airport(1L, "JFK", "John F. Kennedy International Airport", "New York"),
+                airport(2L, "LGA", "LaGuardia Airport", "New York"),
+                airport(3L, "ZRH", "Zürich Airport", "Zürich"),
+                airport(4L, "NWI", "Norwich Airport", "Norwich"),
+                airport(5L, "KRK", "Kraków John Paul II International Airport", "Kraków")));
+        when(airportRepository.countFlightsByAirport()).thenReturn(List.of(traffic(1L, 40), traffic(2L, 25),
+                traffic(4L, 90)));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Should match code, city, name and later words of the name")
+    void testSuggest_Fields() {
+        assertEquals(List.of("JFK"), codes(index.suggest("jfk", 10)));
+        assertEquals(List.of("LGA"), codes(index.suggest("laguard", 10)));
+        assertEquals(List.of("JFK"), codes(index.suggest("kennedy", 10)));
+        assertEquals(List.of("JFK", "LGA"), codes(index.suggest("new y", 10)));
+        assertEquals(List.of("JFK", "KRK"), codes(index.suggest("john", 10)));
+        assertEquals(List.of(), index.suggest("ord", 10));
+    }
+
+    @Test
+    @DisplayName("Should fold case, diacritics and punctuation on both sides")
+    void testSuggest_Folding() {
+        assertEquals(List.of("ZRH"), codes(index.suggest("zurich", 10)));
+        assertEquals(List.of("ZRH"), codes(index.suggest("ZÜR", 10)));
+        assertEquals(List.of("KRK"), codes(index.suggest("krakow", 10)));
+        assertEquals(List.of("JFK"), codes(index.suggest("John-F. Ken", 10)));
+        assertEquals("zurich flughafen", AirportSuggestIndex.fold("  Zürich-Flughafen!"));
+        assertEquals("lodz", AirportSuggestIndex.fold("Łódź"));
+        assertEquals("", AirportSuggestIndex.fold(null));
+        assertEquals(List.of(), index.suggest(" - ", 10));
+    }
+
+    @Test
+    @DisplayName("Should rank an exact code first, then by flight count, and honour the limit")
+    void testSuggest_Ranking() {
+        // "n" matches New York (JFK 40 flights, LGA 25) and Norwich (90 flights)
+        assertEquals(List.of("NWI", "JFK", "LGA"), codes(index.suggest("n", 10)));
+        assertEquals(List.of("NWI", "JFK"), codes(index.suggest("n", 2)));
+        // "lga" is LGA's code; nothing else starts with it
+        assertEquals(List.of("LGA"), codes(index.suggest("LGA", 10)));
+        assertEquals(5, index.suggest("airport", 500).size());
+        assertEquals(List.of(), index.suggest("n", 0));
+    }
+
+    @Test
+    @DisplayName("Should merge added, renamed and deleted airports")
+    void testOnAirportChanged() {
+        // When
+        index.onAirportChanged(AirportChangedEvent.saved(airport(6L, "EWR", "Newark Liberty International", "Newark")));
+        index.onAirportChanged(AirportChangedEvent.saved(airport(2L, "LGA", "Fiorello LaGuardia", "New York")));
+        index.onAirportChanged(AirportChangedEvent.deleted(4L));
+
+        // Then: LGA keeps its flight count, Norwich is gone
+        assertEquals(List.of("JFK", "LGA", "EWR"), codes(index.suggest("n", 10)));
+        assertEquals(List.of("LGA"), codes(index.suggest("fiorello", 10)));
+        assertEquals(List.of(), index.suggest("norwich", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("Should pick up airports changed on other nodes on reload, keeping the flight counts")
+    void testReload() {
+        // Given: another node added Newark and deleted LaGuardia
+        when(airportRepository.findAirportDtosAfter(0L, Limit.unlimited())).thenReturn(List.of(
+                airport(1L, "JFK", "John F. Kennedy International Airport", "New York"),
+                airport(4L, "NWI", "Norwich Airport", "Norwich"),
+                airport(6L, "EWR", "Newark Liberty International Airport", "Newark")));
+
+        // When
+        index.reload();
+
+        // Then
+        assertEquals(List.of("NWI", "JFK", "EWR"), codes(index.suggest("n", 10)));
+        assertEquals(3, index.size());
+        verify(airportRepository, times(1)).countFlightsByAirport();
+    }
+
+    @Test
+    @DisplayName("Should rerank by refreshed flight counts")
+    void testRefreshPopularity() {
+        // Given
+        when(airportRepository.countFlightsByAirport()).thenReturn(List.of(traffic(2L, 500)));
+
+        // When
+        index.refreshPopularity();
+
+        // Then
+        assertEquals(List.of("LGA", "JFK", "NWI"), codes(index.suggest("n", 10)));
+    }
+
+    @Test
+    @DisplayName("Should keep the last ranking when the recount fails")
+    void testRefreshPopularity_Failure() {
+        // Given
+        when(airportRepository.countFlightsByAirport()).thenThrow(new IllegalStateException("down"));
+
+        // When
+        index.refreshPopularity();
+
+        // Then
+        assertEquals(List.of("NWI", "JFK", "LGA"), codes(index.suggest("n", 10)));
+    }
+
+    private static List<String> codes(List<AirportResponseDto> airports) {
+        List<String> codes = new ArrayList<>();
+        airports.forEach(airport -> codes.add(airport.getCode()));
+        return codes;
+    }
+
+    private static AirportResponseDto airport(Long id, String code, String name, String city) {
+        return new AirportResponseDto(id, code, name, city, "-");
+    }
+
+    private static AirportRepository.AirportTraffic traffic(Long airportId, long flights) {
+        return new AirportRepository.AirportTraffic() {
+            @Override
+            public Long getAirportId() {
+                return airportId;
+            }
+
+            @Override
+            public Long getFlights() {
+                return flights;
+            }
+        };
+    }
+}
@@ -0,0 +1,276 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.BatchBookingRequestDto;
+import com.airline.reservation.dtos.BookingRequestDto;
+import com.airline.reservation.exceptions.InvalidBookingException;
+import com.airline.reservation.exceptions.SeatNotAvailableException;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Booking;
+import com.airline.reservation.models.CabinTemplate;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.repositories.BookingRepository;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.PassengerRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races many concurrent bookings against a real (H2) database to prove the conditional
+ * updates never oversell a flight or double-book a seat.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:bookingrace;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+                "spring.datasource.hikari.maximum-pool-size=50"})
+@DisplayName("BookingService Concurrency Tests")
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 500;
+    private static final int LAST_SEATS = 10;
+    private static final long HOLD_TTL_MS = 900000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Passenger passenger;
+    private Flight flight;
+    private List<Seat> seats;
+
+    @BeforeEach
+    void setUp() {
+        Airport departure = airportRepository.save(airport("JFK"));
+        Airport arrival = airportRepository.save(airport("LAX"));
+
+        passenger = new Passenger();
+        passenger.setFirstName("Race");
+        passenger.setLastName("Tester");
+        passenger.setEmail("race@example.com");
+        passenger.setPhoneNumber("9876543210");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("R1234567");
+        passenger.setNationality("USA");
+        passenger = passengerRepository.save(passenger);
+
+        flight = new Flight();
+        flight.setFlightNumber("RC500");
+        flight.setAirlineName("Race Air");
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(LocalDateTime.now().plusDays(1));
+        flight.setArrivalTime(LocalDateTime.now().plusDays(1).plusHours(5));
+        flight.setTotalSeats(THREADS);
+        flight.setAvailableSeats(LAST_SEATS);
+        flight.setBasePrice(100.0);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flight = flightRepository.save(flight);
+
+        seats = new ArrayList<>();
+        for (int i = 1; i <= THREADS; i++) {
+            Seat seat = new Seat();
+            seat.setFlight(flight);
+            seat.setSeatNumber(i + "A");
+            seat.setSeatClass(Seat.SeatClass.ECONOMY);
+            seat.setPrice(100.0);
+            seat.setStatus(Seat.SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        seats = seatRepository.saveAll(seats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        seatRepository.deleteAll();
+        flightRepository.deleteAll();
+        passengerRepository.deleteAll();
+        airportRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("500 threads on distinct seats never oversell the last 10 seats")
+    void lastSeats_neverOversold() throws Exception {
+        RaceResult result = race(i -> seats.get(i).getId());
+
+        assertEquals(LAST_SEATS, result.booked.get());
+        assertEquals(THREADS - LAST_SEATS, result.rejected.get());
+        assertTrue(result.unexpected.isEmpty(), () -> "Unexpected failures: " + result.unexpected);
+        assertEquals(0, flightRepository.findById(flight.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(LAST_SEATS, seatRepository.countByFlightAndStatus(flight, Seat.SeatStatus.RESERVED));
+        assertEquals(LAST_SEATS, bookingRepository.count());
+    }
+
+    @Test
+    @DisplayName("500 threads on the same 10 seats book each seat exactly once")
+    void sameSeats_bookedOnce() throws Exception {
+        RaceResult result = race(i -> seats.get(i % LAST_SEATS).getId());
+
+        assertEquals(LAST_SEATS, result.booked.get());
+        assertTrue(result.unexpected.isEmpty(), () -> "Unexpected failures: " + result.unexpected);
+        assertEquals(0, flightRepository.findById(flight.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(LAST_SEATS, seatRepository.countByFlightAndStatus(flight, Seat.SeatStatus.RESERVED));
+        assertEquals(LAST_SEATS, bookingRepository.findByFlight(flight).stream()
+                .map(b -> b.getSeat().getId())
+                .distinct()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Groups of two racing for the last 10 seats are booked all-or-nothing")
+    void groupBookings_allOrNothing() throws Exception {
+        RaceResult result = race(THREADS / 10, i -> {
+            BatchBookingRequestDto request = new BatchBookingRequestDto(flight.getId(), List.of(
+                    new BatchBookingRequestDto.PassengerSeat(passenger.getId(), seats.get(2 * i).getId()),
+                    new BatchBookingRequestDto.PassengerSeat(passenger.getId(), seats.get(2 * i + 1).getId())));
+            bookingService.createBookings(request);
+        });
+
+        assertEquals(LAST_SEATS / 2, result.booked.get());
+        assertTrue(result.unexpected.isEmpty(), () -> "Unexpected failures: " + result.unexpected);
+        assertEquals(0, flightRepository.findById(flight.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(LAST_SEATS, seatRepository.countByFlightAndStatus(flight, Seat.SeatStatus.RESERVED));
+        assertEquals(LAST_SEATS, bookingRepository.count());
+    }
+
+    @Test
+    @DisplayName("500 threads on the same 10 template seats insert and book each seat exactly once")
+    void templateSeats_bookedOnce() throws Exception {
+        // Given: a flight with no seat rows at all
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
+        flight = flightRepository.save(flight);
+        seatRepository.deleteAll(seats);
+
+        // When
+        RaceResult result = race(i -> CabinLayout.seatId(flight.getId(), i % LAST_SEATS));
+
+        // Then
+        assertEquals(LAST_SEATS, result.booked.get());
+        assertTrue(result.unexpected.isEmpty(), () -> "Unexpected failures: " + result.unexpected);
+        assertEquals(0, flightRepository.findById(flight.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(LAST_SEATS, seatRepository.countByFlightAndStatus(flight, Seat.SeatStatus.RESERVED));
+        assertEquals(LAST_SEATS, seatRepository.count());
+    }
+
+    @Test
+    @DisplayName("Two cancels per booking racing the hold sweep end each booking once and free each seat once")
+    void cancelsAndSweep_releaseEachSeatOnce() throws Exception {
+        // Given: the last 10 seats held by pending bookings
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < LAST_SEATS; i++) {
+            bookingIds.add(bookingService.createBooking(
+                    new BookingRequestDto(passenger.getId(), flight.getId(), seats.get(i).getId())).getId());
+        }
+        AtomicInteger expired = new AtomicInteger();
+
+        // When: the sweep runs as if every hold had run out
+        int cancels = 2 * LAST_SEATS;
+        RaceResult result = race(cancels + 1, i -> {
+            if (i == cancels) {
+                expired.set(seatHoldService.expireHolds(
+                        System.currentTimeMillis() + HOLD_TTL_MS + 2 * SeatHoldService.TICK_MS));
+            } else {
+                bookingService.cancelBooking(bookingIds.get(i % LAST_SEATS));
+            }
+        });
+
+        // Then
+        assertTrue(result.unexpected.isEmpty(), () -> "Unexpected failures: " + result.unexpected);
+        List<Booking> bookings = bookingRepository.findAllById(bookingIds);
+        long cancelled = bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.CANCELLED).count();
+        assertEquals(result.booked.get() - 1, cancelled);
+        assertEquals(LAST_SEATS, cancelled + expired.get());
+        assertEquals(LAST_SEATS, cancelled + bookings.stream()
+                .filter(b -> b.getStatus() == Booking.BookingStatus.EXPIRED)
+                .count());
+        assertEquals(LAST_SEATS, flightRepository.findById(flight.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(0, seatRepository.countByFlightAndStatus(flight, Seat.SeatStatus.RESERVED));
+    }
+
+    private RaceResult race(IntFunction<Long> seatForThread) throws InterruptedException {
+        return race(THREADS, i -> bookingService.createBooking(
+                new BookingRequestDto(passenger.getId(), flight.getId(), seatForThread.apply(i))));
+    }
+
+    private RaceResult race(int threads, IntConsumer booking) throws InterruptedException {
+        RaceResult result = new RaceResult();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            pool.execute(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    booking.accept(thread);
+                    result.booked.incrementAndGet();
+                } catch (SeatNotAvailableException | InvalidBookingException e) {
+                    result.rejected.incrementAndGet();
+                } catch (Exception e) {
+                    result.unexpected.add(e.toString());
+                }
+            });
+        }
+
+        ready.await();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        return result;
+    }
+
+    private static Airport airport(String code) {
+        Airport airport = new Airport();
+        airport.setCode(code);
+        airport.setName(code + " Airport");
+        airport.setCity(code);
+        airport.setCountry("USA");
+        return airport;
+    }
+
+    private static class RaceResult {
+        final AtomicInteger booked = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final ConcurrentLinkedQueue<String> unexpected = new ConcurrentLinkedQueue<>();
+    }
+}
@@ -1,5 +1,7 @@
 package com.airline.reservation.services;
 
+import com.airline.reservation.configs.CacheConfig;
+import com.airline.reservation.dtos.BatchBookingRequestDto;
 import com.airline.reservation.dtos.BookingRequestDto;
 import com.airline.reservation.dtos.BookingResponseDto;
 import com.airline.reservation.exceptions.InvalidBookingException;
@@ -14,7 +16,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +26,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -41,8 +47,13 @@ class BookingServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
-    // ModelMapper is no longer mocked, using a real instance
-    private ModelMapper modelMapper;
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    private SeatInventoryService seatInventoryService;
+
+    private ConcurrentMapCacheManager cacheManager;
+
 
     // @InjectMocks is removed as we are manually creating the service
     private BookingService bookingService;
@@ -56,11 +67,11 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Use real ModelMapper instead of mocking (avoids Java 24 compatibility issues)
-        modelMapper = new ModelMapper();
-
         // Since @InjectMocks won't work with a real instance, we'll create the service manually
-        bookingService = new BookingService(bookingRepository, passengerRepository, flightRepository, seatRepository, modelMapper);
+        seatInventoryService = new SeatInventoryService(seatRepository);
+        cacheManager = new ConcurrentMapCacheManager();
+        bookingService = new BookingService(bookingRepository, passengerRepository, flightRepository, seatRepository,
+                seatInventoryService, new CacheInvalidationService(cacheManager), seatHoldService);
 
         // Setup airports
         departureAirport = new Airport();
@@ -119,11 +130,11 @@ class BookingServiceTest {
     void testCreateBooking_Success() {
         // Given
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(seat));
-        when(seatRepository.save(any(Seat.class))).thenReturn(seat);
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat)));
+        when(seatRepository.reserveIfAvailable(1L, 1L)).thenReturn(1);
+        when(flightRepository.decrementAvailableSeats(1L)).thenReturn(1);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
             booking.setId(1L);
             return booking;
@@ -134,12 +145,189 @@ class BookingServiceTest {
 
         // Then
         assertNotNull(result);
+        assertEquals("RESERVED", result.getSeat().getStatus());
+        assertEquals(1000.0, result.getTotalPrice());
         verify(passengerRepository).findById(1L);
-        verify(flightRepository).findById(1L);
-        verify(seatRepository).findById(1L);
-        verify(seatRepository).save(any(Seat.class));
-        verify(flightRepository).save(any(Flight.class));
-        verify(bookingRepository).save(any(Booking.class));
+        verify(flightRepository).findWithAirportsById(1L);
+        verify(seatRepository, never()).findById(anyLong());
+        verify(seatRepository, never()).save(any(Seat.class));
+        verify(flightRepository, never()).save(any(Flight.class));
+        verify(seatRepository).reserveIfAvailable(1L, 1L);
+        verify(flightRepository).decrementAvailableSeats(1L);
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should reject the booking when the seat was taken in the database")
+    void testCreateBooking_SeatTakenInDatabase() {
+        // Given
+        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat)));
+        when(seatRepository.reserveIfAvailable(1L, 1L)).thenReturn(0);
+
+        // When & Then: the exception rolls the transaction back
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            assertThrows(SeatNotAvailableException.class, () -> bookingService.createBooking(bookingRequest));
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(flightRepository, never()).decrementAvailableSeats(anyLong());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+
+        // The in-memory map learns the seat is gone, and the rollback does not hand it back
+        SeatInventoryService.SeatMap seatMap = seatInventoryService.seatMap(flight);
+        assertFalse(seatMap.isAvailable(seatMap.indexOf(1L)));
+        assertThrows(SeatNotAvailableException.class, () -> bookingService.createBooking(bookingRequest));
+        verify(seatRepository, times(1)).reserveIfAvailable(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject the booking when the flight counter is exhausted")
+    void testCreateBooking_FlightSoldOutInDatabase() {
+        // Given
+        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat)));
+        when(seatRepository.reserveIfAvailable(1L, 1L)).thenReturn(1);
+        when(flightRepository.decrementAvailableSeats(1L)).thenReturn(0);
+
+        // When & Then
+        assertThrows(InvalidBookingException.class, () -> bookingService.createBooking(bookingRequest));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a second booking for the same seat without another conditional update")
+    void testCreateBooking_SeatAlreadyClaimed() {
+        // Given
+        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat)));
+        when(seatRepository.findStatusById(1L)).thenReturn(Optional.of(Seat.SeatStatus.RESERVED));
+        when(seatRepository.reserveIfAvailable(1L, 1L)).thenReturn(1);
+        when(flightRepository.decrementAvailableSeats(1L)).thenReturn(1);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        bookingService.createBooking(bookingRequest);
+
+        // When & Then
+        assertThrows(SeatNotAvailableException.class, () -> bookingService.createBooking(bookingRequest));
+        verify(seatRepository, times(1)).findSeatMapByFlightId(1L);
+        verify(seatRepository, times(1)).reserveIfAvailable(1L, 1L);
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should book a seat another node released while this node's map still has it taken")
+    void testCreateBooking_SeatReleasedOnAnotherNode() {
+        // Given: the map was loaded while the seat was reserved; it has been released since
+        seat.setStatus(Seat.SeatStatus.RESERVED);
+        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat)));
+        when(seatRepository.findStatusById(1L)).thenReturn(Optional.of(Seat.SeatStatus.AVAILABLE));
+        when(seatRepository.reserveIfAvailable(1L, 1L)).thenReturn(1);
+        when(flightRepository.decrementAvailableSeats(1L)).thenReturn(1);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BookingResponseDto result = bookingService.createBooking(bookingRequest);
+
+        // Then
+        assertEquals("RESERVED", result.getSeat().getStatus());
+        verify(seatRepository).reserveIfAvailable(1L, 1L);
+        verify(seatRepository, times(1)).findSeatMapByFlightId(1L);
+    }
+
+    @Test
+    @DisplayName("Should book a group in one batch and evict only the flight's cache entries")
+    void testCreateBookings_Success() {
+        // Given
+        Seat seat2 = new Seat();
+        seat2.setId(2L);
+        seat2.setFlight(flight);
+        seat2.setSeatNumber("1B");
+        seat2.setSeatClass(Seat.SeatClass.ECONOMY);
+        seat2.setPrice(500.0);
+        seat2.setStatus(Seat.SeatStatus.AVAILABLE);
+
+        BatchBookingRequestDto request = new BatchBookingRequestDto(1L, List.of(
+                new BatchBookingRequestDto.PassengerSeat(1L, 1L),
+                new BatchBookingRequestDto.PassengerSeat(1L, 2L)));
+
+        cacheManager.getCache(CacheConfig.CACHE_FLIGHTS).put(1L, "flight 1");
+        cacheManager.getCache(CacheConfig.CACHE_FLIGHTS).put(99L, "flight 99");
+        cacheManager.getCache(CacheConfig.CACHE_SEATS).put("flight:1", "seats 1");
+
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(passengerRepository.findAllById(List.of(1L))).thenReturn(List.of(passenger));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat, seat2)));
+        when(seatRepository.reserveAllIfAvailable(List.of(1L, 2L), 1L)).thenReturn(2);
+        when(flightRepository.decrementAvailableSeatsBy(1L, 2)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(10L + i);
+            }
+            return bookings;
+        });
+
+        // When
+        List<BookingResponseDto> result = bookingService.createBookings(request);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(0).getId());
+        assertEquals("1B", result.get(1).getSeat().getSeatNumber());
+        assertEquals("RESERVED", result.get(1).getSeat().getStatus());
+        verify(bookingRepository).saveAllAndFlush(anyList());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+        assertNull(cacheManager.getCache(CacheConfig.CACHE_FLIGHTS).get(1L));
+        assertNotNull(cacheManager.getCache(CacheConfig.CACHE_FLIGHTS).get(99L));
+        assertNull(cacheManager.getCache(CacheConfig.CACHE_SEATS).get("flight:1"));
+    }
+
+    @Test
+    @DisplayName("Should book nothing when one seat of the group was taken in the database")
+    void testCreateBookings_SeatTakenInDatabase() {
+        // Given
+        Seat seat2 = new Seat();
+        seat2.setId(2L);
+        seat2.setFlight(flight);
+        seat2.setSeatNumber("1B");
+        seat2.setSeatClass(Seat.SeatClass.ECONOMY);
+        seat2.setPrice(500.0);
+        seat2.setStatus(Seat.SeatStatus.AVAILABLE);
+
+        BatchBookingRequestDto request = new BatchBookingRequestDto(1L, List.of(
+                new BatchBookingRequestDto.PassengerSeat(1L, 1L),
+                new BatchBookingRequestDto.PassengerSeat(1L, 2L)));
+
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(passengerRepository.findAllById(List.of(1L))).thenReturn(List.of(passenger));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat, seat2)));
+        when(seatRepository.reserveAllIfAvailable(List.of(1L, 2L), 1L)).thenReturn(1);
+
+        // When & Then
+        assertThrows(SeatNotAvailableException.class, () -> bookingService.createBookings(request));
+        verify(flightRepository, never()).decrementAvailableSeatsBy(anyLong(), anyInt());
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a group that lists the same seat twice")
+    void testCreateBookings_DuplicateSeat() {
+        BatchBookingRequestDto request = new BatchBookingRequestDto(1L, List.of(
+                new BatchBookingRequestDto.PassengerSeat(1L, 1L),
+                new BatchBookingRequestDto.PassengerSeat(2L, 1L)));
+
+        assertThrows(InvalidBookingException.class, () -> bookingService.createBookings(request));
+        verifyNoInteractions(flightRepository, seatRepository, bookingRepository);
     }
 
     @Test
@@ -154,7 +342,7 @@ class BookingServiceTest {
         });
 
         verify(passengerRepository).findById(1L);
-        verify(flightRepository, never()).findById(anyLong());
+        verify(flightRepository, never()).findWithAirportsById(anyLong());
     }
 
     @Test
@@ -162,15 +350,15 @@ class BookingServiceTest {
     void testCreateBooking_FlightNotFound() {
         // Given
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(flightRepository.findWithAirportsById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
             bookingService.createBooking(bookingRequest);
         });
 
-        verify(flightRepository).findById(1L);
-        verify(seatRepository, never()).findById(anyLong());
+        verify(flightRepository).findWithAirportsById(1L);
+        verify(seatRepository, never()).findSeatMapByFlightId(anyLong());
     }
 
     @Test
@@ -178,8 +366,9 @@ class BookingServiceTest {
     void testCreateBooking_SeatNotFound() {
         // Given
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(seatRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of()));
+        when(seatRepository.existsById(1L)).thenReturn(false);
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -196,8 +385,9 @@ class BookingServiceTest {
         seat.setFlight(differentFlight);
 
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(seat));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of()));
+        when(seatRepository.existsById(1L)).thenReturn(true);
 
         // When & Then
         assertThrows(InvalidBookingException.class, () -> {
@@ -212,8 +402,8 @@ class BookingServiceTest {
         seat.setStatus(Seat.SeatStatus.RESERVED);
 
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(seat));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seat)));
 
         // When & Then
         assertThrows(SeatNotAvailableException.class, () -> {
@@ -228,8 +418,7 @@ class BookingServiceTest {
         flight.setAvailableSeats(0);
 
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(seat));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
 
         // When & Then
         assertThrows(InvalidBookingException.class, () -> {
@@ -244,8 +433,7 @@ class BookingServiceTest {
         flight.setStatus(Flight.FlightStatus.CANCELLED);
 
         when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(seat));
+        when(flightRepository.findWithAirportsById(1L)).thenReturn(Optional.of(flight));
 
         // When & Then
         assertThrows(InvalidBookingException.class, () -> {
@@ -266,21 +454,21 @@ class BookingServiceTest {
         booking.setStatus(Booking.BookingStatus.PENDING);
         booking.setTotalPrice(1000.0);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
 
         // When
         BookingResponseDto result = bookingService.getBookingById(1L);
 
         // Then
         assertNotNull(result);
-        verify(bookingRepository).findById(1L);
+        verify(bookingRepository).findWithDetailsById(1L);
     }
 
     @Test
     @DisplayName("Should throw exception when booking not found by ID")
     void testGetBookingById_NotFound() {
         // Given
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithDetailsById(anyLong())).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -303,9 +491,9 @@ class BookingServiceTest {
         BookingResponseDto bookingResponse = new BookingResponseDto();
         bookingResponse.setId(1L);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(seatRepository.save(any(Seat.class))).thenReturn(seat);
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.confirmIfHeld(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(seatRepository.occupyIfReserved(1L)).thenReturn(1);
 
         // When
         BookingResponseDto result = bookingService.confirmBooking(1L);
@@ -313,9 +501,11 @@ class BookingServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(Booking.BookingStatus.CONFIRMED, booking.getStatus());
-        assertEquals(Seat.SeatStatus.OCCUPIED, seat.getStatus());
-        verify(bookingRepository).save(booking);
-        verify(seatRepository).save(seat);
+        assertEquals("CONFIRMED", result.getStatus());
+        assertEquals("OCCUPIED", result.getSeat().getStatus());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(seatRepository).occupyIfReserved(1L);
+        verify(seatRepository, never()).save(any(Seat.class));
     }
 
     @Test
@@ -326,7 +516,7 @@ class BookingServiceTest {
         booking.setId(1L);
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
 
         // When & Then
         assertThrows(InvalidBookingException.class, () -> {
@@ -334,6 +524,41 @@ class BookingServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should throw exception when confirming a booking whose seat hold has expired")
+    void testConfirmBooking_HoldExpired() {
+        // Given
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.confirmIfHeld(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        assertThrows(InvalidBookingException.class, () -> bookingService.confirmBooking(1L));
+        verify(seatRepository, never()).occupyIfReserved(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the seat of a confirmed booking is no longer reserved")
+    void testConfirmBooking_SeatNotReserved() {
+        // Given
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setFlight(flight);
+        booking.setSeat(seat);
+
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.confirmIfHeld(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(seatRepository.occupyIfReserved(1L)).thenReturn(0);
+
+        // When & Then
+        assertThrows(SeatNotAvailableException.class, () -> bookingService.confirmBooking(1L));
+    }
+
     @Test
     @DisplayName("Should successfully cancel a booking")
     void testCancelBooking_Success() {
@@ -346,21 +571,60 @@ class BookingServiceTest {
         seat.setStatus(Seat.SeatStatus.RESERVED);
         flight.setAvailableSeats(99);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
-        when(seatRepository.save(any(Seat.class))).thenReturn(seat);
-        when(flightRepository.save(any(Flight.class))).thenReturn(flight);
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelIfActive(1L)).thenReturn(1);
+        when(seatRepository.releaseIfHeldBy(1L, 1L)).thenReturn(1);
+
+        // When
+        bookingService.cancelBooking(1L);
+
+        // Then
+        assertEquals(Booking.BookingStatus.CANCELLED, booking.getStatus());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(seatRepository).releaseIfHeldBy(1L, 1L);
+        verify(flightRepository).incrementAvailableSeats(1L);
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should throw exception and release nothing when the booking stopped being active")
+    void testCancelBooking_NoLongerActive() {
+        // Given: the hold sweep expired the booking after it was read
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setSeat(seat);
+        booking.setFlight(flight);
+
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelIfActive(1L)).thenReturn(0);
+
+        // When & Then
+        assertThrows(InvalidBookingException.class, () -> bookingService.cancelBooking(1L));
+        verify(seatRepository, never()).releaseIfHeldBy(anyLong(), anyLong());
+        verify(flightRepository, never()).incrementAvailableSeats(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should leave the seat alone when another booking holds it by now")
+    void testCancelBooking_SeatRebooked() {
+        // Given
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setSeat(seat);
+        booking.setFlight(flight);
+
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.cancelIfActive(1L)).thenReturn(1);
+        when(seatRepository.releaseIfHeldBy(1L, 1L)).thenReturn(0);
 
         // When
         bookingService.cancelBooking(1L);
 
         // Then
         assertEquals(Booking.BookingStatus.CANCELLED, booking.getStatus());
-        assertEquals(Seat.SeatStatus.AVAILABLE, seat.getStatus());
-        assertEquals(100, flight.getAvailableSeats());
-        verify(bookingRepository).save(booking);
-        verify(seatRepository).save(seat);
-        verify(flightRepository).save(flight);
+        verify(flightRepository, never()).incrementAvailableSeats(anyLong());
     }
 
     @Test
@@ -371,7 +635,7 @@ class BookingServiceTest {
         booking.setId(1L);
         booking.setStatus(Booking.BookingStatus.CANCELLED);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
 
         // When & Then
         assertThrows(InvalidBookingException.class, () -> {
@@ -387,7 +651,7 @@ class BookingServiceTest {
         booking.setId(1L);
         booking.setStatus(Booking.BookingStatus.COMPLETED);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithDetailsById(1L)).thenReturn(Optional.of(booking));
 
         // When & Then
         assertThrows(InvalidBookingException.class, () -> {
@@ -0,0 +1,57 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.CabinTemplate;
+import com.airline.reservation.models.Seat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CabinLayout Unit Tests")
+class CabinLayoutTest {
+
+    @Test
+    @DisplayName("Builds whole rows and shares one layout per template and size")
+    void of_wholeRowsShared() {
+        // When
+        CabinLayout layout = CabinLayout.of(CabinTemplate.SIX_ABREAST, 154);
+
+        // Then: 25 rows, the last partial row dropped
+        assertEquals(150, layout.size());
+        assertSame(layout, CabinLayout.of(CabinTemplate.SIX_ABREAST, 150));
+        assertEquals(12, layout.seatCount(Seat.SeatClass.FIRST_CLASS));
+        assertEquals(18, layout.seatCount(Seat.SeatClass.BUSINESS));
+        assertEquals(30, layout.seatCount(Seat.SeatClass.PREMIUM_ECONOMY));
+        assertEquals(90, layout.seatCount(Seat.SeatClass.ECONOMY));
+        assertEquals("25F", layout.seatNumbers()[149]);
+        assertEquals(1.5, layout.fareMultipliers()[59]);
+    }
+
+    @Test
+    @DisplayName("Fits only seat counts that fill whole rows within the seat id bits")
+    void fits_wholeRowsOnly() {
+        assertEquals(4092, CabinLayout.maxSeats(CabinTemplate.SIX_ABREAST));
+        assertTrue(CabinLayout.fits(CabinTemplate.SIX_ABREAST, 150));
+        assertTrue(CabinLayout.fits(CabinTemplate.SIX_ABREAST, 4092));
+        assertFalse(CabinLayout.fits(CabinTemplate.SIX_ABREAST, 100));
+        assertFalse(CabinLayout.fits(CabinTemplate.SIX_ABREAST, 5));
+        assertFalse(CabinLayout.fits(CabinTemplate.SIX_ABREAST, 0));
+        assertFalse(CabinLayout.fits(CabinTemplate.SIX_ABREAST, 4098));
+    }
+
+    @Test
+    @DisplayName("Derives negative seat ids that map back to their flight")
+    void seatId_roundTrip() {
+        for (long flightId : new long[] {1L, 2L, 123_456L}) {
+            for (int index : new int[] {0, 1, CabinLayout.MAX_SEATS - 1}) {
+                long seatId = CabinLayout.seatId(flightId, index);
+
+                assertTrue(CabinLayout.isTemplateSeatId(seatId));
+                assertEquals(flightId, CabinLayout.flightIdOf(seatId));
+            }
+        }
+        assertNotEquals(CabinLayout.seatId(1L, CabinLayout.MAX_SEATS - 1), CabinLayout.seatId(2L, 0));
+        assertFalse(CabinLayout.isTemplateSeatId(42L));
+        assertFalse(CabinLayout.isTemplateSeatId(null));
+    }
+}
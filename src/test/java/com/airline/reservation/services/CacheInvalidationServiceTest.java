@@ -0,0 +1,81 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.configs.CacheConfig;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheInvalidationService Unit Tests")
+class CacheInvalidationServiceTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheInvalidationService cacheInvalidationService;
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.CACHE_FLIGHTS, CacheConfig.CACHE_SEATS);
+        cacheInvalidationService = new CacheInvalidationService(cacheManager);
+
+        Airport departure = new Airport();
+        departure.setCode("JFK");
+        Airport arrival = new Airport();
+        arrival.setCode("LAX");
+
+        flight = new Flight();
+        flight.setId(1L);
+        flight.setFlightNumber("AA101");
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(LocalDateTime.of(2026, 3, 14, 9, 30));
+    }
+
+    @Test
+    @DisplayName("Evicts every key of the booked flight and its seats")
+    void evictFlight_evictsFlightKeys() {
+        Cache flights = cacheManager.getCache(CacheConfig.CACHE_FLIGHTS);
+        Cache seats = cacheManager.getCache(CacheConfig.CACHE_SEATS);
+        flights.put(1L, "by id");
+        flights.put("number:AA101", "by number");
+        flights.put("JFK-LAX-2026-03-14", "search");
+        seats.put("flight:1", "seat list");
+        seats.put(7L, "seat 7");
+
+        cacheInvalidationService.evictFlight(flight, List.of(7L));
+
+        assertNull(flights.get(1L));
+        assertNull(flights.get("number:AA101"));
+        assertNull(flights.get("JFK-LAX-2026-03-14"));
+        assertNull(seats.get("flight:1"));
+        assertNull(seats.get(7L));
+    }
+
+    @Test
+    @DisplayName("Leaves other flights' entries cached")
+    void evictFlight_keepsOtherFlights() {
+        Cache flights = cacheManager.getCache(CacheConfig.CACHE_FLIGHTS);
+        Cache seats = cacheManager.getCache(CacheConfig.CACHE_SEATS);
+        flights.put(2L, "other flight");
+        flights.put("number:AA202", "other number");
+        flights.put("JFK-LAX-2026-03-15", "other day");
+        seats.put("flight:2", "other seat list");
+        seats.put(8L, "other seat");
+
+        cacheInvalidationService.evictFlight(flight, List.of(7L));
+
+        assertNotNull(flights.get(2L));
+        assertNotNull(flights.get("number:AA202"));
+        assertNotNull(flights.get("JFK-LAX-2026-03-15"));
+        assertNotNull(seats.get("flight:2"));
+        assertNotNull(seats.get(8L));
+    }
+}
@@ -0,0 +1,250 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.ConnectionSearchRequestDto;
+import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.ItineraryDto;
+import com.airline.reservation.exceptions.InvalidBookingException;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.repositories.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConnectionSearchService Unit Tests")
+class ConnectionSearchServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private ConnectionSearchService service;
+    private final Map<Long, Flight> flights = new HashMap<>();
+    private final Map<String, Airport> airports = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new ConnectionSearchService(flightRepository, new AirportRegistry(airportRepository));
+        lenient().when(flightRepository.findWithAirportsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<Flight> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                if (flights.containsKey(id)) {
+                    found.add(flights.get(id));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Test
+    @DisplayName("Should find one- and two-stop itineraries ranked by duration")
+    void testSearchConnections_RankedItineraries() {
+        // Given: DEL-DXB-JFK (one stop) and DEL-BOM-DXB-JFK (two stops, longer)
+        flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        flight(2L, "DXB", "JFK", 8, 0, 22, 0, 700.0);
+        flight(3L, "DEL", "BOM", 1, 0, 3, 0, 80.0);
+        flight(4L, "BOM", "DXB", 4, 0, 7, 0, 150.0);
+
+        // When
+        List<ItineraryDto> results = service.searchConnections(request("DEL", "JFK"));
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(List.of("DEL-DXB", "DXB-JFK"), route(results.get(0)));
+        assertEquals(1, results.get(0).getStops());
+        assertEquals(1000.0, results.get(0).getTotalPrice());
+        assertEquals(20 * 60, results.get(0).getDurationMinutes());
+        assertEquals(List.of("DEL-BOM", "BOM-DXB", "DXB-JFK"), route(results.get(1)));
+        assertEquals(2, results.get(1).getStops());
+    }
+
+    @Test
+    @DisplayName("Should respect the minimum connection time")
+    void testSearchConnections_MinimumConnection() {
+        // Given: 30 minutes at DXB
+        flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        flight(2L, "DXB", "JFK", 6, 0, 20, 0, 700.0);
+
+        // Then
+        assertTrue(service.searchConnections(request("DEL", "JFK")).isEmpty());
+
+        ConnectionSearchRequestDto tightConnection = request("DEL", "JFK");
+        tightConnection.setMinConnectionMinutes(30);
+        assertEquals(1, service.searchConnections(tightConnection).size());
+    }
+
+    @Test
+    @DisplayName("Should honour the stop and duration limits")
+    void testSearchConnections_Limits() {
+        // Given
+        flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        flight(2L, "DXB", "JFK", 8, 0, 22, 0, 700.0);
+
+        // Then
+        ConnectionSearchRequestDto directOnly = request("DEL", "JFK");
+        directOnly.setMaxStops(0);
+        assertTrue(service.searchConnections(directOnly).isEmpty());
+
+        ConnectionSearchRequestDto shortTrip = request("DEL", "JFK");
+        shortTrip.setMaxDurationHours(12);
+        assertTrue(service.searchConnections(shortTrip).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should drop itineraries that are slower and dearer than a ranked one")
+    void testSearchConnections_DropsDominated() {
+        // Given: two direct flights leaving together; the second is slower and dearer
+        flight(1L, "DEL", "DXB", 9, 0, 12, 0, 300.0);
+        flight(2L, "DEL", "DXB", 9, 0, 13, 0, 350.0);
+        flight(3L, "DEL", "DXB", 10, 0, 14, 0, 200.0);
+
+        // When
+        List<Long> ids = service.searchConnections(request("DEL", "DXB")).stream()
+                .map(itinerary -> itinerary.getFlights().get(0).getId())
+                .collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids);
+    }
+
+    @Test
+    @DisplayName("Should skip sold-out flights")
+    void testSearchConnections_SoldOut() {
+        // Given
+        flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        flight(2L, "DXB", "JFK", 8, 0, 22, 0, 700.0).setAvailableSeats(0);
+
+        // Then
+        assertTrue(service.searchConnections(request("DEL", "JFK")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should update the graph when flights change or are deleted")
+    void testOnFlightChanged_Incremental() {
+        // Given
+        flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        Flight second = flight(2L, "DXB", "JFK", 8, 0, 22, 0, 700.0);
+        assertEquals(1, service.searchConnections(request("DEL", "JFK")).size());
+
+        // When: cancelled
+        second.setStatus(Flight.FlightStatus.CANCELLED);
+        service.onFlightChanged(FlightChangedEvent.saved(second));
+
+        // Then
+        assertTrue(service.searchConnections(request("DEL", "JFK")).isEmpty());
+
+        // When: rescheduled, then deleted
+        second.setStatus(Flight.FlightStatus.SCHEDULED);
+        service.onFlightChanged(FlightChangedEvent.saved(second));
+        assertEquals(1, service.searchConnections(request("DEL", "JFK")).size());
+        service.onFlightChanged(FlightChangedEvent.deleted(2L));
+
+        // Then
+        assertTrue(service.searchConnections(request("DEL", "JFK")).isEmpty());
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    @DisplayName("Should load scheduled flights at startup")
+    void testLoad() {
+        // Given
+        Flight flight = flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        service.remove(1L);
+        when(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED)).thenReturn(List.of(flight));
+
+        // When
+        service.load();
+
+        // Then
+        assertEquals(1, service.searchConnections(request("DEL", "DXB")).size());
+    }
+
+    @Test
+    @DisplayName("Should pick up a connection created on another node when the indexes are refreshed")
+    void testRefresh_OtherNodesFlight() {
+        // Given: the second leg was created on another node, so no event reached this one
+        Flight first = flight(1L, "DEL", "DXB", 2, 0, 5, 30, 300.0);
+        Flight second = flight(2L, "DXB", "JFK", 8, 0, 20, 0, 700.0);
+        service.remove(2L);
+        assertTrue(service.searchConnections(request("DEL", "JFK")).isEmpty());
+        when(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED)).thenReturn(List.of(first, second));
+
+        // When
+        new FlightIndexRefresher(flightRepository, new FlightRouteIndex(flightRepository), service).refresh();
+
+        // Then
+        assertEquals(1, service.searchConnections(request("DEL", "JFK")).size());
+        assertEquals(2, service.size());
+    }
+
+    @Test
+    @DisplayName("Should reject identical departure and arrival airports")
+    void testSearchConnections_SameAirport() {
+        assertThrows(InvalidBookingException.class, () -> service.searchConnections(request("DEL", "del")));
+    }
+
+    private Flight flight(Long id, String from, String to, int depHour, int depMinute, int arrHour, int arrMinute,
+                          double price) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("XX" + id);
+        flight.setAirlineName("Test Air");
+        flight.setDepartureAirport(airport(from));
+        flight.setArrivalAirport(airport(to));
+        flight.setDepartureTime(DAY.atTime(depHour, depMinute));
+        flight.setArrivalTime(DAY.atTime(arrHour, arrMinute));
+        flight.setTotalSeats(180);
+        flight.setAvailableSeats(10);
+        flight.setBasePrice(price);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flights.put(id, flight);
+        service.upsert(flight);
+        return flight;
+    }
+
+    private Airport airport(String code) {
+        return airports.computeIfAbsent(code, c -> {
+            Airport airport = new Airport();
+            airport.setId((long) airports.size() + 1);
+            airport.setCode(c);
+            airport.setName(c + " Airport");
+            return airport;
+        });
+    }
+
+    private static ConnectionSearchRequestDto request(String from, String to) {
+        ConnectionSearchRequestDto request = new ConnectionSearchRequestDto();
+        request.setDepartureAirportCode(from);
+        request.setArrivalAirportCode(to);
+        request.setDepartureDate(DAY);
+        return request;
+    }
+
+    private static List<String> route(ItineraryDto itinerary) {
+        List<String> legs = new ArrayList<>();
+        for (FlightResponseDto flight : itinerary.getFlights()) {
+            legs.add(flight.getDepartureAirport().getCode() + "-" + flight.getArrivalAirport().getCode());
+        }
+        return legs;
+    }
+}
@@ -0,0 +1,288 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.configs.CacheConfig;
+import com.airline.reservation.dtos.FareCalendarDayDto;
+import com.airline.reservation.dtos.FareCalendarDto;
+import com.airline.reservation.dtos.SeatClassFareDto;
+import com.airline.reservation.exceptions.InvalidBookingException;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.CabinTemplate;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FareCalendarService Unit Tests")
+class FareCalendarServiceTest {
+
+    private static final LocalDate MARCH_1 = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheInvalidationService cacheInvalidationService;
+    private FareCalendarService fareCalendarService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.CACHE_FARE_CALENDAR);
+        cacheInvalidationService = new CacheInvalidationService(cacheManager);
+        fareCalendarService = new FareCalendarService(seatRepository, flightRepository, cacheManager, cacheInvalidationService);
+    }
+
+    @Test
+    @DisplayName("Should build a month of days from one query with lowest fares and per-class availability")
+    void testGetFareCalendar_Month() {
+        // Given: two flights on 14 March, nothing else
+        LocalDateTime morning = MARCH_1.plusDays(13).atTime(9, 0);
+        LocalDateTime evening = MARCH_1.plusDays(13).atTime(19, 0);
+        when(seatRepository.summarizeAvailableFares("JFK", "LAX", MARCH_1.atStartOfDay(),
+                LocalDate.of(2026, 4, 1).atStartOfDay())).thenReturn(List.of(
+                row(1L, morning, Seat.SeatClass.ECONOMY, 100, 250.0),
+                row(1L, morning, Seat.SeatClass.BUSINESS, 12, 500.0),
+                row(2L, evening, Seat.SeatClass.ECONOMY, 40, 199.0)));
+
+        // When
+        FareCalendarDto calendar = fareCalendarService.getFareCalendar("jfk", "lax", MARCH_1, null);
+
+        // Then
+        assertEquals(31, calendar.getDays().size());
+        assertEquals(LocalDate.of(2026, 3, 31), calendar.getEndDate());
+        FareCalendarDayDto busyDay = calendar.getDays().get(13);
+        assertEquals(MARCH_1.plusDays(13), busyDay.getDate());
+        assertEquals(2, busyDay.getFlights());
+        assertEquals(199.0, busyDay.getLowestFare());
+        assertEquals(List.of(
+                new SeatClassFareDto("ECONOMY", 140L, 199.0),
+                new SeatClassFareDto("BUSINESS", 12L, 500.0)), busyDay.getSeatClasses());
+        FareCalendarDayDto quietDay = calendar.getDays().get(0);
+        assertEquals(0, quietDay.getFlights());
+        assertNull(quietDay.getLowestFare());
+    }
+
+    @Test
+    @DisplayName("Should count template flights from their cabin layout less the held seats")
+    void testGetFareCalendar_TemplateFlights() {
+        // Given: a 66-seat template flight (12 first, 18 business, 30 premium economy, 6 economy) whose
+        // economy cabin is full, and a flight with seat rows on the same day
+        LocalDateTime morning = MARCH_1.plusDays(4).atTime(9, 0);
+        when(seatRepository.summarizeAvailableFares(any(), any(), any(), any())).thenReturn(List.of(
+                row(1L, morning.plusHours(8), Seat.SeatClass.ECONOMY, 40, 199.0)));
+        when(flightRepository.findTemplateFlightsBetween("JFK", "LAX", MARCH_1.atStartOfDay(),
+                LocalDate.of(2026, 4, 1).atStartOfDay())).thenReturn(List.of(templateFlight(2L, morning, 66, 100.0)));
+        when(seatRepository.countHeldSeats(List.of(2L))).thenReturn(List.of(
+                held(2L, Seat.SeatClass.ECONOMY, 6), held(2L, Seat.SeatClass.FIRST_CLASS, 1)));
+
+        // When
+        FareCalendarDayDto day = fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null).getDays().get(4);
+
+        // Then
+        assertEquals(2, day.getFlights());
+        assertEquals(150.0, day.getLowestFare());
+        assertEquals(List.of(
+                new SeatClassFareDto("ECONOMY", 40L, 199.0),
+                new SeatClassFareDto("PREMIUM_ECONOMY", 30L, 150.0),
+                new SeatClassFareDto("BUSINESS", 18L, 200.0),
+                new SeatClassFareDto("FIRST_CLASS", 11L, 300.0)), day.getSeatClasses());
+    }
+
+    @Test
+    @DisplayName("Should serve later ranges in the same month from the cache")
+    void testGetFareCalendar_CachedPerRouteMonth() {
+        // Given
+        when(seatRepository.summarizeAvailableFares(any(), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null);
+        FareCalendarDto week = fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1.plusDays(10),
+                MARCH_1.plusDays(16));
+
+        // Then
+        assertEquals(7, week.getDays().size());
+        assertEquals(MARCH_1.plusDays(10), week.getDays().get(0).getDate());
+        verify(seatRepository, times(1)).summarizeAvailableFares(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should recompute the month of a changed flight")
+    void testOnFlightChanged_RecomputesMonth() {
+        // Given
+        LocalDateTime departure = MARCH_1.plusDays(19).atTime(8, 0);
+        when(seatRepository.summarizeAvailableFares(any(), any(), any(), any())).thenReturn(List.of())
+                .thenReturn(List.of(row(9L, departure, Seat.SeatClass.ECONOMY, 150, 149.0)));
+        fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null);
+
+        // When
+        fareCalendarService.onFlightChanged(FlightChangedEvent.saved(flight(departure)));
+        FareCalendarDto calendar = fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null);
+
+        // Then
+        assertEquals(149.0, calendar.getDays().get(19).getLowestFare());
+        assertEquals(1, calendar.getDays().get(19).getFlights());
+        verify(seatRepository, times(2)).summarizeAvailableFares(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should evict the booked month when a booking evicts the flight")
+    void testEvictFlight_EvictsFareMonth() {
+        // Given
+        when(seatRepository.summarizeAvailableFares(any(), any(), any(), any())).thenReturn(List.of());
+        fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null);
+        fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1.plusMonths(1), null);
+
+        // When
+        cacheInvalidationService.evictFlight(flight(MARCH_1.plusDays(4).atTime(12, 0)), List.of());
+
+        // Then
+        Cache cache = cacheManager.getCache(CacheConfig.CACHE_FARE_CALENDAR);
+        assertNull(cache.get("JFK-LAX-2026-03"));
+        assertNotNull(cache.get("JFK-LAX-2026-04"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a month computed from data read before a booking committed")
+    void testGetFareCalendar_BookingDuringRead() {
+        // Given: a booking on 5 March commits while a calendar read is computing March
+        LocalDateTime departure = MARCH_1.plusDays(4).atTime(12, 0);
+        when(seatRepository.summarizeAvailableFares(any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    cacheInvalidationService.evictFlight(flight(departure), List.of());
+                    return List.of(row(9L, departure, Seat.SeatClass.ECONOMY, 150, 149.0));
+                })
+                .thenReturn(List.of(row(9L, departure, Seat.SeatClass.ECONOMY, 149, 149.0)));
+
+        // When
+        FareCalendarDto during = fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null);
+        FareCalendarDto after = fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, null);
+
+        // Then: the read during the booking is answered but not cached, so the next one sees the booking
+        assertEquals(150L, during.getDays().get(4).getSeatClasses().get(0).getAvailableSeats());
+        assertEquals(149L, after.getDays().get(4).getSeatClasses().get(0).getAvailableSeats());
+        verify(seatRepository, times(2)).summarizeAvailableFares(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject reversed, over-long and same-airport calendars")
+    void testGetFareCalendar_InvalidRequests() {
+        assertThrows(InvalidBookingException.class, () ->
+                fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, MARCH_1.minusDays(1)));
+        assertThrows(InvalidBookingException.class, () ->
+                fareCalendarService.getFareCalendar("JFK", "LAX", MARCH_1, MARCH_1.plusDays(62)));
+        assertThrows(InvalidBookingException.class, () ->
+                fareCalendarService.getFareCalendar("JFK", "jfk", MARCH_1, null));
+        verifyNoInteractions(seatRepository);
+    }
+
+    private static Flight flight(LocalDateTime departure) {
+        Airport from = new Airport();
+        from.setCode("JFK");
+        Airport to = new Airport();
+        to.setCode("LAX");
+        Flight flight = new Flight();
+        flight.setId(9L);
+        flight.setDepartureAirport(from);
+        flight.setArrivalAirport(to);
+        flight.setDepartureTime(departure);
+        return flight;
+    }
+
+    private static SeatRepository.FareSummary row(Long flightId, LocalDateTime departure, Seat.SeatClass seatClass,
+                                                  long availableSeats, double lowestFare) {
+        return new SeatRepository.FareSummary() {
+            @Override
+            public Long getFlightId() {
+                return flightId;
+            }
+
+            @Override
+            public LocalDateTime getDepartureTime() {
+                return departure;
+            }
+
+            @Override
+            public Seat.SeatClass getSeatClass() {
+                return seatClass;
+            }
+
+            @Override
+            public Long getAvailableSeats() {
+                return availableSeats;
+            }
+
+            @Override
+            public Double getLowestFare() {
+                return lowestFare;
+            }
+        };
+    }
+
+    private static FlightRepository.TemplateFlight templateFlight(Long id, LocalDateTime departure, int totalSeats,
+                                                                  double basePrice) {
+        return new FlightRepository.TemplateFlight() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDepartureTime() {
+                return departure;
+            }
+
+            @Override
+            public CabinTemplate getCabinTemplate() {
+                return CabinTemplate.SIX_ABREAST;
+            }
+
+            @Override
+            public Integer getTotalSeats() {
+                return totalSeats;
+            }
+
+            @Override
+            public Double getBasePrice() {
+                return basePrice;
+            }
+        };
+    }
+
+    private static SeatRepository.HeldSeatCount held(Long flightId, Seat.SeatClass seatClass, long seats) {
+        return new SeatRepository.HeldSeatCount() {
+            @Override
+            public Long getFlightId() {
+                return flightId;
+            }
+
+            @Override
+            public Seat.SeatClass getSeatClass() {
+                return seatClass;
+            }
+
+            @Override
+            public Long getSeats() {
+                return seats;
+            }
+        };
+    }
+}
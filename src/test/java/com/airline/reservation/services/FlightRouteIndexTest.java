@@ -0,0 +1,176 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.repositories.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FlightRouteIndex Unit Tests")
+class FlightRouteIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightRouteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FlightRouteIndex(flightRepository);
+        when(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED)).thenReturn(List.of(
+                flight(1L, "JFK", "LAX", DAY, 14),
+                flight(2L, "JFK", "LAX", DAY, 9),
+                flight(3L, "JFK", "LAX", DAY.plusDays(1), 9),
+                flight(4L, "LAX", "JFK", DAY, 9)));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Should return a route day's flights in departure order")
+    void testFlightIds_SortedByDeparture() {
+        assertArrayEquals(new long[]{2L, 1L}, index.flightIds("JFK", "LAX", DAY));
+        assertArrayEquals(new long[]{3L}, index.flightIds("jfk", "lax", DAY.plusDays(1)));
+        assertArrayEquals(new long[]{4L}, index.flightIds("LAX", "JFK", DAY));
+        assertArrayEquals(new long[0], index.flightIds("JFK", "ORD", DAY));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should return a date range's flights day by day in departure order")
+    void testFlightIds_DateRange() {
+        assertArrayEquals(new long[]{2L, 1L, 3L}, index.flightIds("JFK", "LAX", DAY.minusDays(3), DAY.plusDays(3)));
+        assertArrayEquals(new long[]{3L}, index.flightIds("JFK", "LAX", DAY.plusDays(1), DAY.plusDays(1)));
+        assertArrayEquals(new long[0], index.flightIds("JFK", "LAX", DAY.plusDays(2), DAY.plusDays(9)));
+    }
+
+    @Test
+    @DisplayName("Should move rescheduled flights and drop cancelled or deleted ones")
+    void testOnFlightChanged_Incremental() {
+        // When: flight 1 moves to the next day, flight 2 is cancelled
+        index.onFlightChanged(FlightChangedEvent.saved(flight(1L, "JFK", "LAX", DAY.plusDays(1), 7)));
+        Flight cancelled = flight(2L, "JFK", "LAX", DAY, 9);
+        cancelled.setStatus(Flight.FlightStatus.CANCELLED);
+        index.onFlightChanged(FlightChangedEvent.saved(cancelled));
+
+        // Then
+        assertArrayEquals(new long[0], index.flightIds("JFK", "LAX", DAY));
+        assertArrayEquals(new long[]{1L, 3L}, index.flightIds("JFK", "LAX", DAY.plusDays(1)));
+
+        // When
+        index.onFlightChanged(FlightChangedEvent.deleted(3L));
+
+        // Then
+        assertArrayEquals(new long[]{1L}, index.flightIds("JFK", "LAX", DAY.plusDays(1)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Should pick up flights changed on other nodes when the refresher reloads it")
+    void testRefresh_OtherNodesChanges() {
+        // Given: another node added flight 5 and cancelled flight 2, so no event reached this one
+        when(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED)).thenReturn(List.of(
+                flight(1L, "JFK", "LAX", DAY, 14),
+                flight(5L, "JFK", "LAX", DAY, 7)));
+
+        // When
+        new FlightIndexRefresher(flightRepository, index, mock(ConnectionSearchService.class)).refresh();
+
+        // Then
+        assertArrayEquals(new long[]{5L, 1L}, index.flightIds("JFK", "LAX", DAY));
+        assertArrayEquals(new long[0], index.flightIds("JFK", "LAX", DAY.plusDays(1)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Should keep the last load when a refresh fails, and stop covering routes once it is too old")
+    void testRefresh_FailureThenStale() throws InterruptedException {
+        // Given
+        when(flightRepository.findByStatus(Flight.FlightStatus.SCHEDULED)).thenThrow(new RuntimeException("DB down"));
+
+        // When
+        new FlightIndexRefresher(flightRepository, index, mock(ConnectionSearchService.class)).refresh();
+
+        // Then
+        assertTrue(index.covers("JFK", "LAX"));
+        assertArrayEquals(new long[]{2L, 1L}, index.flightIds("JFK", "LAX", DAY));
+
+        // When: the max age passes without a reload
+        ReflectionTestUtils.setField(index, "maxAgeMs", 0L);
+        Thread.sleep(5);
+
+        // Then: searches go to the database
+        assertFalse(index.covers("JFK", "LAX"));
+    }
+
+    @Test
+    @DisplayName("Should only cover three-letter ASCII codes once loaded")
+    void testCovers() {
+        assertTrue(index.covers("JFK", "LAX"));
+        assertFalse(index.covers("JFKX", "LAX"));
+        assertFalse(index.covers("JFK", null));
+        assertFalse(new FlightRouteIndex(flightRepository).covers("JFK", "LAX"));
+    }
+
+    @Test
+    @DisplayName("Should pack distinct routes and days into distinct non-zero keys")
+    void testKey_Distinct() {
+        long key = FlightRouteIndex.key("JFK", "LAX", DAY.toEpochDay());
+        assertNotEquals(0L, key);
+        assertEquals(key, FlightRouteIndex.key("jfk", "lax", DAY.toEpochDay()));
+        assertNotEquals(key, FlightRouteIndex.key("LAX", "JFK", DAY.toEpochDay()));
+        assertNotEquals(key, FlightRouteIndex.key("JFK", "LAX", DAY.toEpochDay() + 1));
+        assertNotEquals(key, FlightRouteIndex.key("JFK", "LAS", DAY.toEpochDay()));
+    }
+
+    @Test
+    @DisplayName("LongTable should survive growth and removals across probe runs")
+    void testLongTable_PutRemove() {
+        FlightRouteIndex.LongTable<Long> table = new FlightRouteIndex.LongTable<>();
+        Map<Long, Long> expected = new HashMap<>();
+        for (long k = 1; k <= 2000; k++) {
+            table.put(k * 64, k);
+            expected.put(k * 64, k);
+        }
+        for (long k = 1; k <= 2000; k += 3) {
+            assertEquals(k, table.remove(k * 64));
+            expected.remove(k * 64);
+        }
+
+        assertEquals(expected.size(), table.size());
+        expected.forEach((key, value) -> assertEquals(value, table.get(key)));
+        assertNull(table.get(64));
+        assertNull(table.remove(64));
+        assertThrows(IllegalArgumentException.class, () -> table.put(0, 1L));
+    }
+
+    private static Flight flight(Long id, String from, String to, LocalDate date, int hour) {
+        Airport departure = new Airport();
+        departure.setCode(from);
+        Airport arrival = new Airport();
+        arrival.setCode(to);
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(date.atTime(hour, 0));
+        flight.setArrivalTime(date.atTime(hour, 0).plusHours(5));
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        return flight;
+    }
+}
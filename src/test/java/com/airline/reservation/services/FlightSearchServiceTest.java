@@ -5,16 +5,23 @@ import com.airline.reservation.dtos.ExternalFlightDto;
 import com.airline.reservation.dtos.FlightResponseDto;
 import com.airline.reservation.dtos.FlightSearchRequestDto;
 import com.airline.reservation.dtos.UnifiedFlightDto;
+import com.airline.reservation.dtos.UnifiedSearchResultDto;
+import com.airline.reservation.dtos.UnifiedSearchSummaryDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,7 +45,9 @@ class FlightSearchServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new FlightSearchService(flightService, externalFlightApiService);
+        service = new FlightSearchService(List.of(
+                new InternalFlightSource(flightService),
+                new AviationstackFlightSource(externalFlightApiService)));
         searchDto = new FlightSearchRequestDto();
         searchDto.setDepartureAirportCode("JFK");
         searchDto.setArrivalAirportCode("LAX");
@@ -63,7 +72,8 @@ class FlightSearchServiceTest {
 
         when(flightService.searchFlights(any(FlightSearchRequestDto.class))).thenReturn(List.of(r));
 
-        List<UnifiedFlightDto> result = service.searchUnified(searchDto, false);
+        UnifiedSearchResultDto unified = service.searchUnified(searchDto, false);
+        List<UnifiedFlightDto> result = unified.getFlights();
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -74,6 +84,7 @@ class FlightSearchServiceTest {
         assertEquals("AA101", u.getFlightNumber());
         assertEquals("JFK", u.getDepartureAirportCode());
         assertEquals("LAX", u.getArrivalAirportCode());
+        assertFalse(unified.isPartial());
         verify(flightService).searchFlights(searchDto);
         verify(externalFlightApiService, never()).fetchFlightsByRoute(anyString(), anyString());
     }
@@ -105,7 +116,8 @@ class FlightSearchServiceTest {
         when(flightService.searchFlights(any(FlightSearchRequestDto.class))).thenReturn(List.of(r));
         when(externalFlightApiService.fetchFlightsByRoute("JFK", "LAX")).thenReturn(List.of(e));
 
-        List<UnifiedFlightDto> result = service.searchUnified(searchDto, true);
+        UnifiedSearchResultDto unified = service.searchUnified(searchDto, true);
+        List<UnifiedFlightDto> result = unified.getFlights();
 
         assertNotNull(result);
         assertEquals(2, result.size());
@@ -115,6 +127,157 @@ class FlightSearchServiceTest {
         assertFalse(result.get(1).isBookable());
         assertNull(result.get(1).getInternalFlightId());
         assertEquals("205", result.get(1).getFlightNumber());
+        assertFalse(unified.isPartial());
         verify(externalFlightApiService).fetchFlightsByRoute("JFK", "LAX");
     }
+
+    @Test
+    @DisplayName("searchUnified queries sources in parallel and returns partial results at the deadline")
+    void searchUnified_slowSource_partial() {
+        UnifiedFlightDto internal = new UnifiedFlightDto();
+        internal.setSource(UnifiedFlightDto.SOURCE_INTERNAL);
+        CountDownLatch released = new CountDownLatch(1);
+        service = new FlightSearchService(List.of(
+                source("internal", false, () -> {
+                    sleep(150);
+                    return List.of(internal);
+                }),
+                source("slow", true, () -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        released.countDown();
+                        throw new IllegalStateException("cancelled");
+                    }
+                    return List.of(new UnifiedFlightDto());
+                }),
+                source("other", true, () -> {
+                    sleep(150);
+                    return List.of(new UnifiedFlightDto());
+                })));
+        ReflectionTestUtils.setField(service, "deadlineMs", 400L);
+
+        long start = System.nanoTime();
+        UnifiedSearchResultDto result = service.searchUnified(searchDto, true);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(result.isPartial());
+        assertEquals(List.of("slow"), result.getMissingSources());
+        assertEquals(2, result.getFlights().size());
+        assertSame(internal, result.getFlights().get(0));
+        assertTrue(elapsedMs < 1000, "took " + elapsedMs + " ms");
+        assertDoesNotThrow(() -> assertTrue(released.await(2, TimeUnit.SECONDS)), "slow source was not interrupted");
+    }
+
+    @Test
+    @DisplayName("searchUnified returns external results when the internal source misses the deadline")
+    void searchUnified_slowInternal_partial() {
+        UnifiedFlightDto external = new UnifiedFlightDto();
+        service = new FlightSearchService(List.of(
+                source("internal", false, () -> {
+                    sleep(10_000);
+                    return List.of(new UnifiedFlightDto());
+                }),
+                source("fast", true, () -> List.of(external)),
+                source("slow", true, () -> {
+                    sleep(10_000);
+                    return List.of(new UnifiedFlightDto());
+                })));
+        ReflectionTestUtils.setField(service, "deadlineMs", 300L);
+
+        UnifiedSearchResultDto result = service.searchUnified(searchDto, true);
+
+        assertTrue(result.isPartial());
+        assertEquals(List.of("internal", "slow"), result.getMissingSources());
+        assertEquals(List.of(external), result.getFlights());
+    }
+
+    @Test
+    @DisplayName("searchUnified reports a failing source as missing")
+    void searchUnified_failingSource_partial() {
+        when(flightService.searchFlights(any(FlightSearchRequestDto.class))).thenReturn(List.of());
+        when(externalFlightApiService.fetchFlightsByRoute("JFK", "LAX")).thenThrow(new IllegalStateException("down"));
+
+        UnifiedSearchResultDto result = service.searchUnified(searchDto, true);
+
+        assertTrue(result.isPartial());
+        assertEquals(List.of("aviationstack"), result.getMissingSources());
+        assertTrue(result.getFlights().isEmpty());
+    }
+
+    @Test
+    @DisplayName("streamUnified hands over internal results first, then external ones as they answer")
+    void streamUnified_internalFirstThenByArrival() {
+        service = new FlightSearchService(List.of(
+                source("internal", false, () -> {
+                    sleep(200);
+                    return List.of(new UnifiedFlightDto());
+                }),
+                source("late", true, () -> {
+                    sleep(300);
+                    return List.of(new UnifiedFlightDto());
+                }),
+                source("early", true, () -> List.of(new UnifiedFlightDto(), new UnifiedFlightDto()))));
+        List<String> delivered = new ArrayList<>();
+
+        UnifiedSearchSummaryDto summary = service.streamUnified(searchDto, true,
+                (source, flights) -> delivered.add(source.name() + ":" + flights.size()));
+
+        assertEquals(List.of("internal:1", "early:2", "late:1"), delivered);
+        assertTrue(summary.isComplete());
+        assertFalse(summary.isPartial());
+    }
+
+    @Test
+    @DisplayName("streamUnified cancels the remaining sources when the listener fails")
+    void streamUnified_listenerFails_cancelsRest() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        service = new FlightSearchService(List.of(
+                source("internal", false, () -> {
+                    assertDoesNotThrow(() -> started.await(2, TimeUnit.SECONDS));
+                    return List.of();
+                }),
+                source("slow", true, () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        released.countDown();
+                    }
+                    return List.of();
+                })));
+
+        assertThrows(IllegalStateException.class, () -> service.streamUnified(searchDto, true, (source, flights) -> {
+            throw new IllegalStateException("client went away");
+        }));
+        assertDoesNotThrow(() -> assertTrue(released.await(2, TimeUnit.SECONDS)), "slow source was not interrupted");
+    }
+
+    private static FlightSource source(String name, boolean external, Supplier<List<UnifiedFlightDto>> search) {
+        return new FlightSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean isExternal() {
+                return external;
+            }
+
+            @Override
+            public List<UnifiedFlightDto> search(FlightSearchRequestDto searchDto) {
+                return search.get();
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -3,15 +3,16 @@ package com.airline.reservation.services;
 import com.airline.reservation.dtos.ExternalFlightDto;
 import com.airline.reservation.dtos.FlightRequestDto;
 import com.airline.reservation.dtos.FlightResponseDto;
+import com.airline.reservation.dtos.FlightSearchRequestDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
 import com.airline.reservation.exceptions.InvalidBookingException;
 import com.airline.reservation.exceptions.ResourceAlreadyExistsException;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.CabinTemplate;
 import com.airline.reservation.models.Flight;
-import com.airline.reservation.models.Seat;
 import com.airline.reservation.repositories.AirportRepository;
 import com.airline.reservation.repositories.FlightRepository;
-import com.airline.reservation.repositories.SeatRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,15 +21,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -44,10 +45,12 @@ class FlightServiceTest {
     private AirportRepository airportRepository;
 
     @Mock
-    private SeatRepository seatRepository;
+    private SeatInventoryService seatInventoryService;
 
-    // ModelMapper is no longer mocked, using a real instance
-    private ModelMapper modelMapper;
+    @Mock
+    private FlightRouteIndex routeIndex;
+
+    private final List<Object> publishedEvents = new ArrayList<>();
 
     // @InjectMocks is removed as we are manually creating the service
     private FlightService flightService;
@@ -59,11 +62,9 @@ class FlightServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Use real ModelMapper instead of mocking (avoids Java 24 compatibility issues)
-        modelMapper = new ModelMapper();
-
         // Since @InjectMocks won't work with a real instance, we'll create the service manually
-        flightService = new FlightService(flightRepository, airportRepository, seatRepository, modelMapper);
+        flightService = new FlightService(flightRepository, airportRepository, seatInventoryService,
+                routeIndex, new AirportRegistry(airportRepository), publishedEvents::add);
 
         departureAirport = new Airport();
         departureAirport.setId(1L);
@@ -111,7 +112,6 @@ class FlightServiceTest {
         when(airportRepository.findById(1L)).thenReturn(Optional.of(departureAirport));
         when(airportRepository.findById(2L)).thenReturn(Optional.of(arrivalAirport));
         when(flightRepository.save(any(Flight.class))).thenReturn(savedFlight);
-        when(seatRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         FlightResponseDto result = flightService.createFlight(flightRequest);
@@ -122,7 +122,7 @@ class FlightServiceTest {
         verify(airportRepository).findById(1L);
         verify(airportRepository).findById(2L);
         verify(flightRepository).save(any(Flight.class));
-        verify(seatRepository).saveAll(anyList());
+        assertEquals(List.of(FlightChangedEvent.saved(savedFlight)), publishedEvents);
     }
 
     @Test
@@ -199,27 +199,36 @@ class FlightServiceTest {
     }
 
     @Test
-    @DisplayName("Should create seats for flight based on total seats")
-    void testCreateFlight_SeatGeneration() {
+    @DisplayName("Should reject seat counts the cabin template cannot seat exactly")
+    void testCreateFlight_TotalSeatsNotWholeRows() {
         // Given
         when(flightRepository.findByFlightNumber(anyString())).thenReturn(Optional.empty());
         when(airportRepository.findById(1L)).thenReturn(Optional.of(departureAirport));
         when(airportRepository.findById(2L)).thenReturn(Optional.of(arrivalAirport));
-        when(flightRepository.save(any(Flight.class))).thenReturn(savedFlight);
-        
-        ArgumentCaptor<List<Seat>> seatsCaptor = ArgumentCaptor.forClass(List.class);
-        when(seatRepository.saveAll(seatsCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When & Then
+        for (int totalSeats : new int[] {5, 100, 5000}) {
+            flightRequest.setTotalSeats(totalSeats);
+            assertThrows(InvalidBookingException.class, () -> flightService.createFlight(flightRequest));
+        }
+        verify(flightRepository, never()).save(any(Flight.class));
+    }
+
+    @Test
+    @DisplayName("Should give new flights a cabin template instead of seat rows")
+    void testCreateFlight_CabinTemplate() {
+        // Given
+        ArgumentCaptor<Flight> flightCaptor = ArgumentCaptor.forClass(Flight.class);
+        when(flightRepository.findByFlightNumber(anyString())).thenReturn(Optional.empty());
+        when(airportRepository.findById(1L)).thenReturn(Optional.of(departureAirport));
+        when(airportRepository.findById(2L)).thenReturn(Optional.of(arrivalAirport));
+        when(flightRepository.save(flightCaptor.capture())).thenReturn(savedFlight);
 
         // When
         flightService.createFlight(flightRequest);
 
         // Then
-        List<Seat> createdSeats = seatsCaptor.getValue();
-        assertNotNull(createdSeats);
-        assertFalse(createdSeats.isEmpty());
-        
-        // Verify seat generation logic (6 seats per row for 150 seats = ~25 rows)
-        verify(seatRepository).saveAll(anyList());
+        assertEquals(CabinTemplate.SIX_ABREAST, flightCaptor.getValue().getCabinTemplate());
     }
 
     @Test
@@ -231,7 +240,6 @@ class FlightServiceTest {
         when(airportRepository.findById(1L)).thenReturn(Optional.of(departureAirport));
         when(airportRepository.findById(2L)).thenReturn(Optional.of(arrivalAirport));
         when(flightRepository.save(flightCaptor.capture())).thenReturn(savedFlight);
-        when(seatRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         flightService.createFlight(flightRequest);
@@ -245,7 +253,7 @@ class FlightServiceTest {
     // --- importExternalFlight ---
 
     @Test
-    @DisplayName("importExternalFlight creates flight and seats when airports exist")
+    @DisplayName("importExternalFlight creates a template flight when airports exist")
     void importExternalFlight_success_existingAirports() {
         ExternalFlightDto ext = new ExternalFlightDto();
         ext.setId("BA501");
@@ -258,19 +266,18 @@ class FlightServiceTest {
         when(flightRepository.findByFlightNumber("BA501")).thenReturn(Optional.empty());
         when(airportRepository.findByCode("JFK")).thenReturn(Optional.of(departureAirport));
         when(airportRepository.findByCode("LAX")).thenReturn(Optional.of(arrivalAirport));
-        when(flightRepository.save(any(Flight.class))).thenAnswer(inv -> {
+        ArgumentCaptor<Flight> flightCaptor = ArgumentCaptor.forClass(Flight.class);
+        when(flightRepository.save(flightCaptor.capture())).thenAnswer(inv -> {
             Flight f = inv.getArgument(0);
             f.setId(100L);
             return f;
         });
-        when(seatRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
         FlightResponseDto result = flightService.importExternalFlight(ext);
 
         assertNotNull(result);
         verify(flightRepository).findByFlightNumber("BA501");
-        verify(flightRepository).save(any(Flight.class));
-        verify(seatRepository).saveAll(anyList());
+        assertEquals(CabinTemplate.SIX_ABREAST, flightCaptor.getValue().getCabinTemplate());
     }
 
     @Test
@@ -319,5 +326,79 @@ class FlightServiceTest {
 
         verify(flightRepository, never()).save(any(Flight.class));
     }
-}
 
+    @Test
+    @DisplayName("searchFlights reads only the indexed flights and keeps bookable ones in index order")
+    void testSearchFlights_FromRouteIndex() {
+        // Given: flight 2 sold out, so the query leaves it out
+        FlightResponseDto later = ResponseDtoMapper.toFlightDto(savedFlight);
+        later.setId(3L);
+        later.setFlightNumber("AA303");
+        FlightSearchRequestDto search = new FlightSearchRequestDto("jfk", "lax",
+                savedFlight.getDepartureTime().toLocalDate());
+        when(routeIndex.covers("JFK", "LAX")).thenReturn(true);
+        when(routeIndex.flightIds("JFK", "LAX", search.getDepartureDate(), search.getDepartureDate()))
+                .thenReturn(new long[]{1L, 2L, 3L});
+        when(flightRepository.findAvailableFlightsByIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(later, ResponseDtoMapper.toFlightDto(savedFlight)));
+
+        // When
+        List<FlightResponseDto> results = flightService.searchFlights(search);
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals("AA101", results.get(0).getFlightNumber());
+        assertEquals("AA303", results.get(1).getFlightNumber());
+        verify(flightRepository, never()).findAllById(any());
+        verify(flightRepository, never()).searchAvailableFlightsBetween(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("searchFlights queries the database when the route index cannot answer")
+    void testSearchFlights_FallsBackToQuery() {
+        // Given
+        FlightSearchRequestDto search = new FlightSearchRequestDto("JFK", "LAX",
+                savedFlight.getDepartureTime().toLocalDate());
+        when(routeIndex.covers("JFK", "LAX")).thenReturn(false);
+        LocalDate day = search.getDepartureDate();
+        when(flightRepository.searchAvailableFlightsBetween("JFK", "LAX", day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(ResponseDtoMapper.toFlightDto(savedFlight)));
+
+        // When
+        List<FlightResponseDto> results = flightService.searchFlights(search);
+
+        // Then
+        assertEquals(1, results.size());
+        verify(routeIndex, never()).flightIds(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("searchFlights returns a date range's indexed flights uncached in one lookup")
+    void testSearchFlights_DateRange() {
+        // Given
+        LocalDate from = savedFlight.getDepartureTime().toLocalDate().minusDays(3);
+        LocalDate to = from.plusDays(6);
+        FlightSearchRequestDto search = new FlightSearchRequestDto("JFK", "LAX", from, to);
+        when(routeIndex.covers("JFK", "LAX")).thenReturn(true);
+        when(routeIndex.flightIds("JFK", "LAX", from, to)).thenReturn(new long[]{1L});
+        when(flightRepository.findAvailableFlightsByIdIn(List.of(1L)))
+                .thenReturn(List.of(ResponseDtoMapper.toFlightDto(savedFlight)));
+
+        // When
+        List<FlightResponseDto> results = flightService.searchFlights(search);
+
+        // Then
+        assertEquals(1, results.size());
+        verify(flightRepository).findAvailableFlightsByIdIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("searchFlights rejects reversed or over-long date ranges")
+    void testSearchFlights_InvalidDateRange() {
+        LocalDate day = LocalDate.now();
+        assertThrows(InvalidBookingException.class, () ->
+                flightService.searchFlights(new FlightSearchRequestDto("JFK", "LAX", day, day.minusDays(1))));
+        assertThrows(InvalidBookingException.class, () ->
+                flightService.searchFlights(new FlightSearchRequestDto("JFK", "LAX", day, day.plusDays(31))));
+    }
+}
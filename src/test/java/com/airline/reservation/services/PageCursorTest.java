@@ -0,0 +1,53 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.CursorPageDto;
+import com.airline.reservation.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PageCursor Unit Tests")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip the last id through an opaque token")
+    void testCursor_RoundTrip() {
+        String cursor = PageCursor.encode(123_456L);
+
+        assertFalse(cursor.contains("123456"));
+        assertEquals(123_456L, PageCursor.afterId(cursor));
+        assertEquals(0L, PageCursor.afterId(null));
+        assertEquals(0L, PageCursor.afterId(" "));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered cursors")
+    void testCursor_Invalid() {
+        assertThrows(InvalidRequestException.class, () -> PageCursor.afterId("not a cursor!"));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.afterId("aWQ6eHl6"));
+    }
+
+    @Test
+    @DisplayName("Should default and cap the page size")
+    void testSize() {
+        assertEquals(PageCursor.DEFAULT_SIZE, PageCursor.size(null));
+        assertEquals(10, PageCursor.size(10));
+        assertEquals(PageCursor.MAX_SIZE, PageCursor.size(PageCursor.MAX_SIZE + 1));
+        assertThrows(InvalidRequestException.class, () -> PageCursor.size(0));
+    }
+
+    @Test
+    @DisplayName("Should continue after the last item only when an extra row was fetched")
+    void testPage() {
+        CursorPageDto<String> full = PageCursor.page(List.of(4L, 9L, 11L), 2, Long::longValue, id -> "#" + id);
+        CursorPageDto<String> last = PageCursor.page(List.of(4L, 9L), 2, Long::longValue, id -> "#" + id);
+
+        assertEquals(List.of("#4", "#9"), full.getItems());
+        assertEquals(9L, PageCursor.afterId(full.getNextCursor()));
+        assertEquals(List.of("#4", "#9"), last.getItems());
+        assertNull(last.getNextCursor());
+    }
+}
@@ -1,7 +1,9 @@
 package com.airline.reservation.services;
 
+import com.airline.reservation.dtos.CursorPageDto;
 import com.airline.reservation.dtos.PassengerRequestDto;
 import com.airline.reservation.dtos.PassengerResponseDto;
+import com.airline.reservation.dtos.ResponseDtoMapper;
 import com.airline.reservation.exceptions.ResourceAlreadyExistsException;
 import com.airline.reservation.exceptions.ResourceNotFoundException;
 import com.airline.reservation.models.Passenger;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -80,7 +83,7 @@ class PassengerServiceTest {
         // Given
         when(passengerRepository.existsByEmail(anyString())).thenReturn(false);
         when(passengerRepository.existsByPassportNumber(anyString())).thenReturn(false);
-        when(passengerRepository.save(any(Passenger.class))).thenReturn(passenger);
+        when(passengerRepository.saveAndFlush(any(Passenger.class))).thenReturn(passenger);
 
         // When
         PassengerResponseDto result = passengerService.createPassenger(passengerRequest);
@@ -92,7 +95,7 @@ class PassengerServiceTest {
         assertEquals("Doe", result.getLastName());
         verify(passengerRepository).existsByEmail("john.doe@example.com");
         verify(passengerRepository).existsByPassportNumber("P123456");
-        verify(passengerRepository).save(any(Passenger.class));
+        verify(passengerRepository).saveAndFlush(any(Passenger.class));
     }
 
     @Test
@@ -107,7 +110,7 @@ class PassengerServiceTest {
         });
 
         verify(passengerRepository).existsByEmail("john.doe@example.com");
-        verify(passengerRepository, never()).save(any(Passenger.class));
+        verify(passengerRepository, never()).saveAndFlush(any(Passenger.class));
     }
 
     @Test
@@ -123,7 +126,7 @@ class PassengerServiceTest {
         });
 
         verify(passengerRepository).existsByPassportNumber("P123456");
-        verify(passengerRepository, never()).save(any(Passenger.class));
+        verify(passengerRepository, never()).saveAndFlush(any(Passenger.class));
     }
 
     @Test
@@ -182,8 +185,8 @@ class PassengerServiceTest {
     }
 
     @Test
-    @DisplayName("Should successfully get all passengers")
-    void testGetAllPassengers_Success() {
+    @DisplayName("Should successfully get a page of passengers")
+    void testGetPassengers_Success() {
         // Given
         Passenger passenger2 = new Passenger();
         passenger2.setId(2L);
@@ -191,18 +194,22 @@ class PassengerServiceTest {
         passenger2.setLastName("Doe");
         passenger2.setEmail("jane.doe@example.com");
 
-        List<Passenger> passengers = Arrays.asList(passenger, passenger2);
-        when(passengerRepository.findAll()).thenReturn(passengers);
+        List<PassengerResponseDto> passengers = Arrays.asList(
+                ResponseDtoMapper.toPassengerDto(passenger), ResponseDtoMapper.toPassengerDto(passenger2));
+        when(passengerRepository.findPassengerDtosAfter(0L, Limit.of(PageCursor.DEFAULT_SIZE + 1)))
+                .thenReturn(passengers);
 
         // When
-        List<PassengerResponseDto> result = passengerService.getAllPassengers();
+        CursorPageDto<PassengerResponseDto> page = passengerService.getPassengers(null, null);
+        List<PassengerResponseDto> result = page.getItems();
 
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
         assertEquals("john.doe@example.com", result.get(0).getEmail());
         assertEquals("jane.doe@example.com", result.get(1).getEmail());
-        verify(passengerRepository).findAll();
+        assertNull(page.getNextCursor());
+        verify(passengerRepository, never()).findAll();
     }
 
     @Test
@@ -0,0 +1,241 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.BookingRequestDto;
+import com.airline.reservation.dtos.BookingResponseDto;
+import com.airline.reservation.dtos.PaymentRequestDto;
+import com.airline.reservation.exceptions.InvalidBookingException;
+import com.airline.reservation.models.Airport;
+import com.airline.reservation.models.Booking;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Passenger;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.AirportRepository;
+import com.airline.reservation.repositories.BookingRepository;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.PassengerRepository;
+import com.airline.reservation.repositories.PaymentRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seat holds against a real (H2) database: unpaid bookings are expired by the sweep, their seats
+ * and the flight's availability come back, and holds survive a restart.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:seatholds;DB_CLOSE_DELAY=-1",
+                "app.bookings.hold-db-sweep-ms=3600000"})
+@DisplayName("SeatHoldService Integration Tests")
+class SeatHoldServiceTest {
+
+    private static final int SEATS = 3;
+    private static final long HOLD_TTL_MS = 900000;
+
+    /** How far the sweeps have moved the shared wheel; the wheel never goes back. */
+    private static long sweptUntil;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private Passenger passenger;
+    private Flight flight;
+    private List<Seat> seats;
+
+    @BeforeEach
+    void setUp() {
+        Airport departure = airportRepository.save(airport("JFK"));
+        Airport arrival = airportRepository.save(airport("LAX"));
+
+        passenger = new Passenger();
+        passenger.setFirstName("Hold");
+        passenger.setLastName("Tester");
+        passenger.setEmail("hold@example.com");
+        passenger.setPhoneNumber("9876543210");
+        passenger.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        passenger.setPassportNumber("H1234567");
+        passenger.setNationality("USA");
+        passenger = passengerRepository.save(passenger);
+
+        flight = new Flight();
+        flight.setFlightNumber("HD100");
+        flight.setAirlineName("Hold Air");
+        flight.setDepartureAirport(departure);
+        flight.setArrivalAirport(arrival);
+        flight.setDepartureTime(LocalDateTime.now().plusDays(2));
+        flight.setArrivalTime(LocalDateTime.now().plusDays(2).plusHours(5));
+        flight.setTotalSeats(SEATS);
+        flight.setAvailableSeats(SEATS);
+        flight.setBasePrice(100.0);
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        flight = flightRepository.save(flight);
+
+        seats = new ArrayList<>();
+        for (int i = 1; i <= SEATS; i++) {
+            Seat seat = new Seat();
+            seat.setFlight(flight);
+            seat.setSeatNumber(i + "A");
+            seat.setSeatClass(Seat.SeatClass.ECONOMY);
+            seat.setPrice(100.0);
+            seat.setStatus(Seat.SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        seats = seatRepository.saveAll(seats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        seatRepository.deleteAll();
+        flightRepository.deleteAll();
+        passengerRepository.deleteAll();
+        airportRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Expires unpaid holds, returns their seats to sale and leaves paid bookings alone")
+    void unpaidHolds_released() {
+        // Given: two holds, one of them paid
+        BookingResponseDto unpaid = book(seats.get(0));
+        BookingResponseDto paid = book(seats.get(1));
+        bookingService.confirmBooking(paid.getId());
+        assertEquals(SEATS - 2, availableSeats());
+
+        // When
+        int expired = sweepAfterHoldTtl();
+
+        // Then
+        assertEquals(1, expired);
+        assertEquals(Booking.BookingStatus.EXPIRED, status(unpaid.getId()));
+        assertEquals(Booking.BookingStatus.CONFIRMED, status(paid.getId()));
+        assertEquals(Seat.SeatStatus.AVAILABLE, seatRepository.findById(seats.get(0).getId()).orElseThrow().getStatus());
+        assertEquals(Seat.SeatStatus.OCCUPIED, seatRepository.findById(seats.get(1).getId()).orElseThrow().getStatus());
+        assertEquals(SEATS - 1, availableSeats());
+
+        // A late payment is refused and the seat can be booked again
+        assertThrows(InvalidBookingException.class,
+                () -> paymentService.processPayment(new PaymentRequestDto(unpaid.getId(), "UPI")));
+        assertEquals("RESERVED", book(seats.get(0)).getSeat().getStatus());
+
+        // The new hold expires in turn, then nothing is left
+        assertEquals(1, sweepAfterHoldTtl());
+        assertEquals(0, sweepAfterHoldTtl());
+    }
+
+    @Test
+    @DisplayName("Rebuilds the timers of pending bookings from the database, including ones made without a hold")
+    void restart_rebuildsHolds() {
+        // Given: a pending booking written before holds expired, which no timer knows about
+        Booking untimed = heldBooking(seats.get(2));
+        assertNull(untimed.getHoldExpiresAt());
+
+        // When
+        seatHoldService.rebuild();
+
+        // Then
+        assertNotNull(bookingRepository.findById(untimed.getId()).orElseThrow().getHoldExpiresAt());
+        assertEquals(1, sweepAfterHoldTtl());
+        assertEquals(Booking.BookingStatus.EXPIRED, status(untimed.getId()));
+        assertEquals(Seat.SeatStatus.AVAILABLE, seatRepository.findById(seats.get(2).getId()).orElseThrow().getStatus());
+        assertEquals(SEATS, availableSeats());
+    }
+
+    @Test
+    @DisplayName("Expires overdue holds no timer on this node knows about, as left by a crashed node")
+    void orphanedHolds_releasedByDatabaseSweep() {
+        // Given: a hold that ran out a minute ago on another node
+        Booking orphaned = heldBooking(seats.get(2));
+        orphaned.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+        bookingRepository.save(orphaned);
+        BookingResponseDto current = book(seats.get(0));
+
+        // When
+        int expired = seatHoldService.sweepDatabase(System.currentTimeMillis());
+
+        // Then: only the overdue hold is expired
+        assertEquals(1, expired);
+        assertEquals(Booking.BookingStatus.EXPIRED, status(orphaned.getId()));
+        assertEquals(Booking.BookingStatus.PENDING, status(current.getId()));
+        assertEquals(Seat.SeatStatus.AVAILABLE, seatRepository.findById(seats.get(2).getId()).orElseThrow().getStatus());
+        assertEquals(SEATS - 1, availableSeats());
+        assertEquals(0, seatHoldService.sweepDatabase(System.currentTimeMillis()));
+    }
+
+    /** Runs the sweep as if the hold TTL had passed. */
+    private int sweepAfterHoldTtl() {
+        sweptUntil = Math.max(System.currentTimeMillis() + HOLD_TTL_MS, sweptUntil) + 2 * SeatHoldService.TICK_MS;
+        return seatHoldService.expireHolds(sweptUntil);
+    }
+
+    private BookingResponseDto book(Seat seat) {
+        return bookingService.createBooking(new BookingRequestDto(passenger.getId(), flight.getId(), seat.getId()));
+    }
+
+    private Booking heldBooking(Seat seat) {
+        seat.setStatus(Seat.SeatStatus.RESERVED);
+        seatRepository.save(seat);
+        flight.setAvailableSeats(flight.getAvailableSeats() - 1);
+        flight = flightRepository.save(flight);
+
+        Booking booking = new Booking();
+        booking.setBookingReference("BKUNTIMED");
+        booking.setPassenger(passenger);
+        booking.setFlight(flight);
+        booking.setSeat(seat);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setTotalPrice(200.0);
+        return bookingRepository.save(booking);
+    }
+
+    private Booking.BookingStatus status(Long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow().getStatus();
+    }
+
+    private int availableSeats() {
+        return flightRepository.findById(flight.getId()).orElseThrow().getAvailableSeats();
+    }
+
+    private static Airport airport(String code) {
+        Airport airport = new Airport();
+        airport.setCode(code);
+        airport.setName(code + " Airport");
+        airport.setCity(code);
+        airport.setCountry("USA");
+        return airport;
+    }
+}
@@ -0,0 +1,324 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.exceptions.SeatNotAvailableException;
+import com.airline.reservation.models.CabinTemplate;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatInventoryService Unit Tests")
+class SeatInventoryServiceTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    private SeatInventoryService inventory;
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new SeatInventoryService(seatRepository);
+
+        flight = new Flight();
+        flight.setId(1L);
+
+        List<Seat> seats = new ArrayList<>();
+        for (long id = 1; id <= 130; id++) {
+            Seat seat = new Seat();
+            seat.setId(id);
+            seat.setFlight(flight);
+            seat.setSeatNumber(id + "A");
+            seat.setSeatClass(Seat.SeatClass.ECONOMY);
+            seat.setPrice(100.0);
+            seat.setStatus(id == 70 ? Seat.SeatStatus.OCCUPIED : Seat.SeatStatus.AVAILABLE);
+            seats.add(seat);
+        }
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(rows(seats));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Loads the bitmap once from the database")
+    void seatMap_loadedOnce() {
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+        inventory.seatMap(flight);
+
+        assertEquals(130, seatMap.size());
+        assertEquals(129, seatMap.availableCount());
+        assertFalse(seatMap.isAvailable(seatMap.indexOf(70L)));
+        verify(seatRepository, times(1)).findSeatMapByFlightId(1L);
+    }
+
+    @Test
+    @DisplayName("A seat can only be claimed once")
+    void claim_onlyOnce() {
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, 5L));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 5L));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 70L));
+        assertEquals(SeatInventoryService.ClaimResult.NOT_ON_FLIGHT, inventory.claim(flight, 999L));
+        assertEquals(128, inventory.seatMap(flight).availableCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent claims on the same seats never double-book")
+    void claim_concurrent() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<SeatInventoryService.ClaimResult>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long seatId = 121 + (i % 10);
+            results.add(pool.submit(() -> inventory.claim(flight, seatId)));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        long claimed = 0;
+        for (Future<SeatInventoryService.ClaimResult> result : results) {
+            if (result.get() == SeatInventoryService.ClaimResult.CLAIMED) {
+                claimed++;
+            }
+        }
+        assertEquals(10, claimed);
+        assertEquals(119, inventory.seatMap(flight).availableCount());
+    }
+
+    @Test
+    @DisplayName("A rolled back claim frees the seat")
+    void claim_rolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, 5L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+        assertTrue(seatMap.isAvailable(seatMap.indexOf(5L)));
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, 5L));
+    }
+
+    @Test
+    @DisplayName("A released seat only becomes available after commit")
+    void release_afterCommit() {
+        inventory.claim(flight, 5L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        inventory.release(1L, 5L);
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+        assertFalse(seatMap.isAvailable(seatMap.indexOf(5L)));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertTrue(seatMap.isAvailable(seatMap.indexOf(5L)));
+    }
+
+    @Test
+    @DisplayName("A seat released on another node is claimed once the database confirms it is free")
+    void claim_staleTakenBitRechecked() {
+        when(seatRepository.findStatusById(70L)).thenReturn(Optional.of(Seat.SeatStatus.AVAILABLE));
+        when(seatRepository.findStatusById(71L)).thenReturn(Optional.of(Seat.SeatStatus.OCCUPIED));
+        inventory.seatMap(flight);
+        inventory.markTaken(1L, 71L);
+
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, 70L));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 71L));
+        verify(seatRepository, times(1)).findSeatMapByFlightId(1L);
+    }
+
+    @Test
+    @DisplayName("A seat claimed by a transaction still running on this node is refused without a lookup")
+    void claim_pendingOnThisNode() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, 5L));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 5L));
+        verify(seatRepository, never()).findStatusById(5L);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Once committed, the database has the final word
+        when(seatRepository.findStatusById(5L)).thenReturn(Optional.of(Seat.SeatStatus.RESERVED));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 5L));
+    }
+
+    @Test
+    @DisplayName("markTaken records a seat refused by the database")
+    void markTaken() {
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+        inventory.markTaken(1L, 9L);
+
+        assertFalse(seatMap.isAvailable(seatMap.indexOf(9L)));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 9L));
+    }
+
+    @Test
+    @DisplayName("A seat the database refused stays taken when the claiming transaction rolls back")
+    void markTaken_survivesRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, 9L));
+        inventory.markTaken(1L, 9L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+        assertFalse(seatMap.isAvailable(seatMap.indexOf(9L)));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, 9L));
+    }
+
+    @Test
+    @DisplayName("Evicted seat maps are reloaded from the database")
+    void evict_reloads() {
+        inventory.seatMap(flight);
+        inventory.evict(1L);
+        inventory.seatMap(flight);
+
+        verify(seatRepository, times(2)).findSeatMapByFlightId(1L);
+    }
+
+    @Test
+    @DisplayName("Exports availability as a byte bitmap and versions the layout")
+    void availabilityBitmap_andLayoutVersion() {
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+        inventory.claim(flight, 1L);
+
+        byte[] bitmap = seatMap.availabilityBitmap();
+        assertEquals(17, bitmap.length);
+        assertEquals((byte) 0xFE, bitmap[0]);
+        assertEquals((byte) 0xDF, bitmap[8]); // seat 70 is occupied
+        assertEquals((byte) 0x03, bitmap[16]);
+
+        // Availability does not change the layout version; a price does
+        inventory.evict(1L);
+        assertEquals(seatMap.layoutVersion(), inventory.seatMap(flight).layoutVersion());
+        List<SeatRepository.SeatMapRow> repriced = new ArrayList<>(seatRepository.findSeatMapByFlightId(1L));
+        Seat seat = new Seat();
+        seat.setId(130L);
+        seat.setSeatNumber("130A");
+        seat.setSeatClass(Seat.SeatClass.ECONOMY);
+        seat.setPrice(120.0);
+        seat.setStatus(Seat.SeatStatus.AVAILABLE);
+        repriced.set(129, rows(List.of(seat)).get(0));
+        assertNotEquals(seatMap.layoutVersion(), new SeatInventoryService.SeatMap(repriced).layoutVersion());
+    }
+
+    @Test
+    @DisplayName("Builds a template flight's map from its layout, taking only held seats from rows")
+    void seatMap_template() {
+        // Given: 30 template seats, 1C reserved
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
+        flight.setTotalSeats(30);
+        flight.setBasePrice(100.0);
+        Seat held = new Seat();
+        held.setId(CabinLayout.seatId(1L, 2));
+        held.setSeatNumber("1C");
+        held.setSeatClass(Seat.SeatClass.FIRST_CLASS);
+        held.setPrice(300.0);
+        held.setStatus(Seat.SeatStatus.RESERVED);
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(rows(List.of(held)));
+        when(seatRepository.findStatusById(held.getId())).thenReturn(Optional.of(Seat.SeatStatus.RESERVED));
+
+        // When
+        SeatInventoryService.SeatMap seatMap = inventory.seatMap(flight);
+
+        // Then
+        assertEquals(30, seatMap.size());
+        assertEquals(29, seatMap.availableCount());
+        assertEquals(CabinLayout.seatId(1L, 29), seatMap.seatId(29));
+        assertEquals("5F", seatMap.seatNumber(29));
+        assertEquals(200.0, seatMap.price(29));
+        assertEquals(SeatInventoryService.ClaimResult.TAKEN, inventory.claim(flight, CabinLayout.seatId(1L, 2)));
+        assertEquals(SeatInventoryService.ClaimResult.CLAIMED, inventory.claim(flight, CabinLayout.seatId(1L, 3)));
+        assertEquals(SeatInventoryService.ClaimResult.NOT_ON_FLIGHT, inventory.claim(flight, CabinLayout.seatId(1L, 30)));
+        assertEquals(SeatInventoryService.ClaimResult.NOT_ON_FLIGHT, inventory.claim(flight, 3L));
+    }
+
+    @Test
+    @DisplayName("Inserts rows for template seats about to be held, and reports a lost race as taken")
+    void materialize() {
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
+        flight.setTotalSeats(30);
+        flight.setBasePrice(100.0);
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(List.of());
+        long seatId = CabinLayout.seatId(1L, 6);
+
+        inventory.materialize(flight, List.of(seatId));
+        verify(seatRepository).insertAvailableIfAbsent(seatId, 1L, "2A", "FIRST_CLASS", 300.0);
+
+        when(seatRepository.insertAvailableIfAbsent(seatId, 1L, "2A", "FIRST_CLASS", 300.0))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        assertThrows(SeatNotAvailableException.class, () -> inventory.materialize(flight, List.of(seatId)));
+    }
+
+    @Test
+    @DisplayName("Leaves flights that have a row for every seat alone")
+    void materialize_regularFlight() {
+        inventory.seatMap(flight);
+        inventory.materialize(flight, List.of(1L, 2L));
+
+        verify(seatRepository, never()).insertAvailableIfAbsent(any(), any(), any(), any(), any());
+    }
+
+    /** Seat-map rows as {@link SeatRepository#findSeatMapByFlightId} would return them for these seats. */
+    static List<SeatRepository.SeatMapRow> rows(List<Seat> seats) {
+        List<SeatRepository.SeatMapRow> rows = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            rows.add(new SeatRepository.SeatMapRow() {
+                @Override
+                public Long getId() {
+                    return seat.getId();
+                }
+
+                @Override
+                public String getSeatNumber() {
+                    return seat.getSeatNumber();
+                }
+
+                @Override
+                public Seat.SeatClass getSeatClass() {
+                    return seat.getSeatClass();
+                }
+
+                @Override
+                public Seat.SeatStatus getStatus() {
+                    return seat.getStatus();
+                }
+
+                @Override
+                public Double getPrice() {
+                    return seat.getPrice();
+                }
+            });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,212 @@
+package com.airline.reservation.services;
+
+import com.airline.reservation.dtos.CabinBandDto;
+import com.airline.reservation.dtos.CabinLayoutDto;
+import com.airline.reservation.dtos.SeatAvailabilityDto;
+import com.airline.reservation.dtos.SeatIdRangeDto;
+import com.airline.reservation.dtos.SeatResponseDto;
+import com.airline.reservation.exceptions.ResourceNotFoundException;
+import com.airline.reservation.models.CabinTemplate;
+import com.airline.reservation.models.Flight;
+import com.airline.reservation.models.Seat;
+import com.airline.reservation.repositories.FlightRepository;
+import com.airline.reservation.repositories.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatService Unit Tests")
+class SeatServiceTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private SeatInventoryService seatInventoryService;
+    private SeatService seatService;
+    private Flight flight;
+    private final List<Seat> seats = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seatInventoryService = new SeatInventoryService(seatRepository);
+        seatService = new SeatService(seatRepository, flightRepository, seatInventoryService);
+
+        flight = new Flight();
+        flight.setId(1L);
+        // Rows 1-2 first class, 3-5 business, 6-20 economy, laid out A-F like FlightService creates them
+        long id = 100;
+        for (int row = 1; row <= 20; row++) {
+            for (char letter = 'A'; letter <= 'F'; letter++) {
+                Seat.SeatClass seatClass = row <= 2 ? Seat.SeatClass.FIRST_CLASS
+                        : row <= 5 ? Seat.SeatClass.BUSINESS : Seat.SeatClass.ECONOMY;
+                seats.add(seat(id++, row + String.valueOf(letter), seatClass, row <= 2 ? 300.0 : row <= 5 ? 200.0 : 100.0));
+            }
+        }
+        lenient().when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+    }
+
+    @Test
+    @DisplayName("Should describe a regular cabin as one id range and one band per class")
+    void testGetCabinLayout_Regular() {
+        // Given
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(seats));
+
+        // When
+        CabinLayoutDto layout = seatService.getCabinLayout(1L);
+
+        // Then
+        assertEquals(120, layout.getSeatCount());
+        assertEquals(List.of(new SeatIdRangeDto(100L, 120)), layout.getSeatIds());
+        assertEquals(List.of(
+                new CabinBandDto("FIRST_CLASS", 300.0, 1, 2, "ABCDEF", null),
+                new CabinBandDto("BUSINESS", 200.0, 3, 5, "ABCDEF", null),
+                new CabinBandDto("ECONOMY", 100.0, 6, 20, "ABCDEF", null)), layout.getBands());
+        assertNotNull(layout.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should split bands on gaps, narrower rows and irregular seat numbers")
+    void testGetCabinLayout_Irregular() {
+        // Given: row 7 lost seat F, then two seats outside the row/letter pattern after an id gap
+        seats.removeIf(seat -> seat.getSeatNumber().equals("7F"));
+        seats.add(seat(500L, "JUMP1", Seat.SeatClass.ECONOMY, 100.0));
+        seats.add(seat(501L, "JUMP2", Seat.SeatClass.ECONOMY, 100.0));
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(seats));
+
+        // When
+        CabinLayoutDto layout = seatService.getCabinLayout(1L);
+
+        // Then
+        assertEquals(List.of(new SeatIdRangeDto(100L, 41), new SeatIdRangeDto(142L, 78), new SeatIdRangeDto(500L, 2)),
+                layout.getSeatIds());
+        List<CabinBandDto> bands = layout.getBands();
+        assertEquals(6, bands.size());
+        assertEquals(new CabinBandDto("ECONOMY", 100.0, 6, 6, "ABCDEF", null), bands.get(2));
+        assertEquals(new CabinBandDto("ECONOMY", 100.0, 7, 7, "ABCDE", null), bands.get(3));
+        assertEquals(new CabinBandDto("ECONOMY", 100.0, 8, 20, "ABCDEF", null), bands.get(4));
+        assertEquals(new CabinBandDto("ECONOMY", 100.0, null, null, null, List.of("JUMP1", "JUMP2")), bands.get(5));
+        int described = 0;
+        for (CabinBandDto band : bands) {
+            described += band.getSeatNumbers() != null ? band.getSeatNumbers().size()
+                    : (band.getLastRow() - band.getFirstRow() + 1) * band.getLetters().length();
+        }
+        assertEquals(layout.getSeatCount(), described);
+    }
+
+    @Test
+    @DisplayName("Should report availability as a bitmap in layout order")
+    void testGetSeatAvailability() {
+        // Given: 1A reserved, 2C occupied
+        seats.get(0).setStatus(Seat.SeatStatus.RESERVED);
+        seats.get(8).setStatus(Seat.SeatStatus.OCCUPIED);
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(seats));
+
+        // When
+        SeatAvailabilityDto availability = seatService.getSeatAvailability(1L);
+
+        // Then
+        byte[] bitmap = Base64.getDecoder().decode(availability.getBitmap());
+        assertEquals(15, bitmap.length);
+        assertEquals((byte) 0xFE, bitmap[0]);
+        assertEquals((byte) 0xFE, bitmap[1]);
+        assertEquals((byte) 0xFF, bitmap[2]);
+        assertEquals(118, availability.getAvailableCount());
+        assertEquals(seatService.getCabinLayout(1L).getVersion(), availability.getLayoutVersion());
+        verify(seatRepository, times(1)).findSeatMapByFlightId(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw when the flight does not exist")
+    void testGetCabinLayout_FlightNotFound() {
+        when(flightRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> seatService.getCabinLayout(9L));
+        assertThrows(ResourceNotFoundException.class, () -> seatService.getSeatAvailability(9L));
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    @DisplayName("Should list every seat of a template flight, taking held statuses from the few seat rows")
+    void testGetSeatsByFlightId_Template() {
+        // Given: 60 template seats, only 2A held (occupied)
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
+        flight.setTotalSeats(60);
+        flight.setBasePrice(100.0);
+        Seat held = seat(CabinLayout.seatId(1L, 7), "2B", Seat.SeatClass.FIRST_CLASS, 300.0);
+        held.setStatus(Seat.SeatStatus.OCCUPIED);
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(held)));
+        when(seatRepository.findHeldSeatsByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(held)));
+
+        // When
+        List<SeatResponseDto> result = seatService.getSeatsByFlightId(1L);
+
+        // Then
+        assertEquals(60, result.size());
+        assertEquals(new SeatResponseDto(CabinLayout.seatId(1L, 0), "1A", "FIRST_CLASS", "AVAILABLE", 300.0), result.get(0));
+        assertEquals(new SeatResponseDto(CabinLayout.seatId(1L, 7), "2B", "FIRST_CLASS", "OCCUPIED", 300.0), result.get(7));
+        assertEquals(new SeatResponseDto(CabinLayout.seatId(1L, 59), "10F", "PREMIUM_ECONOMY", "AVAILABLE", 150.0),
+                result.get(59));
+    }
+
+    @Test
+    @DisplayName("Should report a seat as available once its row is, even if the seat map still has it taken")
+    void testGetSeatsByFlightId_ReleasedSinceLoad() {
+        // Given: 1A was reserved when the map was loaded and has been released by another node since
+        seats.get(0).setStatus(Seat.SeatStatus.RESERVED);
+        seats.get(1).setStatus(Seat.SeatStatus.OCCUPIED);
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(seats));
+        when(seatRepository.findHeldSeatsByFlightId(1L)).thenReturn(SeatInventoryServiceTest.rows(List.of(seats.get(1))));
+
+        // When
+        List<SeatResponseDto> result = seatService.getSeatsByFlightId(1L);
+
+        // Then
+        assertEquals("AVAILABLE", result.get(0).getStatus());
+        assertEquals("OCCUPIED", result.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should look up a template seat that has no row from its flight's layout")
+    void testGetSeatById_TemplateSeatWithoutRow() {
+        // Given
+        flight.setCabinTemplate(CabinTemplate.SIX_ABREAST);
+        flight.setTotalSeats(60);
+        flight.setBasePrice(100.0);
+        long seatId = CabinLayout.seatId(1L, 20);
+        when(seatRepository.findById(seatId)).thenReturn(Optional.empty());
+        when(seatRepository.findSeatMapByFlightId(1L)).thenReturn(List.of());
+
+        // When
+        SeatResponseDto result = seatService.getSeatById(seatId);
+
+        // Then
+        assertEquals(new SeatResponseDto(seatId, "4C", "BUSINESS", "AVAILABLE", 200.0), result);
+        assertThrows(ResourceNotFoundException.class, () -> seatService.getSeatById(CabinLayout.seatId(1L, 60)));
+    }
+
+    private Seat seat(Long id, String number, Seat.SeatClass seatClass, double price) {
+        Seat seat = new Seat();
+        seat.setId(id);
+        seat.setFlight(flight);
+        seat.setSeatNumber(number);
+        seat.setSeatClass(seatClass);
+        seat.setPrice(price);
+        seat.setStatus(Seat.SeatStatus.AVAILABLE);
+        return seat;
+    }
+}
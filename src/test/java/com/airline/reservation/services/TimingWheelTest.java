@@ -0,0 +1,83 @@
+package com.airline.reservation.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimingWheel Unit Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_000_000;
+
+    @Test
+    @DisplayName("Expires an item at the first tick at or after its deadline, not before")
+    void advance_expiresAtDeadline() {
+        // Given
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 64, START);
+        wheel.schedule("soon", START + 2500);
+        List<String> expired = new ArrayList<>();
+
+        // When & Then
+        wheel.advance(START + 2999, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(START + 3000, expired::add);
+        assertEquals(List.of("soon"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Expires items scheduled in the past on the next tick")
+    void schedule_pastDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 64, START);
+        wheel.schedule("late", START - 60_000);
+        List<String> expired = new ArrayList<>();
+
+        wheel.advance(START + 1000, expired::add);
+
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    @DisplayName("Cascades items on upper levels down and expires each on its own tick")
+    void advance_cascadesLevels() {
+        // Given: deadlines up to 300,000 ticks ahead on a four-bucket wheel, which takes ten levels
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 4, 0);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long deadline = 1 + random.nextInt(i % 2 == 0 ? 300 : 300_000);
+            deadlines.put(i, deadline);
+            wheel.schedule(i, deadline);
+        }
+        assertEquals(5000, wheel.size());
+
+        // When: advanced in uneven steps
+        Map<Integer, Long> expiredAt = new HashMap<>();
+        for (long now = 0; now <= 300_000; now += 1 + random.nextInt(50)) {
+            long tick = now;
+            wheel.advance(now, item -> expiredAt.put(item, tick));
+        }
+        wheel.advance(300_001, item -> expiredAt.put(item, 300_001L));
+
+        // Then: every item expired exactly once, no earlier than its deadline and within the step that reached it
+        assertEquals(deadlines.keySet(), expiredAt.keySet());
+        assertEquals(0, wheel.size());
+        deadlines.forEach((item, deadline) -> {
+            assertTrue(expiredAt.get(item) >= deadline, () -> item + " expired early");
+            assertTrue(expiredAt.get(item) - deadline <= 51, () -> item + " expired late");
+        });
+    }
+
+    @Test
+    @DisplayName("Rejects wheel sizes that are not powers of two")
+    void constructor_wheelSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(1000, 60, START));
+    }
+}